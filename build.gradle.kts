@@ -27,7 +27,38 @@ tasks {
     }
 
     test {
-        useJUnitPlatform()
+        useJUnitPlatform {
+            excludeTags("stress", "benchmark")
+        }
+    }
+
+    register<Test>("startupBenchmark") {
+        group = "verification"
+        description = "Runs the startup benchmark and compares the results with the baseline."
+        testClassesDirs = sourceSets.test.get().output.classesDirs
+        classpath = sourceSets.test.get().runtimeClasspath
+        useJUnitPlatform {
+            includeTags("benchmark")
+        }
+        outputs.upToDateWhen { false }
+        systemProperty("mcmsgdef.benchmark.baseline", providers.gradleProperty("benchmarkBaseline").getOrElse(file("benchmark-baseline.properties").path))
+        systemProperty("mcmsgdef.benchmark.result", layout.buildDirectory.file("benchmark/startup.properties").get().asFile.path)
+        systemProperty("mcmsgdef.benchmark.threshold", providers.gradleProperty("benchmarkThreshold").getOrElse("0.25"))
+        systemProperty("mcmsgdef.benchmark.updateBaseline", providers.gradleProperty("updateBenchmarkBaseline").isPresent)
+        testLogging.showStandardStreams = true
+    }
+
+    register<Test>("stressTest") {
+        group = "verification"
+        description = "Runs the concurrency stress tests."
+        testClassesDirs = sourceSets.test.get().output.classesDirs
+        classpath = sourceSets.test.get().runtimeClasspath
+        useJUnitPlatform {
+            includeTags("stress")
+        }
+        // The default duration is defined in ConcurrencyStressTest.
+        providers.gradleProperty("stressSeconds").orNull?.let { systemProperty("mcmsgdef.stress.seconds", it) }
+        testLogging.showStandardStreams = true
     }
 }
 
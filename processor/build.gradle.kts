@@ -0,0 +1,28 @@
+plugins {
+    `java-library`
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    implementation(rootProject)
+    compileOnly(libs.annotations)
+
+    testImplementation(libs.adventure)
+    testImplementation(platform(libs.junit.bom))
+    testImplementation(libs.junit.jupiter)
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks {
+    compileJava {
+        sourceCompatibility = JavaVersion.VERSION_21.majorVersion
+        targetCompatibility = JavaVersion.VERSION_21.majorVersion
+    }
+
+    test {
+        useJUnitPlatform()
+    }
+}
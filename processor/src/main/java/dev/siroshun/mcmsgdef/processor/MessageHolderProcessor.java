@@ -0,0 +1,407 @@
+package dev.siroshun.mcmsgdef.processor;
+
+import dev.siroshun.mcmsgdef.annotation.Message;
+import dev.siroshun.mcmsgdef.annotation.MessageHolder;
+import dev.siroshun.mcmsgdef.file.PropertiesFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An annotation processor that generates message keys and default messages from types annotated with {@link MessageHolder}.
+ */
+@SupportedAnnotationTypes({
+    "dev.siroshun.mcmsgdef.annotation.MessageHolder",
+    "dev.siroshun.mcmsgdef.annotation.Message"
+})
+public final class MessageHolderProcessor extends AbstractProcessor {
+
+    private static final int MAX_ARGUMENTS = 5;
+    private static final String MESSAGE_KEY = "dev.siroshun.mcmsgdef.MessageKey";
+    private static final String COMPONENT_LIKE = "net.kyori.adventure.text.ComponentLike";
+    private static final Pattern ARGUMENT_TAG = Pattern.compile("<(?:arg|argument):(\\d+)[:>]");
+
+    /**
+     * Creates a new {@link MessageHolderProcessor}.
+     */
+    public MessageHolderProcessor() {
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Message.class)) {
+            if (element.getEnclosingElement().getAnnotation(MessageHolder.class) == null) {
+                this.error(element, "@Message must be declared in a type annotated with @MessageHolder");
+            }
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(MessageHolder.class)) {
+            if (element instanceof TypeElement type) {
+                this.processHolder(type);
+            }
+        }
+
+        return true;
+    }
+
+    private void processHolder(@NotNull TypeElement type) {
+        MessageHolder holder = type.getAnnotation(MessageHolder.class);
+        String packageName = this.processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String className = holder.className().isEmpty() ? flatName(type) + "Keys" : holder.className();
+        String resource = holder.resource().isEmpty()
+            ? (packageName.isEmpty() ? "" : packageName.replace('.', '/') + "/") + className + ".properties"
+            : holder.resource();
+
+        List<Definition> definitions = new ArrayList<>();
+        Set<String> keys = new HashSet<>();
+        Set<String> constantNames = new HashSet<>();
+        boolean valid = true;
+
+        for (Element enclosed : type.getEnclosedElements()) {
+            Message message = enclosed.getAnnotation(Message.class);
+            if (message == null) {
+                continue;
+            }
+
+            Definition definition = this.createDefinition(holder, enclosed, message);
+
+            if (definition == null) {
+                valid = false;
+            } else if (!keys.add(definition.key())) {
+                this.error(enclosed, "Duplicate message key: " + definition.key());
+                valid = false;
+            } else if (!constantNames.add(definition.constantName())) {
+                this.error(enclosed, "Duplicate constant name: " + definition.constantName());
+                valid = false;
+            } else {
+                definitions.add(definition);
+            }
+        }
+
+        if (!valid) {
+            return;
+        }
+
+        try {
+            this.writeSource(type, packageName, className, resource, definitions);
+            this.writeResource(type, resource, definitions);
+        } catch (IOException e) {
+            this.error(type, "Could not generate " + className + ": " + e.getMessage());
+        }
+    }
+
+    private @Nullable Definition createDefinition(@NotNull MessageHolder holder, @NotNull Element element, @NotNull Message message) {
+        String name = element.getSimpleName().toString();
+        List<TypeMirror> argumentTypes = this.argumentTypes(element);
+        String keyName;
+
+        if (element instanceof ExecutableElement method) {
+            if (!argumentTypes.isEmpty()) {
+                this.error(element, "@Message#args must be empty on methods; declare arguments as parameters instead");
+                return null;
+            }
+            for (VariableElement parameter : method.getParameters()) {
+                argumentTypes.add(parameter.asType());
+            }
+            keyName = toKebabCase(name);
+        } else if (element.getKind() == ElementKind.FIELD) {
+            keyName = ((VariableElement) element).getConstantValue() instanceof String constant && !constant.isEmpty() ? constant : toKebabCase(name);
+        } else {
+            this.error(element, "@Message can only be declared on fields and methods");
+            return null;
+        }
+
+        String key;
+        if (!message.key().isEmpty()) {
+            key = message.key();
+        } else if (holder.prefix().isEmpty()) {
+            key = keyName;
+        } else {
+            key = holder.prefix() + "." + keyName;
+        }
+
+        if (key.isEmpty()) {
+            this.error(element, "The message key must not be empty");
+            return null;
+        }
+
+        if (MAX_ARGUMENTS < argumentTypes.size()) {
+            this.error(element, "Too many arguments: " + argumentTypes.size() + " (max: " + MAX_ARGUMENTS + ")");
+            return null;
+        }
+
+        BitSet used = new BitSet();
+        Matcher matcher = ARGUMENT_TAG.matcher(message.value());
+        while (matcher.find()) {
+            int index;
+            try {
+                index = Integer.parseInt(matcher.group(1));
+            } catch (NumberFormatException e) {
+                index = Integer.MAX_VALUE;
+            }
+            if (argumentTypes.size() <= index) {
+                this.error(element, "The default message uses " + matcher.group() + " but only " + argumentTypes.size() + " argument(s) are declared");
+                return null;
+            }
+            used.set(index);
+        }
+
+        for (int i = used.nextClearBit(0); i < argumentTypes.size(); i = used.nextClearBit(i + 1)) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "The argument " + i + " is not used in the default message", element);
+        }
+
+        return new Definition(toConstantName(name), key, message.value(), List.copyOf(argumentTypes));
+    }
+
+    private @NotNull List<TypeMirror> argumentTypes(@NotNull Element element) {
+        List<TypeMirror> result = new ArrayList<>();
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(Message.class.getCanonicalName())) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("args") && entry.getValue().getValue() instanceof List<?> values) {
+                    for (Object value : values) {
+                        result.add((TypeMirror) ((AnnotationValue) value).getValue());
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void writeSource(@NotNull TypeElement holder, @NotNull String packageName, @NotNull String className,
+                             @NotNull String resource, @NotNull List<Definition> definitions) throws IOException {
+        StringBuilder builder = new StringBuilder();
+
+        if (!packageName.isEmpty()) {
+            builder.append("package ").append(packageName).append(";\n\n");
+        }
+
+        builder.append("/**\n")
+            .append(" * Message keys and default messages generated from {@link ").append(holder.getQualifiedName()).append("}.\n")
+            .append(" */\n")
+            .append("@javax.annotation.processing.Generated(\"").append(MessageHolderProcessor.class.getName()).append("\")\n")
+            .append("public final class ").append(className).append(" {\n\n");
+
+        builder.append("    /**\n")
+            .append("     * The path of the properties resource that contains the default messages.\n")
+            .append("     */\n")
+            .append("    public static final java.lang.String RESOURCE = ").append(literal(resource)).append(";\n\n");
+
+        for (Definition definition : definitions) {
+            this.appendConstant(builder, definition);
+        }
+
+        builder.append("    /**\n")
+            .append("     * An unmodifiable map of keys and default messages in declaration order.\n")
+            .append("     */\n")
+            .append("    public static final java.util.Map<java.lang.String, java.lang.String> DEFAULT_MESSAGES;\n\n")
+            .append("    static {\n")
+            .append("        java.util.Map<java.lang.String, java.lang.String> map = new java.util.LinkedHashMap<>(")
+            .append(Math.max(16, definitions.size() * 4 / 3 + 1)).append(");\n");
+
+        for (Definition definition : definitions) {
+            builder.append("        map.put(").append(literal(definition.key())).append(", ").append(literal(definition.defaultMessage())).append(");\n");
+        }
+
+        builder.append("        DEFAULT_MESSAGES = java.util.Collections.unmodifiableMap(map);\n")
+            .append("    }\n\n")
+            .append("    private ").append(className).append("() {\n")
+            .append("        throw new java.lang.UnsupportedOperationException();\n")
+            .append("    }\n")
+            .append("}\n");
+
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(qualifiedName, holder).openWriter()) {
+            writer.write(builder.toString());
+        }
+    }
+
+    private void appendConstant(@NotNull StringBuilder builder, @NotNull Definition definition) {
+        List<TypeMirror> argumentTypes = definition.argumentTypes();
+        builder.append("    public static final ");
+
+        if (argumentTypes.isEmpty()) {
+            builder.append(MESSAGE_KEY).append(' ').append(definition.constantName())
+                .append(" = ").append(MESSAGE_KEY).append(".key(").append(literal(definition.key())).append(");\n\n");
+            return;
+        }
+
+        builder.append(MESSAGE_KEY).append(".Arg").append(argumentTypes.size()).append('<');
+        for (int i = 0; i < argumentTypes.size(); i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(this.typeName(argumentTypes.get(i)));
+        }
+        builder.append("> ").append(definition.constantName())
+            .append(" = ").append(MESSAGE_KEY).append(".arg").append(argumentTypes.size()).append('(').append(literal(definition.key()));
+        for (TypeMirror argumentType : argumentTypes) {
+            builder.append(", ").append(this.isComponentLike(argumentType) ? "a -> a" : "a -> net.kyori.adventure.text.Component.text(java.lang.String.valueOf(a))");
+        }
+        builder.append(");\n\n");
+    }
+
+    private void writeResource(@NotNull TypeElement holder, @NotNull String resource, @NotNull List<Definition> definitions) throws IOException {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (Definition definition : definitions) {
+            map.put(definition.key(), definition.defaultMessage());
+        }
+
+        FileObject file = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", resource, holder);
+        try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+            // The resource is written with LF on every platform, so builds are reproducible.
+            writer.write("# Generated from " + holder.getQualifiedName() + "\n");
+            PropertiesFile.append(writer, map, "\n");
+        }
+    }
+
+    private @NotNull String typeName(@NotNull TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return this.processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+
+        if (type.getKind() == TypeKind.DECLARED) {
+            DeclaredType declared = (DeclaredType) type;
+            StringBuilder builder = new StringBuilder(((TypeElement) declared.asElement()).getQualifiedName());
+            if (!declared.getTypeArguments().isEmpty()) {
+                builder.append('<');
+                for (int i = 0; i < declared.getTypeArguments().size(); i++) {
+                    if (i != 0) {
+                        builder.append(", ");
+                    }
+                    TypeMirror argument = declared.getTypeArguments().get(i);
+                    builder.append(argument.getKind() == TypeKind.WILDCARD ? "?" : this.typeName(argument));
+                }
+                builder.append('>');
+            }
+            return builder.toString();
+        }
+
+        if (type.getKind() == TypeKind.ARRAY) {
+            return this.typeName(((ArrayType) type).getComponentType()) + "[]";
+        }
+
+        return this.typeName(this.processingEnv.getTypeUtils().erasure(type));
+    }
+
+    private boolean isComponentLike(@NotNull TypeMirror type) {
+        TypeElement componentLike = this.processingEnv.getElementUtils().getTypeElement(COMPONENT_LIKE);
+        return componentLike != null && !type.getKind().isPrimitive() &&
+               this.processingEnv.getTypeUtils().isAssignable(type, componentLike.asType());
+    }
+
+    private void error(@NotNull Element element, @NotNull String message) {
+        this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private static @NotNull String flatName(@NotNull TypeElement type) {
+        StringBuilder builder = new StringBuilder(type.getSimpleName());
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement enclosingType) {
+            builder.insert(0, enclosingType.getSimpleName());
+            enclosing = enclosingType.getEnclosingElement();
+        }
+        return builder.toString();
+    }
+
+    static @NotNull String toConstantName(@NotNull String name) {
+        return String.join("_", words(name)).toUpperCase(Locale.ROOT);
+    }
+
+    static @NotNull String toKebabCase(@NotNull String name) {
+        return String.join("-", words(name)).toLowerCase(Locale.ROOT);
+    }
+
+    private static @NotNull List<String> words(@NotNull String name) {
+        List<String> words = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == '_' || c == '-' || c == '$') {
+                if (!current.isEmpty()) {
+                    words.add(current.toString());
+                    current.setLength(0);
+                }
+                continue;
+            }
+            if (Character.isUpperCase(c) && !current.isEmpty() && !Character.isUpperCase(current.charAt(current.length() - 1))) {
+                words.add(current.toString());
+                current.setLength(0);
+            }
+            current.append(c);
+        }
+
+        if (!current.isEmpty()) {
+            words.add(current.toString());
+        }
+
+        return words;
+    }
+
+    static @NotNull String literal(@NotNull String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20 || 0x7e < c) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    private record Definition(@NotNull String constantName, @NotNull String key,
+                              @NotNull String defaultMessage, @NotNull List<TypeMirror> argumentTypes) {
+    }
+}
@@ -0,0 +1,117 @@
+package dev.siroshun.mcmsgdef.processor;
+
+import dev.siroshun.mcmsgdef.MessageKey;
+import dev.siroshun.mcmsgdef.file.PropertiesFile;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageHolderProcessorTest {
+
+    @Test
+    void testGenerate(@TempDir Path directory) throws Exception {
+        Path output = directory.resolve("out");
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(directory, output, """
+            package example;
+
+            import dev.siroshun.mcmsgdef.annotation.Message;
+            import dev.siroshun.mcmsgdef.annotation.MessageHolder;
+            import net.kyori.adventure.text.Component;
+
+            @MessageHolder(prefix = "example")
+            public interface Messages {
+
+                @Message("No permission")
+                String NO_PERMISSION = "no-permission";
+
+                @Message(value = "Hello, <arg:0>!", args = String.class)
+                String GREETING = "";
+
+                @Message("<arg:0> has <arg:1> coins")
+                Component playerCoins(Component player, int coins);
+            }
+            """);
+
+        assertTrue(errors(diagnostics).isEmpty(), () -> errors(diagnostics).toString());
+        assertEquals(Map.of(
+            "example.no-permission", "No permission",
+            "example.greeting", "Hello, <arg:0>!",
+            "example.player-coins", "<arg:0> has <arg:1> coins"
+        ), PropertiesFile.load(output.resolve("example/MessagesKeys.properties")));
+        assertFalse(Files.readString(output.resolve("example/MessagesKeys.properties")).contains("\r"));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> generated = loader.loadClass("example.MessagesKeys");
+            assertEquals(MessageKey.key("example.no-permission"), generated.getField("NO_PERMISSION").get(null));
+            assertEquals(List.of("example.no-permission", "example.greeting", "example.player-coins"), List.copyOf(((Map<?, ?>) generated.getField("DEFAULT_MESSAGES").get(null)).keySet()));
+
+            @SuppressWarnings("unchecked")
+            MessageKey.Arg2<Component, Integer> playerCoins = (MessageKey.Arg2<Component, Integer>) generated.getField("PLAYER_COINS").get(null);
+            assertEquals(Component.translatable("example.player-coins", Component.text("Steve"), Component.text("5")), playerCoins.apply(Component.text("Steve"), 5));
+        }
+    }
+
+    @Test
+    void testArgumentCountMismatch(@TempDir Path directory) throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = compile(directory, directory.resolve("out"), """
+            package example;
+
+            import dev.siroshun.mcmsgdef.annotation.Message;
+            import dev.siroshun.mcmsgdef.annotation.MessageHolder;
+
+            @MessageHolder
+            public interface Messages {
+
+                @Message(value = "<arg:0> and <arg:1>", args = String.class)
+                String BROKEN = "broken";
+            }
+            """);
+
+        List<String> errors = errors(diagnostics);
+        assertEquals(1, errors.size());
+        assertTrue(errors.getFirst().contains("<arg:1>"), errors.getFirst());
+    }
+
+    private static DiagnosticCollector<JavaFileObject> compile(Path directory, Path output, String source) throws IOException {
+        Path sourceFile = directory.resolve("example/Messages.java");
+        Files.createDirectories(sourceFile.getParent());
+        Files.writeString(sourceFile, source);
+        Files.createDirectories(output);
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                null, fileManager, diagnostics,
+                List.of("-classpath", System.getProperty("java.class.path"), "-d", output.toString()),
+                null, fileManager.getJavaFileObjects(sourceFile)
+            );
+            task.setProcessors(List.of(new MessageHolderProcessor()));
+            task.call();
+        }
+        return diagnostics;
+    }
+
+    private static List<String> errors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        return diagnostics.getDiagnostics().stream()
+            .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            .map(diagnostic -> diagnostic.getMessage(null))
+            .toList();
+    }
+}
@@ -1 +1,4 @@
 rootProject.name = "mcmsgdef"
+
+include("processor")
+project(":processor").name = "mcmsgdef-processor"
@@ -0,0 +1,46 @@
+package dev.siroshun.mcmsgdef;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.minimessage.tag.Inserting;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+
+/**
+ * An {@link Inserting} tag that converts the argument when it is inserted for the first time.
+ *
+ * @param <A> the type of the argument
+ */
+final class LazyArgument<A> implements Inserting {
+
+    static <A> @NotNull ComponentLike create(int index, @NotNull Function<? super A, ? extends ComponentLike> function, A argument) {
+        // Argument is shadowed by Tag.Argument here.
+        return net.kyori.adventure.text.minimessage.translation.Argument.tag("arg" + index, new LazyArgument<>(function, argument));
+    }
+
+    private final Function<? super A, ? extends ComponentLike> function;
+    private final A argument;
+    private volatile Component value;
+
+    private LazyArgument(@NotNull Function<? super A, ? extends ComponentLike> function, A argument) {
+        this.function = function;
+        this.argument = argument;
+    }
+
+    @Override
+    public @NotNull Component value() {
+        Component value = this.value;
+        if (value == null) {
+            // If two threads render the same component at once, the argument may be converted twice.
+            value = this.function.apply(this.argument).asComponent();
+            this.value = value;
+        }
+        return value;
+    }
+
+    @Override
+    public boolean allowsChildren() {
+        return false;
+    }
+}
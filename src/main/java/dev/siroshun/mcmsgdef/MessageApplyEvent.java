@@ -0,0 +1,40 @@
+package dev.siroshun.mcmsgdef;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event emitted when {@link MessageKey.Arg1}..{@link MessageKey.Arg5} create a component.
+ * <p>
+ * This event is disabled by default. When enabled, every call is recorded; JFR does not sample custom events,
+ * and a {@code threshold} setting only drops calls that are faster than it.
+ */
+@Name("dev.siroshun.mcmsgdef.MessageApply")
+@Label("Message Apply")
+@Description("Creating a translatable component with arguments")
+@Category("mcmsgdef")
+@Enabled(false)
+final class MessageApplyEvent extends Event {
+
+    @Label("Key")
+    String key;
+
+    @Label("Arguments")
+    int arguments;
+
+    @Label("Lazy")
+    boolean lazy;
+
+    void commit(String key, int arguments, boolean lazy) {
+        if (this.shouldCommit()) {
+            this.key = key;
+            this.arguments = arguments;
+            this.lazy = lazy;
+            this.commit();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import net.kyori.adventure.text.ComponentLike;
 import net.kyori.adventure.text.TranslatableComponent;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 import java.util.function.Function;
@@ -211,6 +212,29 @@ public record MessageKey(@NotNull String key) implements ComponentLike {
         return Component.translatable(this.key);
     }
 
+    private static @NotNull TranslatableComponent translatable(@NotNull String key, @NotNull ComponentLike @NotNull ... arguments) {
+        return Component.translatable(key, PluralArgument.withSelector(arguments));
+    }
+
+    private static @Nullable MessageApplyEvent beginApply() {
+        // Callers create the component between beginApply and endApply instead of passing a lambda,
+        // and a disabled event does not escape, so applying allocates nothing for recording while the event is disabled.
+        MessageApplyEvent event = new MessageApplyEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    private static @NotNull TranslatableComponent endApply(@Nullable MessageApplyEvent event, @NotNull String key, int arguments, boolean lazy,
+                                                           @NotNull TranslatableComponent component) {
+        if (event != null) {
+            event.commit(key, arguments, lazy);
+        }
+        return component;
+    }
+
     /**
      * A record holding a message key and one argument function.
      *
@@ -240,7 +264,24 @@ public record MessageKey(@NotNull String key) implements ComponentLike {
          */
         @Contract("_ -> new")
         public @NotNull TranslatableComponent apply(A1 a) {
-            return Component.translatable(this.key, this.arg1.apply(a));
+            MessageApplyEvent event = beginApply();
+            return endApply(event, this.key, 1, false, translatable(this.key, this.arg1.apply(a)));
+        }
+
+        /**
+         * Creates a translatable component with the given argument, converting it only when the message uses it.
+         * <p>
+         * The argument is converted at most once, even if the message contains its placeholder several times.
+         * This works with translators based on {@link net.kyori.adventure.text.minimessage.translation.MiniMessageTranslator}.
+         * Other translators render the argument as empty components.
+         *
+         * @param a the argument value
+         * @return a translatable component with the key and the argument that is converted when it is rendered
+         */
+        @Contract("_ -> new")
+        public @NotNull TranslatableComponent applyLazily(A1 a) {
+            MessageApplyEvent event = beginApply();
+            return endApply(event, this.key, 1, true, Component.translatable(this.key, LazyArgument.create(0, this.arg1, a)));
         }
     }
 
@@ -279,7 +320,25 @@ public record MessageKey(@NotNull String key) implements ComponentLike {
          */
         @Contract("_, _ -> new")
         public @NotNull TranslatableComponent apply(A1 a1, A2 a2) {
-            return Component.translatable(this.key, this.arg1.apply(a1), this.arg2.apply(a2));
+            MessageApplyEvent event = beginApply();
+            return endApply(event, this.key, 2, false, translatable(this.key, this.arg1.apply(a1), this.arg2.apply(a2)));
+        }
+
+        /**
+         * Creates a translatable component with the given arguments, converting each argument only when the message uses it.
+         * <p>
+         * Each argument is converted at most once, even if the message contains its placeholder several times.
+         * This works with translators based on {@link net.kyori.adventure.text.minimessage.translation.MiniMessageTranslator}.
+         * Other translators render the arguments as empty components.
+         *
+         * @param a1 the first argument value
+         * @param a2 the second argument value
+         * @return a translatable component with the key and the arguments that are converted when they are rendered
+         */
+        @Contract("_, _ -> new")
+        public @NotNull TranslatableComponent applyLazily(A1 a1, A2 a2) {
+            MessageApplyEvent event = beginApply();
+            return endApply(event, this.key, 2, true, Component.translatable(this.key, LazyArgument.create(0, this.arg1, a1), LazyArgument.create(1, this.arg2, a2)));
         }
     }
 
@@ -323,7 +382,26 @@ public record MessageKey(@NotNull String key) implements ComponentLike {
          */
         @Contract("_, _, _ -> new")
         public @NotNull TranslatableComponent apply(A1 a1, A2 a2, A3 a3) {
-            return Component.translatable(this.key, this.arg1.apply(a1), this.arg2.apply(a2), this.arg3.apply(a3));
+            MessageApplyEvent event = beginApply();
+            return endApply(event, this.key, 3, false, translatable(this.key, this.arg1.apply(a1), this.arg2.apply(a2), this.arg3.apply(a3)));
+        }
+
+        /**
+         * Creates a translatable component with the given arguments, converting each argument only when the message uses it.
+         * <p>
+         * Each argument is converted at most once, even if the message contains its placeholder several times.
+         * This works with translators based on {@link net.kyori.adventure.text.minimessage.translation.MiniMessageTranslator}.
+         * Other translators render the arguments as empty components.
+         *
+         * @param a1 the first argument value
+         * @param a2 the second argument value
+         * @param a3 the third argument value
+         * @return a translatable component with the key and the arguments that are converted when they are rendered
+         */
+        @Contract("_, _, _ -> new")
+        public @NotNull TranslatableComponent applyLazily(A1 a1, A2 a2, A3 a3) {
+            MessageApplyEvent event = beginApply();
+            return endApply(event, this.key, 3, true, Component.translatable(this.key, LazyArgument.create(0, this.arg1, a1), LazyArgument.create(1, this.arg2, a2), LazyArgument.create(2, this.arg3, a3)));
         }
     }
 
@@ -372,7 +450,27 @@ public record MessageKey(@NotNull String key) implements ComponentLike {
          */
         @Contract("_, _, _, _ -> new")
         public @NotNull TranslatableComponent apply(A1 a1, A2 a2, A3 a3, A4 a4) {
-            return Component.translatable(this.key, this.arg1.apply(a1), this.arg2.apply(a2), this.arg3.apply(a3), this.arg4.apply(a4));
+            MessageApplyEvent event = beginApply();
+            return endApply(event, this.key, 4, false, translatable(this.key, this.arg1.apply(a1), this.arg2.apply(a2), this.arg3.apply(a3), this.arg4.apply(a4)));
+        }
+
+        /**
+         * Creates a translatable component with the given arguments, converting each argument only when the message uses it.
+         * <p>
+         * Each argument is converted at most once, even if the message contains its placeholder several times.
+         * This works with translators based on {@link net.kyori.adventure.text.minimessage.translation.MiniMessageTranslator}.
+         * Other translators render the arguments as empty components.
+         *
+         * @param a1 the first argument value
+         * @param a2 the second argument value
+         * @param a3 the third argument value
+         * @param a4 the fourth argument value
+         * @return a translatable component with the key and the arguments that are converted when they are rendered
+         */
+        @Contract("_, _, _, _ -> new")
+        public @NotNull TranslatableComponent applyLazily(A1 a1, A2 a2, A3 a3, A4 a4) {
+            MessageApplyEvent event = beginApply();
+            return endApply(event, this.key, 4, true, Component.translatable(this.key, LazyArgument.create(0, this.arg1, a1), LazyArgument.create(1, this.arg2, a2), LazyArgument.create(2, this.arg3, a3), LazyArgument.create(3, this.arg4, a4)));
         }
     }
 
@@ -427,7 +525,28 @@ public record MessageKey(@NotNull String key) implements ComponentLike {
          */
         @Contract("_, _, _, _, _ -> new")
         public @NotNull TranslatableComponent apply(A1 a1, A2 a2, A3 a3, A4 a4, A5 a5) {
-            return Component.translatable(this.key, this.arg1.apply(a1), this.arg2.apply(a2), this.arg3.apply(a3), this.arg4.apply(a4), this.arg5.apply(a5));
+            MessageApplyEvent event = beginApply();
+            return endApply(event, this.key, 5, false, translatable(this.key, this.arg1.apply(a1), this.arg2.apply(a2), this.arg3.apply(a3), this.arg4.apply(a4), this.arg5.apply(a5)));
+        }
+
+        /**
+         * Creates a translatable component with the given arguments, converting each argument only when the message uses it.
+         * <p>
+         * Each argument is converted at most once, even if the message contains its placeholder several times.
+         * This works with translators based on {@link net.kyori.adventure.text.minimessage.translation.MiniMessageTranslator}.
+         * Other translators render the arguments as empty components.
+         *
+         * @param a1 the first argument value
+         * @param a2 the second argument value
+         * @param a3 the third argument value
+         * @param a4 the fourth argument value
+         * @param a5 the fifth argument value
+         * @return a translatable component with the key and the arguments that are converted when they are rendered
+         */
+        @Contract("_, _, _, _, _ -> new")
+        public @NotNull TranslatableComponent applyLazily(A1 a1, A2 a2, A3 a3, A4 a4, A5 a5) {
+            MessageApplyEvent event = beginApply();
+            return endApply(event, this.key, 5, true, Component.translatable(this.key, LazyArgument.create(0, this.arg1, a1), LazyArgument.create(1, this.arg2, a2), LazyArgument.create(2, this.arg3, a3), LazyArgument.create(3, this.arg4, a4), LazyArgument.create(4, this.arg5, a5)));
         }
     }
 }
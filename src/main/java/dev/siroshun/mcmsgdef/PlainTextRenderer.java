@@ -0,0 +1,465 @@
+package dev.siroshun.mcmsgdef;
+
+import dev.siroshun.mcmsgdef.translation.ColumnarTranslator;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.text.flattener.ComponentFlattener;
+import net.kyori.adventure.translation.GlobalTranslator;
+import net.kyori.adventure.translation.Translator;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+/**
+ * A renderer that writes messages as plain text directly from their MiniMessage strings, without building components.
+ * <p>
+ * Style tags such as colors, decorations, click and hover events are dropped, {@code <arg:N>} inserts the plain text of the argument,
+ * {@code <plural:N:...>} selects the form as {@link PluralArgument} does, and {@code <newline>} inserts a line break.
+ * Tags that are not known are written as they are, like MiniMessage does.
+ * <p>
+ * Arguments are written without building components if they are {@link PluralArgument}s or {@link TextComponent}s without children.
+ * {@link TranslatableComponent} arguments are rendered by this renderer. If the key has no MiniMessage string, they are translated by
+ * the {@link Translator} ({@link GlobalTranslator} by default), so values formatted by {@link dev.siroshun.mcmsgdef.translation.FormattingTranslator}
+ * are written as formatted, and their fallback strings or keys are written if the {@link Translator} cannot translate them either.
+ * Other arguments are flattened by {@link ComponentFlattener#basic()}.
+ * <p>
+ * Messages nested by {@code <lang:...>} tags and {@link TranslatableComponent} arguments are rendered up to 16 levels deep,
+ * and the key is written instead beyond that, so messages that reference themselves do not overflow the stack.
+ */
+public final class PlainTextRenderer {
+
+    private static final int MAX_DEPTH = 16;
+
+    private static final Set<String> STYLE_TAGS = Set.of(
+        "black", "dark_blue", "dark_green", "dark_aqua", "dark_red", "dark_purple", "gold", "gray", "grey",
+        "dark_gray", "dark_grey", "blue", "green", "aqua", "red", "light_purple", "yellow", "white",
+        "color", "colour", "c", "shadow", "bold", "b", "italic", "em", "i", "underlined", "u",
+        "strikethrough", "st", "obfuscated", "obf", "reset", "gradient", "rainbow", "transition", "pride",
+        "click", "hover", "insert", "insertion", "font", "selector", "sel", "score", "nbt", "data"
+    );
+
+    /**
+     * Creates a new {@link PlainTextRenderer}.
+     *
+     * @param templates the function to get the MiniMessage string of the key for the {@link Locale}, or {@code null} if it does not exist
+     * @return a new {@link PlainTextRenderer}
+     */
+    @Contract("_ -> new")
+    public static @NotNull PlainTextRenderer create(@NotNull BiFunction<? super String, ? super Locale, @Nullable String> templates) {
+        return new PlainTextRenderer(Objects.requireNonNull(templates), GlobalTranslator.translator());
+    }
+
+    /**
+     * Creates a new {@link PlainTextRenderer} that renders messages of the {@link ColumnarTranslator}.
+     *
+     * @param translator the {@link ColumnarTranslator} to get MiniMessage strings
+     * @return a new {@link PlainTextRenderer}
+     */
+    @Contract("_ -> new")
+    public static @NotNull PlainTextRenderer create(@NotNull ColumnarTranslator translator) {
+        return create(translator::message);
+    }
+
+    private final BiFunction<? super String, ? super Locale, @Nullable String> templates;
+    private final Translator translator;
+
+    private PlainTextRenderer(@NotNull BiFunction<? super String, ? super Locale, @Nullable String> templates, @NotNull Translator translator) {
+        this.templates = templates;
+        this.translator = translator;
+    }
+
+    /**
+     * Creates a new {@link PlainTextRenderer} with the specified {@link Translator} for {@link TranslatableComponent} arguments
+     * whose keys have no MiniMessage string.
+     *
+     * @param translator the {@link Translator} to translate {@link TranslatableComponent} arguments
+     * @return a new {@link PlainTextRenderer}
+     */
+    @Contract("_ -> new")
+    public @NotNull PlainTextRenderer translator(@NotNull Translator translator) {
+        return new PlainTextRenderer(this.templates, Objects.requireNonNull(translator));
+    }
+
+    /**
+     * Renders the message to the {@link StringBuilder}.
+     *
+     * @param key    the {@link MessageKey}
+     * @param locale the {@link Locale} to render
+     * @param out    the {@link StringBuilder} to write the message
+     * @return {@code true} if the message is found, otherwise {@code false} and the key is written instead
+     */
+    public boolean render(@NotNull MessageKey key, @NotNull Locale locale, @NotNull StringBuilder out) {
+        return this.renderUnchecked(key.key(), locale, out);
+    }
+
+    /**
+     * Renders the message with the argument to the {@link StringBuilder}.
+     *
+     * @param key    the {@link MessageKey.Arg1}
+     * @param a1     the argument value
+     * @param locale the {@link Locale} to render
+     * @param out    the {@link StringBuilder} to write the message
+     * @param <A1>   the type of the argument
+     * @return {@code true} if the message is found, otherwise {@code false} and the key is written instead
+     */
+    public <A1> boolean render(@NotNull MessageKey.Arg1<A1> key, A1 a1, @NotNull Locale locale, @NotNull StringBuilder out) {
+        return this.renderUnchecked(key.key(), locale, out, key.arg1().apply(a1));
+    }
+
+    /**
+     * Renders the message with the arguments to the {@link StringBuilder}.
+     *
+     * @param key    the {@link MessageKey.Arg2}
+     * @param a1     the first argument value
+     * @param a2     the second argument value
+     * @param locale the {@link Locale} to render
+     * @param out    the {@link StringBuilder} to write the message
+     * @param <A1>   the type of the first argument
+     * @param <A2>   the type of the second argument
+     * @return {@code true} if the message is found, otherwise {@code false} and the key is written instead
+     */
+    public <A1, A2> boolean render(@NotNull MessageKey.Arg2<A1, A2> key, A1 a1, A2 a2, @NotNull Locale locale, @NotNull StringBuilder out) {
+        return this.renderUnchecked(key.key(), locale, out, key.arg1().apply(a1), key.arg2().apply(a2));
+    }
+
+    /**
+     * Renders the message with the arguments to the {@link StringBuilder}.
+     *
+     * @param key    the {@link MessageKey.Arg3}
+     * @param a1     the first argument value
+     * @param a2     the second argument value
+     * @param a3     the third argument value
+     * @param locale the {@link Locale} to render
+     * @param out    the {@link StringBuilder} to write the message
+     * @param <A1>   the type of the first argument
+     * @param <A2>   the type of the second argument
+     * @param <A3>   the type of the third argument
+     * @return {@code true} if the message is found, otherwise {@code false} and the key is written instead
+     */
+    public <A1, A2, A3> boolean render(@NotNull MessageKey.Arg3<A1, A2, A3> key, A1 a1, A2 a2, A3 a3, @NotNull Locale locale, @NotNull StringBuilder out) {
+        return this.renderUnchecked(key.key(), locale, out, key.arg1().apply(a1), key.arg2().apply(a2), key.arg3().apply(a3));
+    }
+
+    /**
+     * Renders the message with the arguments to the {@link StringBuilder}.
+     *
+     * @param key    the {@link MessageKey.Arg4}
+     * @param a1     the first argument value
+     * @param a2     the second argument value
+     * @param a3     the third argument value
+     * @param a4     the fourth argument value
+     * @param locale the {@link Locale} to render
+     * @param out    the {@link StringBuilder} to write the message
+     * @param <A1>   the type of the first argument
+     * @param <A2>   the type of the second argument
+     * @param <A3>   the type of the third argument
+     * @param <A4>   the type of the fourth argument
+     * @return {@code true} if the message is found, otherwise {@code false} and the key is written instead
+     */
+    public <A1, A2, A3, A4> boolean render(@NotNull MessageKey.Arg4<A1, A2, A3, A4> key, A1 a1, A2 a2, A3 a3, A4 a4, @NotNull Locale locale, @NotNull StringBuilder out) {
+        return this.renderUnchecked(key.key(), locale, out, key.arg1().apply(a1), key.arg2().apply(a2), key.arg3().apply(a3), key.arg4().apply(a4));
+    }
+
+    /**
+     * Renders the message with the arguments to the {@link StringBuilder}.
+     *
+     * @param key    the {@link MessageKey.Arg5}
+     * @param a1     the first argument value
+     * @param a2     the second argument value
+     * @param a3     the third argument value
+     * @param a4     the fourth argument value
+     * @param a5     the fifth argument value
+     * @param locale the {@link Locale} to render
+     * @param out    the {@link StringBuilder} to write the message
+     * @param <A1>   the type of the first argument
+     * @param <A2>   the type of the second argument
+     * @param <A3>   the type of the third argument
+     * @param <A4>   the type of the fourth argument
+     * @param <A5>   the type of the fifth argument
+     * @return {@code true} if the message is found, otherwise {@code false} and the key is written instead
+     */
+    public <A1, A2, A3, A4, A5> boolean render(@NotNull MessageKey.Arg5<A1, A2, A3, A4, A5> key, A1 a1, A2 a2, A3 a3, A4 a4, A5 a5, @NotNull Locale locale, @NotNull StringBuilder out) {
+        return this.renderUnchecked(key.key(), locale, out, key.arg1().apply(a1), key.arg2().apply(a2), key.arg3().apply(a3), key.arg4().apply(a4), key.arg5().apply(a5));
+    }
+
+    /**
+     * Renders the message with the arguments to the {@link Appendable}.
+     *
+     * @param key       the key of the message
+     * @param locale    the {@link Locale} to render
+     * @param out       the {@link Appendable} to write the message
+     * @param arguments the arguments of the message
+     * @return {@code true} if the message is found, otherwise {@code false} and the key is written instead
+     * @throws IOException if the {@link Appendable} throws {@link IOException}
+     */
+    public boolean render(@NotNull String key, @NotNull Locale locale, @NotNull Appendable out, @NotNull ComponentLike @NotNull ... arguments) throws IOException {
+        return this.renderMessage(Objects.requireNonNull(key), Objects.requireNonNull(locale), Objects.requireNonNull(out), arguments, 0);
+    }
+
+    private boolean renderMessage(@NotNull String key, @NotNull Locale locale, @NotNull Appendable out,
+                                  @NotNull ComponentLike @NotNull [] arguments, int depth) throws IOException {
+        String template = depth < MAX_DEPTH ? this.templates.apply(key, locale) : null;
+        if (template == null) {
+            out.append(key);
+            return false;
+        }
+        this.renderTemplate(template, 0, template.length(), arguments, locale, out, depth);
+        return true;
+    }
+
+    private boolean renderUnchecked(@NotNull String key, @NotNull Locale locale, @NotNull StringBuilder out, @NotNull ComponentLike @NotNull ... arguments) {
+        try {
+            return this.render(key, locale, out, arguments);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // StringBuilder does not throw IOException
+        }
+    }
+
+    private void renderTemplate(@NotNull String template, int start, int end,
+                                @NotNull ComponentLike @NotNull [] arguments, @NotNull Locale locale,
+                                @NotNull Appendable out, int depth) throws IOException {
+        int i = start;
+        while (i < end) {
+            char c = template.charAt(i);
+
+            if (c == '\\' && i + 1 < end && (template.charAt(i + 1) == '<' || template.charAt(i + 1) == '\\')) {
+                out.append(template.charAt(i + 1));
+                i += 2;
+                continue;
+            }
+
+            if (c != '<') {
+                int next = nextSpecial(template, i, end);
+                out.append(template, i, next);
+                i = next;
+                continue;
+            }
+
+            int close = findTagEnd(template, i + 1, end);
+            if (close == -1) {
+                out.append('<');
+                i++;
+                continue;
+            }
+
+            if (!this.renderTag(template.substring(i + 1, close), arguments, locale, out, depth)) {
+                out.append(template, i, close + 1);
+            }
+            i = close + 1;
+        }
+    }
+
+    private boolean renderTag(@NotNull String tag, @NotNull ComponentLike @NotNull [] arguments,
+                              @NotNull Locale locale, @NotNull Appendable out, int depth) throws IOException {
+        boolean closing = tag.startsWith("/");
+        List<String> parts = splitTag(closing ? tag.substring(1) : tag);
+        String name = parts.getFirst().toLowerCase(Locale.ROOT);
+        if (name.startsWith("!")) {
+            name = name.substring(1);
+        }
+
+        if (name.startsWith("#") || STYLE_TAGS.contains(name)) {
+            return true;
+        }
+
+        if (closing) {
+            return name.equals("arg") || name.equals("argument") || name.equals("plural") || name.equals("lang") || name.equals("tr") || name.equals("translate");
+        }
+
+        switch (name) {
+            case "newline", "br" -> {
+                out.append('\n');
+                return true;
+            }
+            case "key", "keybind" -> {
+                if (parts.size() < 2) {
+                    return false;
+                }
+                out.append(parts.get(1));
+                return true;
+            }
+            case "lang", "tr", "translate" -> {
+                if (parts.size() < 2) {
+                    return false;
+                }
+                List<String> args = parts.subList(2, parts.size());
+                ComponentLike[] nested = new ComponentLike[args.size()];
+                for (int i = 0; i < nested.length; i++) {
+                    nested[i] = new TemplateArgument(args.get(i), arguments); // MiniMessage parses these arguments as templates too
+                }
+                this.renderMessage(parts.get(1), locale, out, nested, depth + 1);
+                return true;
+            }
+            case "arg", "argument" -> {
+                ComponentLike argument = argument(parts, arguments);
+                if (argument == null) {
+                    return false;
+                }
+                this.appendArgument(argument, locale, out, depth);
+                return true;
+            }
+            case "plural" -> {
+                ComponentLike argument = argument(parts, arguments);
+                if (!(argument instanceof PluralArgument plural)) {
+                    return false;
+                }
+                String form;
+                try {
+                    form = PluralSelector.selectForm(plural.number(), locale, parts.subList(2, parts.size()));
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+                this.renderTemplate(form, 0, form.length(), arguments, locale, out, depth);
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    private void appendArgument(@NotNull ComponentLike argument, @NotNull Locale locale, @NotNull Appendable out, int depth) throws IOException {
+        if (argument instanceof TemplateArgument template) {
+            if (depth < MAX_DEPTH) {
+                this.renderTemplate(template.template, 0, template.template.length(), template.arguments, locale, out, depth + 1);
+            } else {
+                out.append(template.template);
+            }
+            return;
+        }
+
+        Component component = argument.asComponent();
+
+        if (component instanceof TextComponent text && component.children().isEmpty()) {
+            out.append(text.content());
+        } else if (component instanceof TranslatableComponent translatable && component.children().isEmpty()) {
+            String template = depth < MAX_DEPTH ? this.templates.apply(translatable.key(), locale) : null;
+            if (template == null) {
+                Component translated = depth < MAX_DEPTH ? this.translator.translate(translatable, locale) : null;
+                if (translated != null) {
+                    flatten(translated, out);
+                } else {
+                    out.append(translatable.fallback() != null ? translatable.fallback() : translatable.key());
+                }
+                return;
+            }
+            List<TranslationArgument> translationArguments = translatable.arguments();
+            ComponentLike[] nested = new ComponentLike[translationArguments.size()];
+            for (int i = 0; i < nested.length; i++) {
+                nested[i] = translationArguments.get(i).asComponent();
+            }
+            this.renderTemplate(template, 0, template.length(), nested, locale, out, depth + 1);
+        } else {
+            flatten(component, out);
+        }
+    }
+
+    private static void flatten(@NotNull Component component, @NotNull Appendable out) throws IOException {
+        try {
+            ComponentFlattener.basic().flatten(component, text -> {
+                try {
+                    out.append(text);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static @Nullable ComponentLike argument(@NotNull List<String> parts, @NotNull ComponentLike @NotNull [] arguments) {
+        if (parts.size() < 2) {
+            return null;
+        }
+        try {
+            int index = Integer.parseInt(parts.get(1));
+            return 0 <= index && index < arguments.length ? arguments[index] : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int nextSpecial(@NotNull String template, int from, int end) {
+        for (int i = from; i < end; i++) {
+            char c = template.charAt(i);
+            if (c == '<' || c == '\\') {
+                return i == from ? i + 1 : i;
+            }
+        }
+        return end;
+    }
+
+    private static int findTagEnd(@NotNull String template, int from, int end) {
+        char quote = 0;
+        for (int i = from; i < end; i++) {
+            char c = template.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && i + 1 < end) {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '>') {
+                return i;
+            } else if (c == '<') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static @NotNull List<String> splitTag(@NotNull String tag) {
+        List<String> parts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        char quote = 0;
+
+        for (int i = 0; i < tag.length(); i++) {
+            char c = tag.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && i + 1 < tag.length() && (tag.charAt(i + 1) == quote || tag.charAt(i + 1) == '\\')) {
+                    current.append(tag.charAt(++i));
+                } else if (c == quote) {
+                    quote = 0;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == ':') {
+                parts.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        parts.add(current.toString());
+        return parts;
+    }
+
+    /**
+     * An argument of a {@code <lang:...>} tag, which is rendered as a template with the arguments of the enclosing message.
+     */
+    private record TemplateArgument(@NotNull String template, @NotNull ComponentLike @NotNull [] arguments) implements ComponentLike {
+
+        @Override
+        public @NotNull Component asComponent() {
+            return Component.text(this.template);
+        }
+    }
+}
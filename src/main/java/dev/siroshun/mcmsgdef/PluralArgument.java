@@ -0,0 +1,97 @@
+package dev.siroshun.mcmsgdef;
+
+import dev.siroshun.mcmsgdef.plural.PluralRules;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * An argument of {@link MessageKey.Arg1}..{@link MessageKey.Arg5} that is a count, selecting plural forms of the message.
+ * <p>
+ * Besides {@code <arg:N>} that inserts the count, messages can use {@code <plural:N:...>} with pairs of a selector and a form,
+ * where {@code N} is the index of the count argument:
+ * <pre>{@code You have <arg:0> <plural:0:one:'item':other:'items'>.}</pre>
+ * A selector is a CLDR plural category ({@code zero}, {@code one}, {@code two}, {@code few}, {@code many} or {@code other}),
+ * or {@code =} and a number that matches the count exactly, such as {@code =0}.
+ * An exact match takes precedence over categories, and {@code other} is used if no category matches.
+ * The category is selected by {@link PluralRules} of the rendering {@link java.util.Locale}.
+ * <p>
+ * Plural forms are resolved by translators based on {@link net.kyori.adventure.text.minimessage.translation.MiniMessageTranslator},
+ * and they are not supported by {@link MessageKey.Arg1#applyLazily(Object)} and the other lazy variants.
+ */
+public final class PluralArgument implements ComponentLike {
+
+    /**
+     * Creates a {@link Placeholder} of counts that inserts counts as text.
+     *
+     * @param <N> the type of counts
+     * @return a {@link Placeholder} of counts
+     */
+    @Contract(pure = true)
+    public static <N extends Number> @NotNull Placeholder<N> count() {
+        return count -> new PluralArgument(count, Component.text(String.valueOf(count)));
+    }
+
+    /**
+     * Creates a {@link Placeholder} of counts that inserts counts converted by the given function.
+     *
+     * @param placeholder the function to convert counts to components, such as another {@link Placeholder}
+     * @param <N>         the type of counts
+     * @return a {@link Placeholder} of counts
+     */
+    @Contract(pure = true)
+    public static <N extends Number> @NotNull Placeholder<N> count(@NotNull Function<? super N, ? extends ComponentLike> placeholder) {
+        Objects.requireNonNull(placeholder);
+        return count -> new PluralArgument(count, placeholder.apply(count));
+    }
+
+    private final Number count;
+    private final ComponentLike component;
+
+    private PluralArgument(@NotNull Number count, @NotNull ComponentLike component) {
+        this.count = Objects.requireNonNull(count);
+        this.component = Objects.requireNonNull(component);
+    }
+
+    /**
+     * Gets the count.
+     *
+     * @return the count
+     */
+    public @NotNull Number number() {
+        return this.count;
+    }
+
+    @Override
+    public @NotNull Component asComponent() {
+        return this.component.asComponent();
+    }
+
+    static @NotNull ComponentLike @NotNull [] withSelector(@NotNull ComponentLike @NotNull [] arguments) {
+        Number[] counts = null;
+        ComponentLike[] result = arguments;
+
+        for (int i = 0; i < arguments.length; i++) {
+            if (arguments[i] instanceof PluralArgument plural) {
+                if (counts == null) {
+                    counts = new Number[arguments.length];
+                    // The selector is added after all arguments, so it does not change the indexes of <arg:N>.
+                    result = Arrays.copyOf(arguments, arguments.length + 1);
+                }
+                counts[i] = plural.count;
+                result[i] = plural.component;
+            }
+        }
+
+        if (counts != null) {
+            result[arguments.length] = PluralSelector.create(counts);
+        }
+
+        return result;
+    }
+}
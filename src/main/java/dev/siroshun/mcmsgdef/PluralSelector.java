@@ -0,0 +1,188 @@
+package dev.siroshun.mcmsgdef;
+
+import dev.siroshun.mcmsgdef.plural.PluralCategory;
+import dev.siroshun.mcmsgdef.plural.PluralRules;
+import net.kyori.adventure.identity.Identity;
+import net.kyori.adventure.pointer.Pointered;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.ParsingException;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.minimessage.translation.Argument;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A {@link TagResolver} of {@code <plural:N:...>} tags for {@link PluralArgument}s.
+ * <p>
+ * Selectors with the same counts are equal, so components with the same arguments are equal.
+ */
+final class PluralSelector implements TagResolver {
+
+    private static final String NAME = "plural";
+
+    static @NotNull ComponentLike create(@Nullable Number @NotNull [] counts) {
+        return Argument.tagResolver(new PluralSelector(counts));
+    }
+
+    private final @Nullable Number[] counts;
+
+    private PluralSelector(@Nullable Number @NotNull [] counts) {
+        this.counts = counts;
+    }
+
+    @Override
+    public @Nullable Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) throws ParsingException {
+        if (!this.has(name)) {
+            return null;
+        }
+
+        int index = arguments.popOr("The index of the count argument is required").asInt()
+            .orElseThrow(() -> ctx.newException("The index of the count argument must be a number", arguments));
+        Number count = 0 <= index && index < this.counts.length ? this.counts[index] : null;
+        if (count == null) {
+            throw ctx.newException("The argument " + index + " is not a plural count", arguments);
+        }
+
+        List<String> selectorsAndForms = new ArrayList<>();
+        while (arguments.hasNext()) {
+            String selector = arguments.pop().value();
+            selectorsAndForms.add(selector);
+            selectorsAndForms.add(arguments.popOr(() -> "The form of '" + selector + "' is required").value());
+        }
+
+        try {
+            return Tag.selfClosingInserting(ctx.deserialize(selectForm(count, locale(ctx), selectorsAndForms)));
+        } catch (IllegalArgumentException e) {
+            throw ctx.newException(e.getMessage(), arguments);
+        }
+    }
+
+    /**
+     * Selects the form of the count.
+     *
+     * @param count             the count
+     * @param locale            the {@link Locale} to select the plural category
+     * @param selectorsAndForms pairs of a selector and a form
+     * @return the selected form
+     * @throws IllegalArgumentException if a selector is unknown, or no form matches the count
+     */
+    static @NotNull String selectForm(@NotNull Number count, @NotNull Locale locale, @NotNull List<String> selectorsAndForms) {
+        PluralCategory category = PluralRules.forLocale(locale).select(count);
+        BigDecimal decimalCount = null;
+        String categoryForm = null;
+        String otherForm = null;
+
+        for (int i = 0; i + 1 < selectorsAndForms.size(); i += 2) {
+            String selector = selectorsAndForms.get(i);
+            String form = selectorsAndForms.get(i + 1);
+
+            if (selector.startsWith("=")) {
+                long exact = isIntegral(count) ? parseLong(selector) : Long.MIN_VALUE;
+                if (exact != Long.MIN_VALUE) {
+                    if (exact == count.longValue()) {
+                        return form;
+                    }
+                    continue;
+                }
+                if (decimalCount == null) {
+                    decimalCount = toDecimal(count);
+                }
+                if (decimalCount != null && matches(selector.substring(1), decimalCount)) {
+                    return form;
+                }
+                continue;
+            }
+
+            PluralCategory formCategory = PluralCategory.fromKeyword(selector);
+            if (formCategory == null) {
+                throw new IllegalArgumentException("Unknown plural category: " + selector);
+            }
+
+            if (formCategory == category && categoryForm == null) {
+                categoryForm = form;
+            } else if (formCategory == PluralCategory.OTHER && otherForm == null) {
+                otherForm = form;
+            }
+        }
+
+        String form = categoryForm != null ? categoryForm : otherForm;
+        if (form == null) {
+            throw new IllegalArgumentException("No form for the plural category '" + category.keyword() + "'");
+        }
+
+        return form;
+    }
+
+    @Override
+    public boolean has(@NotNull String name) {
+        return NAME.equals(name);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof PluralSelector other && Arrays.equals(this.counts, other.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.counts);
+    }
+
+    private static @NotNull Locale locale(@NotNull Context ctx) {
+        Pointered target = ctx.target();
+        return target != null ? target.get(Identity.LOCALE).orElse(Locale.ROOT) : Locale.ROOT;
+    }
+
+    private static boolean isIntegral(@NotNull Number count) {
+        return count instanceof Integer || count instanceof Long || count instanceof Short || count instanceof Byte;
+    }
+
+    /**
+     * Parses the integer of the {@code =N} selector without allocating.
+     *
+     * @param selector the selector starting with {@code =}
+     * @return the integer, or {@link Long#MIN_VALUE} if the selector is not a short integer
+     */
+    private static long parseLong(@NotNull String selector) {
+        int start = selector.length() > 1 && selector.charAt(1) == '-' ? 2 : 1;
+        int length = selector.length();
+        if (length == start || length - start > 18) {
+            return Long.MIN_VALUE;
+        }
+
+        long value = 0;
+        for (int i = start; i < length; i++) {
+            char c = selector.charAt(i);
+            if (c < '0' || '9' < c) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return start == 2 ? -value : value;
+    }
+
+    private static @Nullable BigDecimal toDecimal(@NotNull Number count) {
+        try {
+            return new BigDecimal(count.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(@NotNull String exact, @NotNull BigDecimal count) {
+        try {
+            return new BigDecimal(exact).compareTo(count) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package dev.siroshun.mcmsgdef.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a message in a type annotated with {@link MessageHolder}.
+ * <p>
+ * This annotation can be put on fields and methods.
+ * For a field, the argument types are given by {@link #args()}.
+ * For a method, the parameter types are the argument types of the message;
+ * the method itself is not implemented, so the message is used through the generated constant.
+ * <p>
+ * The number of arguments must match the {@code <arg:N>} tags in the default message, and must be 5 or less.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Message {
+
+    /**
+     * The default message.
+     *
+     * @return the default message
+     */
+    String value();
+
+    /**
+     * The key of the message.
+     * <p>
+     * If empty, the key is the {@link MessageHolder#prefix()} followed by the value of the field if it is a non-empty {@link String} constant,
+     * otherwise by the name of the field or the method in kebab-case.
+     *
+     * @return the key of the message, or an empty string to generate it
+     */
+    String key() default "";
+
+    /**
+     * The argument types of the message declared on a field.
+     * <p>
+     * This must be empty for methods.
+     *
+     * @return the argument types of the message
+     */
+    Class<?>[] args() default {};
+}
@@ -0,0 +1,45 @@
+package dev.siroshun.mcmsgdef.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class or an interface that declares messages with {@link Message}.
+ * <p>
+ * The {@code mcmsgdef-processor} annotation processor generates a class from the annotated type at compile time.
+ * The generated class has:
+ * <ul>
+ *     <li>a {@link dev.siroshun.mcmsgdef.MessageKey} or {@code ArgN} constant for each message</li>
+ *     <li>{@code DEFAULT_MESSAGES}, an unmodifiable map of keys and default messages in declaration order</li>
+ *     <li>{@code RESOURCE}, the path of the generated properties resource that contains the default messages</li>
+ * </ul>
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface MessageHolder {
+
+    /**
+     * The prefix of message keys, joined with {@code .}.
+     *
+     * @return the prefix of message keys, or an empty string for no prefix
+     */
+    String prefix() default "";
+
+    /**
+     * The simple name of the generated class.
+     *
+     * @return the simple name of the generated class, or an empty string to use the name of the annotated type followed by {@code Keys}
+     */
+    String className() default "";
+
+    /**
+     * The path of the generated properties resource.
+     *
+     * @return the path of the generated properties resource, or an empty string to place {@code <className>.properties} in the same package
+     */
+    String resource() default "";
+}
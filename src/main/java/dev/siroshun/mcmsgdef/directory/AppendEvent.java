@@ -0,0 +1,35 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event emitted when missing messages are appended to a file.
+ * <p>
+ * This event is disabled by default.
+ */
+@Name("dev.siroshun.mcmsgdef.Append")
+@Label("Missing Message Append")
+@Description("Appending missing messages to a message file")
+@Category("mcmsgdef")
+@Enabled(false)
+final class AppendEvent extends Event {
+
+    @Label("Path")
+    String path;
+
+    @Label("Locale")
+    String locale;
+
+    @Label("Entries")
+    int entries;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+}
@@ -0,0 +1,73 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import dev.siroshun.mcmsgdef.file.Loader;
+import dev.siroshun.mcmsgdef.file.MessageAppender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A processor created by {@link MessageProcessors} that appends missing messages to the loaded message map and the {@link MessageAppender}.
+ * <p>
+ * {@link MessagePipeline} knows this processor, so it can skip writing files and count the appended messages.
+ */
+final class AppendMissingMessages implements Loader<LoadedMessageMap, Map<String, String>> {
+
+    private final Loader<Locale, @Nullable Map<String, String>> defaultMessageLoader;
+    private final @Nullable MessageAppender<Path, Map<String, String>> messageAppender;
+
+    AppendMissingMessages(@NotNull Loader<Locale, @Nullable Map<String, String>> defaultMessageLoader,
+                          @Nullable MessageAppender<Path, Map<String, String>> messageAppender) {
+        this.defaultMessageLoader = defaultMessageLoader;
+        this.messageAppender = messageAppender;
+    }
+
+    @Override
+    public @NotNull Map<String, String> load(@NotNull LoadedMessageMap loaded) throws IOException {
+        this.append(loaded, true);
+        return loaded.messageMap();
+    }
+
+    /**
+     * Appends missing messages to the loaded message map, and to the {@link MessageAppender} if {@code write} is {@code true}.
+     *
+     * @param loaded the {@link LoadedMessageMap} to append missing messages
+     * @param write  whether to write missing messages to the {@link MessageAppender}
+     * @return the number of appended messages
+     * @throws IOException if I/O error occurred
+     */
+    int append(@NotNull LoadedMessageMap loaded, boolean write) throws IOException {
+        Map<String, String> defaultMessageMap = this.defaultMessageLoader.load(loaded.locale());
+        if (defaultMessageMap == null) {
+            return 0;
+        }
+
+        Map<String, String> missingMessages = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : defaultMessageMap.entrySet()) {
+            if (loaded.messageMap().putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                missingMessages.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (write && this.messageAppender != null && !missingMessages.isEmpty()) {
+            AppendEvent event = new AppendEvent();
+            long sizeBefore = event.isEnabled() ? DirectorySource.fileSize(loaded.filepath()) : 0;
+            event.begin();
+            this.messageAppender.append(loaded.filepath(), missingMessages);
+            if (event.shouldCommit()) {
+                event.path = loaded.filepath().toString();
+                event.locale = loaded.locale().toString();
+                event.entries = missingMessages.size();
+                event.bytes = Math.max(0, DirectorySource.fileSize(loaded.filepath()) - sizeBefore);
+                event.commit();
+            }
+        }
+
+        return missingMessages.size();
+    }
+}
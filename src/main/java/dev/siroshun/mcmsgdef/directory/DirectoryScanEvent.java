@@ -0,0 +1,27 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event emitted when {@link DirectorySource} scans the directory.
+ * <p>
+ * This event is disabled by default.
+ */
+@Name("dev.siroshun.mcmsgdef.DirectoryScan")
+@Label("Directory Scan")
+@Description("Scanning a directory for message files")
+@Category("mcmsgdef")
+@Enabled(false)
+final class DirectoryScanEvent extends Event {
+
+    @Label("Directory")
+    String directory;
+
+    @Label("Files")
+    int files;
+}
@@ -1,8 +1,16 @@
 package dev.siroshun.mcmsgdef.directory;
 
 import dev.siroshun.mcmsgdef.file.FileExtension;
+import dev.siroshun.mcmsgdef.file.JsonFile;
 import dev.siroshun.mcmsgdef.file.Loader;
 import dev.siroshun.mcmsgdef.file.PropertiesFile;
+import dev.siroshun.mcmsgdef.translation.ColumnarTranslator;
+import dev.siroshun.mcmsgdef.translation.EvictingTranslator;
+import dev.siroshun.mcmsgdef.translation.InstrumentedTranslator;
+import dev.siroshun.mcmsgdef.translation.MappedTranslator;
+import dev.siroshun.mcmsgdef.translation.MessageFootprint;
+import dev.siroshun.mcmsgdef.translation.ReloadableTranslator;
+import dev.siroshun.mcmsgdef.translation.TranslatorRegistry;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslationStore;
 import net.kyori.adventure.translation.GlobalTranslator;
@@ -14,15 +22,23 @@ import org.jetbrains.annotations.Unmodifiable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -39,7 +55,7 @@ public final class DirectorySource {
      */
     @Contract("_ -> new")
     public static @NotNull DirectorySource create(@NotNull Path directory) {
-        return new DirectorySource(Objects.requireNonNull(directory), Collections.emptySet(), null, null, null);
+        return new DirectorySource(Objects.requireNonNull(directory), Collections.emptySet(), null, null, null, MessagePipeline.create(), null, null, null);
     }
 
     /**
@@ -50,7 +66,7 @@ public final class DirectorySource {
      */
     @Contract("_ -> new")
     public static @NotNull DirectorySource forStringMessageMap(@NotNull Path directory) {
-        return new DirectorySource(Objects.requireNonNull(directory), Collections.emptySet(), null, null, null);
+        return new DirectorySource(Objects.requireNonNull(directory), Collections.emptySet(), null, null, null, MessagePipeline.create(), null, null, null);
     }
 
     /**
@@ -64,22 +80,48 @@ public final class DirectorySource {
         return DirectorySource.forStringMessageMap(directory).fileExtension(PropertiesFile.FILE_EXTENSION).messageLoader(PropertiesFile.DEFAULT_LOADER);
     }
 
+    /**
+     * Creates a new {@link DirectorySource}, which loads messages from flat JSON files.
+     *
+     * @param directory a directory to load messages
+     * @return a new {@link DirectorySource}
+     * @see JsonFile
+     */
+    @Contract("_ -> new")
+    public static @NotNull DirectorySource jsonFiles(@NotNull Path directory) {
+        return DirectorySource.forStringMessageMap(directory).fileExtension(JsonFile.FILE_EXTENSION).messageLoader(JsonFile.DEFAULT_LOADER);
+    }
+
+    private static final BooleanSupplier NOT_CANCELLED = () -> false;
+
     private final Path directory;
     private final @Unmodifiable Set<Locale> defaultLocales;
     private final @Nullable Locale primaryLocale;
     private final @Nullable FileExtension fileExtension;
-    private final @Nullable Loader<LoadContext, LoadedMessageMap> loader;
+    private final @Nullable Loader<Path, Map<String, String>> loader;
+    private final MessagePipeline pipeline;
+    private final @Nullable LoadListener loadListener;
+    private final @Nullable LoadCache loadCache;
+    private final @Nullable Object cacheVersion;
 
     private DirectorySource(@NotNull Path directory,
                             @NotNull Set<Locale> defaultLocales,
                             @Nullable Locale primaryLocale,
                             @Nullable FileExtension fileExtension,
-                            @Nullable Loader<LoadContext, LoadedMessageMap> loader) {
+                            @Nullable Loader<Path, Map<String, String>> loader,
+                            @NotNull MessagePipeline pipeline,
+                            @Nullable LoadListener loadListener,
+                            @Nullable LoadCache loadCache,
+                            @Nullable Object cacheVersion) {
         this.directory = directory;
         this.defaultLocales = defaultLocales;
         this.primaryLocale = primaryLocale;
         this.fileExtension = fileExtension;
         this.loader = loader;
+        this.pipeline = pipeline;
+        this.loadListener = loadListener;
+        this.loadCache = loadCache;
+        this.cacheVersion = cacheVersion;
     }
 
     /**
@@ -89,7 +131,7 @@ public final class DirectorySource {
      * @return a new {@link DirectorySource} instance
      */
     public @NotNull DirectorySource fileExtension(@NotNull FileExtension fileExtension) {
-        return new DirectorySource(this.directory, this.defaultLocales, this.primaryLocale, Objects.requireNonNull(fileExtension), this.loader);
+        return new DirectorySource(this.directory, this.defaultLocales, this.primaryLocale, Objects.requireNonNull(fileExtension), this.loader, this.pipeline, this.loadListener, this.loadCache, this.cacheVersion);
     }
 
     /**
@@ -131,7 +173,7 @@ public final class DirectorySource {
             newDefaultLocales.addAll(this.defaultLocales);
             newDefaultLocales.addAll(locales);
         }
-        return new DirectorySource(this.directory, Collections.unmodifiableSet(newDefaultLocales), this.primaryLocale, this.fileExtension, this.loader);
+        return new DirectorySource(this.directory, Collections.unmodifiableSet(newDefaultLocales), this.primaryLocale, this.fileExtension, this.loader, this.pipeline, this.loadListener, this.loadCache, this.cacheVersion);
     }
 
     /**
@@ -143,7 +185,7 @@ public final class DirectorySource {
      * @return a new {@link DirectorySource} instance
      */
     public @NotNull DirectorySource primaryLocale(@NotNull Locale locale) {
-        return new DirectorySource(this.directory, this.defaultLocales, Objects.requireNonNull(locale), this.fileExtension, this.loader);
+        return new DirectorySource(this.directory, this.defaultLocales, Objects.requireNonNull(locale), this.fileExtension, this.loader, this.pipeline, this.loadListener, this.loadCache, this.cacheVersion);
     }
 
     /**
@@ -153,39 +195,80 @@ public final class DirectorySource {
      * @return a new {@link DirectorySource} instance
      */
     public @NotNull DirectorySource messageLoader(@NotNull Loader<Path, Map<String, String>> loader) {
-        Objects.requireNonNull(loader);
-
-        if (this.loader != null) {
-            throw new IllegalStateException("The message loader is already set.");
-        }
-
         return new DirectorySource(
             this.directory,
             this.defaultLocales,
             this.primaryLocale,
             this.fileExtension,
-            context -> new LoadedMessageMap(context.filepath, context.locale, loader.apply(context.filepath))
+            Objects.requireNonNull(loader),
+            this.pipeline,
+            this.loadListener,
+            this.loadCache,
+            this.cacheVersion
         );
     }
 
     /**
      * Adds a {@link Loader} that processes loaded messages.
+     * <p>
+     * This is a shortcut for {@link MessagePipeline#processor(Loader)} on the current {@link MessagePipeline}.
      *
      * @param processor a {@link Loader} that processes loaded messages.
      * @return a new {@link DirectorySource} instance
      */
     public @NotNull DirectorySource messageProcessor(@NotNull Loader<LoadedMessageMap, Map<String, String>> processor) {
-        if (this.loader == null) {
-            throw new IllegalStateException("The message loader is not set.");
-        }
+        return this.messagePipeline(this.pipeline.processor(processor));
+    }
 
-        return new DirectorySource(
-            this.directory,
-            this.defaultLocales,
-            this.primaryLocale,
-            this.fileExtension,
-            context -> new LoadedMessageMap(context.filepath, context.locale, processor.apply(this.loader.apply(context)))
-        );
+    /**
+     * Sets the {@link MessagePipeline} that processes loaded messages.
+     * <p>
+     * This replaces the processors added by {@link #messageProcessor(Loader)} so far.
+     *
+     * @param pipeline the {@link MessagePipeline}
+     * @return a new {@link DirectorySource} instance
+     */
+    public @NotNull DirectorySource messagePipeline(@NotNull MessagePipeline pipeline) {
+        return new DirectorySource(this.directory, this.defaultLocales, this.primaryLocale, this.fileExtension, this.loader, Objects.requireNonNull(pipeline), this.loadListener, this.loadCache, this.cacheVersion);
+    }
+
+    /**
+     * Sets the {@link LoadListener} to receive metrics of loading.
+     *
+     * @param loadListener the {@link LoadListener}
+     * @return a new {@link DirectorySource} instance
+     */
+    public @NotNull DirectorySource loadListener(@NotNull LoadListener loadListener) {
+        return new DirectorySource(this.directory, this.defaultLocales, this.primaryLocale, this.fileExtension, this.loader, this.pipeline, Objects.requireNonNull(loadListener), this.loadCache, this.cacheVersion);
+    }
+
+    /**
+     * Sets the {@link LoadCache} to reuse message maps of unchanged files.
+     * <p>
+     * The same {@link LoadCache} should be set to the {@link DirectorySource} that is used for reloading.
+     * The source may be rebuilt for each reloading; cached message maps are reused as long as the files are unchanged,
+     * regardless of the {@link Loader} and the {@link MessagePipeline}. If they are changed, for example when the default messages
+     * are updated, use {@link #loadCache(LoadCache, Object)} with a new version, or call {@link LoadCache#invalidateAll()}.
+     *
+     * @param loadCache the {@link LoadCache}
+     * @return a new {@link DirectorySource} instance
+     */
+    public @NotNull DirectorySource loadCache(@NotNull LoadCache loadCache) {
+        return new DirectorySource(this.directory, this.defaultLocales, this.primaryLocale, this.fileExtension, this.loader, this.pipeline, this.loadListener, Objects.requireNonNull(loadCache), null);
+    }
+
+    /**
+     * Sets the {@link LoadCache} to reuse message maps of unchanged files, with the version of the {@link Loader} and the {@link MessagePipeline}.
+     * <p>
+     * Cached message maps are reused only if they were cached with an equal version,
+     * so a new version makes all files loaded and processed again.
+     *
+     * @param loadCache the {@link LoadCache}
+     * @param version   the version of the loading configuration, compared by {@link Object#equals(Object)}
+     * @return a new {@link DirectorySource} instance
+     */
+    public @NotNull DirectorySource loadCache(@NotNull LoadCache loadCache, @NotNull Object version) {
+        return new DirectorySource(this.directory, this.defaultLocales, this.primaryLocale, this.fileExtension, this.loader, this.pipeline, this.loadListener, Objects.requireNonNull(loadCache), Objects.requireNonNull(version));
     }
 
     /**
@@ -197,6 +280,31 @@ public final class DirectorySource {
      * @throws IOException if I/O error occurred
      */
     public void load(@NotNull Consumer<LoadedMessageMap> consumer) throws IOException {
+        this.load0(consumer, NOT_CANCELLED);
+    }
+
+    private void load0(@NotNull Consumer<LoadedMessageMap> consumer, @NotNull BooleanSupplier cancelled) throws IOException {
+        Loader<Path, Map<String, String>> loader = this.checkConfigured();
+        Objects.requireNonNull(consumer);
+
+        LoadMetrics metrics = this.createLoadMetrics();
+        Map<Path, Locale> file2LocaleMap = this.resolveFiles(this.scan());
+
+        if (metrics != null) {
+            metrics.scanned(file2LocaleMap.size());
+        }
+
+        for (Map.Entry<Path, Locale> entry : file2LocaleMap.entrySet()) {
+            checkCancelled(cancelled);
+            consumer.accept(this.loadFile(loader, entry.getKey(), entry.getValue(), metrics));
+        }
+
+        if (metrics != null) {
+            metrics.completed();
+        }
+    }
+
+    @NotNull Loader<Path, Map<String, String>> checkConfigured() {
         if (this.fileExtension == null) {
             throw new IllegalStateException("localeParser is not set");
         }
@@ -205,13 +313,35 @@ public final class DirectorySource {
             throw new IllegalStateException("loader is not set");
         }
 
-        Objects.requireNonNull(consumer);
+        return this.loader;
+    }
 
-        Map<Path, Locale> file2LocaleMap = collectPath(this.directory, this.fileExtension);
+    @NotNull Path directory() {
+        return this.directory;
+    }
+
+    @Nullable FileExtension fileExtension() {
+        return this.fileExtension;
+    }
+
+    @NotNull Map<Path, Locale> scan() throws IOException {
+        DirectoryScanEvent scanEvent = new DirectoryScanEvent();
+        scanEvent.begin();
+        Map<Path, Locale> file2LocaleMap = collectPath(this.directory, Objects.requireNonNull(this.fileExtension));
+        if (scanEvent.shouldCommit()) {
+            scanEvent.directory = this.directory.toString();
+            scanEvent.files = file2LocaleMap.size();
+            scanEvent.commit();
+        }
+        return file2LocaleMap;
+    }
+
+    @NotNull Map<Path, Locale> resolveFiles(@NotNull Map<Path, Locale> scanned) throws IOException {
+        Map<Path, Locale> file2LocaleMap = new HashMap<>(scanned);
 
         if (file2LocaleMap.isEmpty()) {
             if (this.defaultLocales.isEmpty()) {
-                return;
+                return file2LocaleMap;
             } else {
                 Files.createDirectories(this.directory); // At this time, the directory may not exist.
             }
@@ -219,13 +349,73 @@ public final class DirectorySource {
 
         for (Locale locale : this.defaultLocales) {
             Objects.requireNonNull(locale);
-            Path filepath = this.directory.resolve(this.fileExtension.toFilename(locale));
+            Path filepath = this.directory.resolve(Objects.requireNonNull(this.fileExtension).toFilename(locale));
             file2LocaleMap.putIfAbsent(filepath, locale);
         }
 
-        for (Map.Entry<Path, Locale> entry : file2LocaleMap.entrySet()) {
-            consumer.accept(this.loader.load(new LoadContext(entry.getKey(), entry.getValue())));
+        if (this.loadCache != null) {
+            this.loadCache.retainAll(file2LocaleMap.keySet());
+        }
+
+        return file2LocaleMap;
+    }
+
+    @Nullable LoadMetrics createLoadMetrics() {
+        return this.loadListener != null ? new LoadMetrics(this.loadListener, this.directory) : null;
+    }
+
+    @NotNull LoadedMessageMap loadFile(@NotNull Path filepath, @NotNull Locale locale, @Nullable LoadMetrics metrics) throws IOException {
+        return this.loadFile(this.checkConfigured(), filepath, locale, metrics);
+    }
+
+    private @NotNull LoadedMessageMap loadFile(@NotNull Loader<Path, Map<String, String>> loader, @NotNull Path filepath,
+                                               @NotNull Locale locale, @Nullable LoadMetrics metrics) throws IOException {
+        LoadCache.Fingerprint fingerprint = null;
+        if (this.loadCache != null) {
+            fingerprint = this.loadCache.fingerprint(filepath);
+            LoadedMessageMap cached = this.loadCache.get(filepath, locale, fingerprint, this.cacheVersion);
+            if (cached != null) {
+                if (metrics != null) {
+                    metrics.fileLoaded(new LoadListener.FileStats(filepath, locale, true, 0, 0, 0, 0, 0, 0));
+                }
+                return cached;
+            }
+        }
+
+        long sizeBefore = metrics != null ? fileSize(filepath) : 0;
+        long parseStart = metrics != null ? System.nanoTime() : 0;
+        LoadedMessageMap loaded = parse(loader, filepath, locale);
+        long processStart = metrics != null ? System.nanoTime() : 0;
+        int entries = loaded.messageMap().size();
+
+        MessagePipeline.Processed processed = this.pipeline.process(loaded, true);
+
+        if (metrics != null) {
+            metrics.fileLoaded(new LoadListener.FileStats(
+                filepath, locale, false,
+                sizeBefore, processStart - parseStart, System.nanoTime() - processStart,
+                entries, processed.appendedEntries(), Math.max(0, fileSize(filepath) - sizeBefore)
+            ));
+        }
+
+        return fingerprint != null ?
+            this.loadCache.put(processed.loaded(), fingerprint, this.cacheVersion) :
+            processed.loaded();
+    }
+
+    private static @NotNull LoadedMessageMap parse(@NotNull Loader<Path, Map<String, String>> loader,
+                                                   @NotNull Path filepath, @NotNull Locale locale) throws IOException {
+        FileParseEvent event = new FileParseEvent();
+        event.begin();
+        LoadedMessageMap loaded = new LoadedMessageMap(filepath, locale, loader.load(filepath));
+        if (event.shouldCommit()) {
+            event.path = filepath.toString();
+            event.locale = locale.toString();
+            event.bytes = fileSize(filepath);
+            event.entries = loaded.messageMap().size();
+            event.commit();
         }
+        return loaded;
     }
 
     /**
@@ -236,9 +426,13 @@ public final class DirectorySource {
      * @throws IOException if I/O error occurred
      */
     public @NotNull MiniMessageTranslationStore loadAsMiniMessageTranslationStore(@NotNull Key key) throws IOException {
+        return this.loadAsMiniMessageTranslationStore0(key, NOT_CANCELLED);
+    }
+
+    private @NotNull MiniMessageTranslationStore loadAsMiniMessageTranslationStore0(@NotNull Key key, @NotNull BooleanSupplier cancelled) throws IOException {
         MiniMessageTranslationStore store = MiniMessageTranslationStore.create(key);
 
-        this.load(source -> store.registerAll(source.locale(), source.messageMap()));
+        this.load0(source -> store.registerAll(source.locale(), source.messageMap()), cancelled);
 
         if (this.primaryLocale != null) {
             store.defaultLocale(this.primaryLocale);
@@ -247,6 +441,165 @@ public final class DirectorySource {
         return store;
     }
 
+    /**
+     * Performs loading and returns the loaded message map as {@link MiniMessageTranslationStore} wrapped by {@link InstrumentedTranslator}.
+     * <p>
+     * The loaded keys and {@link Locale}s are given as known ones, so fallbacks and misses are counted per {@link Locale} of the files,
+     * although {@link MiniMessageTranslationStore} does not expose its {@link Locale}s.
+     *
+     * @param key the {@link Key} of the {@link MiniMessageTranslationStore}
+     * @return the loaded {@link MiniMessageTranslationStore} wrapped by {@link InstrumentedTranslator}
+     * @throws IOException if I/O error occurred
+     */
+    public @NotNull InstrumentedTranslator loadAsInstrumentedTranslator(@NotNull Key key) throws IOException {
+        MiniMessageTranslationStore store = MiniMessageTranslationStore.create(key);
+        Set<String> keys = new HashSet<>();
+        Set<Locale> locales = new HashSet<>();
+
+        this.load0(source -> {
+            store.registerAll(source.locale(), source.messageMap());
+            keys.addAll(source.messageMap().keySet());
+            locales.add(source.locale());
+        }, NOT_CANCELLED);
+
+        if (this.primaryLocale != null) {
+            store.defaultLocale(this.primaryLocale);
+        }
+
+        return InstrumentedTranslator.wrap(store, keys, locales, InstrumentedTranslator.DEFAULT_HOT_KEY_CAPACITY);
+    }
+
+    /**
+     * Performs loading and returns the loaded message map as {@link MiniMessageTranslationStore} with its {@link MessageFootprint}.
+     * <p>
+     * The footprint is estimated from the message maps of this loading, so files are loaded and processed only once.
+     *
+     * @param key the {@link Key} of the {@link MiniMessageTranslationStore}
+     * @return the {@link LoadedStore} of the loaded {@link MiniMessageTranslationStore} and its {@link MessageFootprint}
+     * @throws IOException if I/O error occurred
+     */
+    public @NotNull LoadedStore loadWithFootprint(@NotNull Key key) throws IOException {
+        MiniMessageTranslationStore store = MiniMessageTranslationStore.create(key);
+        Map<Locale, Map<String, String>> messages = new LinkedHashMap<>();
+
+        this.load0(source -> {
+            store.registerAll(source.locale(), source.messageMap());
+            messages.computeIfAbsent(source.locale(), ignored -> new HashMap<>()).putAll(source.messageMap());
+        }, NOT_CANCELLED);
+
+        if (this.primaryLocale != null) {
+            store.defaultLocale(this.primaryLocale);
+        }
+
+        return new LoadedStore(store, MessageFootprint.estimate(messages));
+    }
+
+    /**
+     * Performs loading and returns the loaded message map as {@link IndexedMessageStore}.
+     * <p>
+     * The returned store is not registered to {@link GlobalTranslator}.
+     * If {@link LoadCache} is not set, a new one is used, so {@link IndexedMessageStore#reload(String)} skips parsing files that have not been changed.
+     *
+     * @param key the {@link Key} of the {@link IndexedMessageStore}
+     * @return the loaded message map as {@link IndexedMessageStore}
+     * @throws IOException if I/O error occurred
+     */
+    public @NotNull IndexedMessageStore loadAsIndexedMessageStore(@NotNull Key key) throws IOException {
+        DirectorySource source = this.loadCache != null ? this : this.loadCache(LoadCache.create());
+        Map<Locale, Map<String, String>> messages = new LinkedHashMap<>();
+        source.load(loaded -> messages.computeIfAbsent(loaded.locale(), ignored -> new LinkedHashMap<>()).putAll(loaded.messageMap()));
+        return new IndexedMessageStore(source, key, this.primaryLocale, messages);
+    }
+
+    /**
+     * Performs loading and returns the loaded message map as {@link ColumnarTranslator}.
+     * <p>
+     * Unlike {@link #loadAsMiniMessageTranslationStore(Key)}, all {@link Locale}s share a single key index.
+     *
+     * @param key the {@link Key} of the {@link ColumnarTranslator}
+     * @return the loaded message map as {@link ColumnarTranslator}
+     * @throws IOException if I/O error occurred
+     */
+    public @NotNull ColumnarTranslator loadAsColumnarTranslator(@NotNull Key key) throws IOException {
+        ColumnarTranslator.Builder builder = ColumnarTranslator.builder(key);
+
+        this.load(source -> builder.register(source.locale(), source.messageMap()));
+
+        if (this.primaryLocale != null) {
+            builder.defaultLocale(this.primaryLocale);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Performs loading and returns the loaded message map as {@link EvictingTranslator}.
+     * <p>
+     * The primary {@link Locale} is pinned if set. An evicted {@link Locale} is parsed again from its file and processed
+     * by the {@link MessagePipeline} without writing files, so missing messages are not appended again.
+     * It is loaded on {@link ForkJoinPool#commonPool()}, and renders fall back to other {@link Locale}s until it is loaded.
+     * {@link LoadCache} is not used for reloading, since it would keep the messages on the heap.
+     *
+     * @param key          the {@link Key} of the {@link EvictingTranslator}
+     * @param memoryBudget the memory budget of the resident messages in bytes
+     * @param idleTimeout  the duration after which the messages of an unused {@link Locale} are evicted
+     * @return the loaded message map as {@link EvictingTranslator}
+     * @throws IOException if I/O error occurred
+     */
+    public @NotNull EvictingTranslator loadAsEvictingTranslator(@NotNull Key key, long memoryBudget, @NotNull Duration idleTimeout) throws IOException {
+        return this.loadAsEvictingTranslator(key, memoryBudget, idleTimeout, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Performs loading and returns the loaded message map as {@link EvictingTranslator} that loads evicted {@link Locale}s on the {@link Executor}.
+     *
+     * @param key          the {@link Key} of the {@link EvictingTranslator}
+     * @param memoryBudget the memory budget of the resident messages in bytes
+     * @param idleTimeout  the duration after which the messages of an unused {@link Locale} are evicted
+     * @param loadExecutor the {@link Executor} to load evicted {@link Locale}s, or {@code Runnable::run} to load them on the rendering thread
+     * @return the loaded message map as {@link EvictingTranslator}
+     * @throws IOException if I/O error occurred
+     * @see #loadAsEvictingTranslator(Key, long, Duration)
+     * @see EvictingTranslator.Builder#loadExecutor(Executor)
+     */
+    public @NotNull EvictingTranslator loadAsEvictingTranslator(@NotNull Key key, long memoryBudget, @NotNull Duration idleTimeout,
+                                                                @NotNull Executor loadExecutor) throws IOException {
+        DirectorySource source = this.loadCache == null ? this :
+            new DirectorySource(this.directory, this.defaultLocales, this.primaryLocale, this.fileExtension, this.loader, this.pipeline, this.loadListener, null, null);
+        Map<Locale, Path> files = new HashMap<>();
+        EvictingTranslator.Builder builder = EvictingTranslator.builder(key, locale -> {
+            Path filepath = files.get(locale);
+            return filepath != null ? source.pipeline.processInMemory(parse(Objects.requireNonNull(source.loader), filepath, locale)).messageMap() : null;
+        }).memoryBudget(memoryBudget).idleTimeout(idleTimeout).loadExecutor(loadExecutor);
+
+        source.load(loaded -> {
+            files.put(loaded.locale(), loaded.filepath());
+            builder.register(loaded.locale(), loaded.messageMap());
+        });
+
+        if (this.primaryLocale != null) {
+            builder.pinnedLocale(this.primaryLocale);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Performs loading, writes the loaded message map to the file, and returns the {@link MappedTranslator} that reads the file.
+     * <p>
+     * The loaded messages are held on the heap only while writing the file.
+     *
+     * @param key  the {@link Key} of the {@link MappedTranslator}
+     * @param file the path of the file to write messages
+     * @return the {@link MappedTranslator} that reads the written file
+     * @throws IOException if I/O error occurred
+     * @see MappedTranslator#write(ColumnarTranslator, Path)
+     */
+    public @NotNull MappedTranslator loadAsMappedTranslator(@NotNull Key key, @NotNull Path file) throws IOException {
+        MappedTranslator.write(this.loadAsColumnarTranslator(key), file);
+        return MappedTranslator.open(key, file);
+    }
+
     /**
      * Performs loading and registers the loaded message map as {@link MiniMessageTranslationStore} to the {@link GlobalTranslator}.
      *
@@ -258,6 +611,150 @@ public final class DirectorySource {
         GlobalTranslator.translator().addSource(store);
     }
 
+    /**
+     * Performs loading and registers the loaded message map as {@link MiniMessageTranslationStore} to the {@link TranslatorRegistry} with its keys.
+     * <p>
+     * The returned store can be passed to {@link TranslatorRegistry#unregister(net.kyori.adventure.translation.Translator)} to remove it.
+     *
+     * @param key      the {@link Key} of the {@link MiniMessageTranslationStore}
+     * @param registry the {@link TranslatorRegistry} to register the store, such as {@link TranslatorRegistry#shared()}
+     * @return the registered {@link MiniMessageTranslationStore}
+     * @throws IOException if I/O error occurred
+     */
+    public @NotNull MiniMessageTranslationStore loadAndRegister(@NotNull Key key, @NotNull TranslatorRegistry registry) throws IOException {
+        Objects.requireNonNull(registry);
+        MiniMessageTranslationStore store = MiniMessageTranslationStore.create(key);
+        Set<String> keys = new HashSet<>();
+
+        this.load(loaded -> {
+            store.registerAll(loaded.locale(), loaded.messageMap());
+            keys.addAll(loaded.messageMap().keySet());
+        });
+
+        if (this.primaryLocale != null) {
+            store.defaultLocale(this.primaryLocale);
+        }
+
+        registry.register(store, keys);
+        return store;
+    }
+
+    /**
+     * Performs loading and registers a {@link ReloadableTranslator} that holds the loaded {@link MiniMessageTranslationStore} to the {@link GlobalTranslator}.
+     * <p>
+     * Unlike {@link #loadAndRegister(Key)}, reloading by {@link ReloadableTranslator#reload()} or {@link ReloadableTranslator#reloadAsync(Executor)}
+     * swaps the store in place instead of registering a new one.
+     * If {@link LoadCache} is not set, a new one is used, so reloading skips files that have not been changed.
+     *
+     * @param key the {@link Key} of the {@link ReloadableTranslator} and {@link MiniMessageTranslationStore}s
+     * @return the registered {@link ReloadableTranslator}
+     * @throws IOException if I/O error occurred
+     */
+    public @NotNull ReloadableTranslator loadAndRegisterReloadable(@NotNull Key key) throws IOException {
+        DirectorySource source = this.loadCache != null ? this : this.loadCache(LoadCache.create());
+        ReloadableTranslator translator = ReloadableTranslator.create(key, source::loadAsMiniMessageTranslationStore);
+        translator.reload();
+        translator.register();
+        return translator;
+    }
+
+    /**
+     * Performs loading on the given {@link Executor} and returns a {@link CompletableFuture} of the loaded {@link MiniMessageTranslationStore}.
+     * <p>
+     * Cancelling the returned {@link CompletableFuture} or completing it by {@link CompletableFuture#orTimeout} stops loading before the next file.
+     *
+     * @param key      the {@link Key} of the {@link MiniMessageTranslationStore}
+     * @param executor the {@link Executor} to perform loading
+     * @return a {@link CompletableFuture} of the loaded {@link MiniMessageTranslationStore}
+     * @see #loadAsMiniMessageTranslationStore(Key)
+     */
+    public @NotNull CompletableFuture<MiniMessageTranslationStore> loadAsync(@NotNull Key key, @NotNull Executor executor) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(executor);
+
+        CompletableFuture<MiniMessageTranslationStore> future = new CompletableFuture<>();
+
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return; // cancelled before starting
+                }
+
+                try {
+                    future.complete(this.loadAsMiniMessageTranslationStore0(key, future::isDone));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+
+        return future;
+    }
+
+    /**
+     * Performs loading on the {@link LoadScheduler} and returns a {@link CompletableFuture} of the loaded {@link MiniMessageTranslationStore}.
+     * <p>
+     * Cancelling the returned {@link CompletableFuture} stops loading before the next file.
+     *
+     * @param key       the {@link Key} of the {@link MiniMessageTranslationStore}
+     * @param scheduler the {@link LoadScheduler} to perform loading, such as {@link LoadScheduler#shared()}
+     * @return a {@link CompletableFuture} of the loaded {@link MiniMessageTranslationStore}
+     * @see #loadAsMiniMessageTranslationStore(Key)
+     */
+    public @NotNull CompletableFuture<MiniMessageTranslationStore> loadAsync(@NotNull Key key, @NotNull LoadScheduler scheduler) {
+        MiniMessageTranslationStore store = MiniMessageTranslationStore.create(key);
+        CompletableFuture<Void> loading = scheduler.submit(this, source -> store.registerAll(source.locale(), source.messageMap()));
+        CompletableFuture<MiniMessageTranslationStore> future = loading.thenApply(ignored -> {
+            if (this.primaryLocale != null) {
+                store.defaultLocale(this.primaryLocale);
+            }
+            return store;
+        });
+
+        future.whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                loading.cancel(false);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Performs loading on the {@code loadExecutor}, and registers the loaded {@link MiniMessageTranslationStore}
+     * to the {@link GlobalTranslator} on the {@code registerExecutor}.
+     * <p>
+     * Cancelling the returned {@link CompletableFuture} or completing it by {@link CompletableFuture#orTimeout}
+     * stops loading before the next file, and the store will not be registered.
+     *
+     * @param key              the {@link Key} of the {@link MiniMessageTranslationStore}
+     * @param loadExecutor     the {@link Executor} to perform loading
+     * @param registerExecutor the {@link Executor} to register the loaded {@link MiniMessageTranslationStore}, such as the main thread
+     * @return a {@link CompletableFuture} of the registered {@link MiniMessageTranslationStore}
+     * @see #loadAndRegister(Key)
+     */
+    public @NotNull CompletableFuture<MiniMessageTranslationStore> loadAndRegisterAsync(@NotNull Key key,
+                                                                                        @NotNull Executor loadExecutor,
+                                                                                        @NotNull Executor registerExecutor) {
+        Objects.requireNonNull(registerExecutor);
+
+        CompletableFuture<MiniMessageTranslationStore> loading = this.loadAsync(key, loadExecutor);
+        CompletableFuture<MiniMessageTranslationStore> registering = loading.thenApplyAsync(store -> {
+            GlobalTranslator.translator().addSource(store);
+            return store;
+        }, registerExecutor);
+
+        registering.whenComplete((store, throwable) -> {
+            if (throwable != null) {
+                loading.cancel(false);
+            }
+        });
+
+        return registering;
+    }
+
     private static @NotNull Map<Path, Locale> collectPath(@NotNull Path directory,
                                                           @NotNull FileExtension fileExtension) throws IOException {
         if (!Files.isDirectory(directory)) {
@@ -278,6 +775,62 @@ public final class DirectorySource {
         return fileLocaleMap;
     }
 
-    private record LoadContext(@NotNull Path filepath, @NotNull Locale locale) {
+    private static void checkCancelled(@NotNull BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            throw new CancellationException("Loading has been cancelled.");
+        }
+    }
+
+    static long fileSize(@NotNull Path filepath) throws IOException {
+        return Files.isRegularFile(filepath) ? Files.size(filepath) : 0;
+    }
+
+    static final class LoadMetrics { // synchronized, since LoadScheduler may load files of a source concurrently
+
+        private final LoadListener listener;
+        private final Path directory;
+        private final long start = System.nanoTime();
+        private long scanNanos;
+        private int files;
+        private int cachedFiles;
+        private long bytesRead;
+        private long parseNanos;
+        private long processNanos;
+        private int loadedEntries;
+        private int appendedEntries;
+        private long appendedBytes;
+
+        private LoadMetrics(@NotNull LoadListener listener, @NotNull Path directory) {
+            this.listener = listener;
+            this.directory = directory;
+        }
+
+        synchronized void scanned(int fileCount) {
+            this.scanNanos = System.nanoTime() - this.start;
+            this.listener.onDirectoryScanned(this.directory, fileCount, this.scanNanos);
+        }
+
+        private synchronized void fileLoaded(@NotNull LoadListener.FileStats stats) {
+            this.listener.onFileLoaded(stats);
+            this.files++;
+            if (stats.cached()) {
+                this.cachedFiles++;
+            }
+            this.bytesRead += stats.bytesRead();
+            this.parseNanos += stats.parseNanos();
+            this.processNanos += stats.processNanos();
+            this.loadedEntries += stats.loadedEntries();
+            this.appendedEntries += stats.appendedEntries();
+            this.appendedBytes += stats.appendedBytes();
+        }
+
+        synchronized void completed() {
+            this.listener.onLoadCompleted(new LoadListener.Totals(
+                this.directory, this.files, this.cachedFiles, this.scanNanos,
+                this.bytesRead, this.parseNanos, this.processNanos,
+                this.loadedEntries, this.appendedEntries, this.appendedBytes,
+                System.nanoTime() - this.start
+            ));
+        }
     }
 }
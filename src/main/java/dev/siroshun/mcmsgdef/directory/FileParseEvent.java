@@ -0,0 +1,35 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event emitted when {@link DirectorySource} parses a message file.
+ * <p>
+ * This event is disabled by default.
+ */
+@Name("dev.siroshun.mcmsgdef.FileParse")
+@Label("File Parse")
+@Description("Parsing a message file")
+@Category("mcmsgdef")
+@Enabled(false)
+final class FileParseEvent extends Event {
+
+    @Label("Path")
+    String path;
+
+    @Label("Locale")
+    String locale;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Entries")
+    int entries;
+}
@@ -0,0 +1,154 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import dev.siroshun.mcmsgdef.translation.ColumnarTranslator;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslator;
+import net.kyori.adventure.util.TriState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link net.kyori.adventure.translation.Translator} of messages loaded from a {@link DirectorySource}, with a {@link KeyPrefixIndex} of its keys.
+ * <p>
+ * {@link #reload(String)} re-applies only the messages under a namespace, and the messages outside the namespace are left as they are.
+ * The messages are held in a {@link ColumnarTranslator} that is replaced at once on reloading,
+ * so renders see either all old or all new messages of the namespace, and never see a key missing while it is replaced.
+ */
+public final class IndexedMessageStore extends MiniMessageTranslator {
+
+    private final DirectorySource source;
+    private final Key name;
+    private final @Nullable Locale defaultLocale;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile State state;
+
+    IndexedMessageStore(@NotNull DirectorySource source, @NotNull Key name, @Nullable Locale defaultLocale,
+                        @NotNull Map<Locale, Map<String, String>> messages) {
+        this.source = source;
+        this.name = name;
+        this.defaultLocale = defaultLocale;
+
+        Set<String> keys = new HashSet<>();
+        for (Map<String, String> messageMap : messages.values()) {
+            keys.addAll(messageMap.keySet());
+        }
+        this.state = this.createState(messages, KeyPrefixIndex.create(keys));
+    }
+
+    @Override
+    public @NotNull Key name() {
+        return this.name;
+    }
+
+    @Override
+    public @NotNull TriState hasAnyTranslations() {
+        return this.state.translator.hasAnyTranslations();
+    }
+
+    @Override
+    public boolean canTranslate(@NotNull String key, @NotNull Locale locale) {
+        return this.state.translator.canTranslate(key, locale);
+    }
+
+    @Override
+    protected @Nullable String getMiniMessageString(@NotNull String key, @NotNull Locale locale) {
+        return this.state.translator.message(key, locale);
+    }
+
+    /**
+     * Checks if this store has the message of the key for exactly the given {@link Locale}, without fallbacks.
+     *
+     * @param key    the key of the message
+     * @param locale the {@link Locale} to check
+     * @return {@code true} if this store has the message for the {@link Locale}, otherwise {@code false}
+     */
+    public boolean contains(@NotNull String key, @NotNull Locale locale) {
+        return this.state.translator.contains(key, locale);
+    }
+
+    /**
+     * Gets the {@link KeyPrefixIndex} of the keys in the store.
+     *
+     * @return the {@link KeyPrefixIndex} of the keys in the store
+     */
+    public @NotNull KeyPrefixIndex index() {
+        return this.state.index;
+    }
+
+    /**
+     * Loads the whole {@link DirectorySource} again and replaces the messages under the namespace.
+     * <p>
+     * All files are loaded and processed again, including appending missing messages,
+     * except for files that the {@link LoadCache} of the source finds unchanged.
+     * Keys under the namespace that no longer exist in the files are removed.
+     *
+     * @param namespace the namespace of keys to reload
+     * @return the number of reloaded messages
+     * @throws IOException if I/O error occurred
+     */
+    public int reload(@NotNull String namespace) throws IOException {
+        this.reloadLock.lock();
+        try {
+            State current = this.state;
+            String prefix = KeyPrefixIndex.toPrefix(namespace);
+            Map<Locale, Map<String, String>> reloaded = new LinkedHashMap<>();
+            Set<String> keys = new HashSet<>();
+
+            this.source.load(loaded -> {
+                Map<String, String> entries = reloaded.computeIfAbsent(loaded.locale(), ignored -> new LinkedHashMap<>());
+                for (Map.Entry<String, String> entry : loaded.messageMap().entrySet()) {
+                    if (entry.getKey().startsWith(prefix)) {
+                        entries.put(entry.getKey(), entry.getValue());
+                        keys.add(entry.getKey());
+                    }
+                }
+            });
+
+            Map<Locale, Map<String, String>> messages = new LinkedHashMap<>();
+            for (Map.Entry<Locale, Map<String, String>> entry : current.messages.entrySet()) {
+                Map<String, String> messageMap = new LinkedHashMap<>(entry.getValue());
+                for (String key : current.index.keysUnder(namespace)) {
+                    messageMap.remove(key);
+                }
+                messages.put(entry.getKey(), messageMap);
+            }
+
+            int count = 0;
+            for (Map.Entry<Locale, Map<String, String>> entry : reloaded.entrySet()) {
+                messages.computeIfAbsent(entry.getKey(), ignored -> new LinkedHashMap<>()).putAll(entry.getValue());
+                count += entry.getValue().size();
+            }
+
+            this.state = this.createState(messages, current.index.replace(namespace, keys));
+            return count;
+        } finally {
+            this.reloadLock.unlock();
+        }
+    }
+
+    private @NotNull State createState(@NotNull Map<Locale, Map<String, String>> messages, @NotNull KeyPrefixIndex index) {
+        ColumnarTranslator.Builder builder = ColumnarTranslator.builder(this.name);
+        Map<Locale, Map<String, String>> copy = new LinkedHashMap<>(messages.size() * 2);
+        for (Map.Entry<Locale, Map<String, String>> entry : messages.entrySet()) {
+            builder.register(entry.getKey(), entry.getValue());
+            copy.put(entry.getKey(), Collections.unmodifiableMap(entry.getValue()));
+        }
+        if (this.defaultLocale != null) {
+            builder.defaultLocale(this.defaultLocale);
+        }
+        return new State(Collections.unmodifiableMap(copy), builder.build(), index);
+    }
+
+    private record State(@NotNull Map<Locale, Map<String, String>> messages, @NotNull ColumnarTranslator translator,
+                         @NotNull KeyPrefixIndex index) {
+    }
+}
@@ -0,0 +1,148 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * An immutable index of message keys that answers prefix queries with binary searches over a sorted array.
+ * <p>
+ * Keys are treated as hierarchical names separated by {@code .}, such as {@code shop.gui.title}.
+ * The keys under the namespace {@code shop} are the keys that start with {@code shop.}.
+ */
+public final class KeyPrefixIndex {
+
+    /**
+     * Creates a {@link KeyPrefixIndex} of the given keys.
+     * <p>
+     * Duplicate keys are indexed once.
+     *
+     * @param keys the keys to index
+     * @return a {@link KeyPrefixIndex} of the given keys
+     */
+    @Contract("_ -> new")
+    public static @NotNull KeyPrefixIndex create(@NotNull Collection<String> keys) {
+        return new KeyPrefixIndex(new TreeSet<>(keys).toArray(String[]::new));
+    }
+
+    private final String[] keys;
+    private final List<String> keyList;
+
+    private KeyPrefixIndex(@NotNull String[] keys) {
+        this.keys = keys;
+        this.keyList = Collections.unmodifiableList(Arrays.asList(keys));
+    }
+
+    /**
+     * Gets all indexed keys in the sorted order.
+     *
+     * @return all indexed keys
+     */
+    public @NotNull @Unmodifiable List<String> keys() {
+        return this.keyList;
+    }
+
+    /**
+     * Gets the keys under the namespace in the sorted order.
+     * <p>
+     * The namespace may end with {@code .}, so {@code shop} and {@code shop.} are the same namespace.
+     * The key that equals the namespace itself is not included.
+     *
+     * @param namespace the namespace of keys
+     * @return the keys under the namespace
+     */
+    public @NotNull @Unmodifiable List<String> keysUnder(@NotNull String namespace) {
+        String prefix = toPrefix(namespace);
+        return this.keyList.subList(this.lowerBound(prefix), this.lowerBound(upperBound(prefix)));
+    }
+
+    /**
+     * Collects the entries of the keys under the namespace from the message map.
+     *
+     * @param messageMap the message map to collect entries from
+     * @param namespace  the namespace of keys
+     * @return a new map of the entries under the namespace
+     */
+    public @NotNull Map<String, String> entriesUnder(@NotNull Map<String, String> messageMap, @NotNull String namespace) {
+        List<String> keys = this.keysUnder(namespace);
+        Map<String, String> result = new LinkedHashMap<>(Math.max(16, keys.size() * 2));
+        for (String key : keys) {
+            String value = messageMap.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks if the key is indexed.
+     *
+     * @param key the key to check
+     * @return {@code true} if the key is indexed
+     */
+    public boolean contains(@NotNull String key) {
+        return Arrays.binarySearch(this.keys, key) >= 0;
+    }
+
+    /**
+     * Gets the number of indexed keys.
+     *
+     * @return the number of indexed keys
+     */
+    public int size() {
+        return this.keys.length;
+    }
+
+    /**
+     * Creates a {@link KeyPrefixIndex} whose keys under the namespace are replaced with the given keys.
+     *
+     * @param namespace the namespace of keys to replace
+     * @param keys      the new keys under the namespace
+     * @return a new {@link KeyPrefixIndex}
+     * @throws IllegalArgumentException if any of the new keys is not under the namespace
+     */
+    @Contract("_, _ -> new")
+    public @NotNull KeyPrefixIndex replace(@NotNull String namespace, @NotNull Collection<String> keys) {
+        String prefix = toPrefix(namespace);
+        String[] replacement = new TreeSet<>(keys).toArray(String[]::new);
+        for (String key : replacement) {
+            if (!key.startsWith(prefix)) {
+                throw new IllegalArgumentException("The key '" + key + "' is not under the namespace '" + namespace + "'");
+            }
+        }
+
+        int from = this.lowerBound(prefix);
+        int to = this.lowerBound(upperBound(prefix));
+        String[] result = new String[this.keys.length - (to - from) + replacement.length];
+        System.arraycopy(this.keys, 0, result, 0, from);
+        System.arraycopy(replacement, 0, result, from, replacement.length);
+        System.arraycopy(this.keys, to, result, from + replacement.length, this.keys.length - to);
+        return new KeyPrefixIndex(result);
+    }
+
+    private int lowerBound(@NotNull String key) {
+        int index = Arrays.binarySearch(this.keys, key);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    static @NotNull String toPrefix(@NotNull String namespace) {
+        if (namespace.isEmpty() || namespace.equals(".")) {
+            throw new IllegalArgumentException("namespace must not be empty");
+        }
+        return namespace.endsWith(".") ? namespace : namespace + ".";
+    }
+
+    private static @NotNull String upperBound(@NotNull String prefix) {
+        // prefix always ends with '.', so incrementing the last char gives the first string after all keys with the prefix.
+        return prefix.substring(0, prefix.length() - 1) + (char) ('.' + 1);
+    }
+}
@@ -0,0 +1,153 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * A cache of loaded and processed message maps, keyed by the fingerprint of each file.
+ * <p>
+ * The fingerprint consists of the size and the last modified time of the file, and optionally the CRC32C checksum of its content.
+ * When a {@link DirectorySource} with this cache loads a file whose fingerprint is unchanged since the last loading,
+ * the previously processed {@link LoadedMessageMap} is reused instead of parsing and processing the file again.
+ * <p>
+ * Without content hashes, a change that keeps both the size and the last modified time is not detected.
+ * <p>
+ * Entries are not tied to the {@link DirectorySource} instance, so a source rebuilt for reloading reuses them.
+ * A change of the loader or the pipeline is detected only through the version given to {@link DirectorySource#loadCache(LoadCache, Object)}.
+ * <p>
+ * Cached message maps are unmodifiable.
+ */
+public final class LoadCache {
+
+    /**
+     * Creates a new {@link LoadCache} that compares sizes and last modified times.
+     *
+     * @return a new {@link LoadCache}
+     */
+    @Contract(" -> new")
+    public static @NotNull LoadCache create() {
+        return new LoadCache(false);
+    }
+
+    /**
+     * Creates a new {@link LoadCache} that also compares checksums of file contents.
+     * <p>
+     * This detects all changes, but reads every file on each loading.
+     *
+     * @return a new {@link LoadCache}
+     */
+    @Contract(" -> new")
+    public static @NotNull LoadCache withContentHash() {
+        return new LoadCache(true);
+    }
+
+    private final boolean hashContent;
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+    private LoadCache(boolean hashContent) {
+        this.hashContent = hashContent;
+    }
+
+    /**
+     * Removes the cached message map of the file.
+     *
+     * @param filepath the filepath to invalidate
+     */
+    public void invalidate(@NotNull Path filepath) {
+        this.entries.remove(filepath);
+    }
+
+    /**
+     * Removes all cached message maps.
+     */
+    public void invalidateAll() {
+        this.entries.clear();
+    }
+
+    /**
+     * Gets the number of cached message maps.
+     *
+     * @return the number of cached message maps
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    @NotNull Fingerprint fingerprint(@NotNull Path filepath) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(filepath, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return Fingerprint.MISSING;
+        }
+
+        long hash = 0;
+        if (this.hashContent) {
+            CRC32C crc = new CRC32C();
+            byte[] buffer = new byte[8192];
+            try (InputStream in = Files.newInputStream(filepath)) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    crc.update(buffer, 0, read);
+                }
+            }
+            hash = crc.getValue();
+        }
+
+        return new Fingerprint(attributes.size(), attributes.lastModifiedTime(), hash);
+    }
+
+    @Nullable LoadedMessageMap get(@NotNull Path filepath, @NotNull Locale locale, @NotNull Fingerprint fingerprint, @Nullable Object version) {
+        Entry entry = this.entries.get(filepath);
+        if (entry == null || !Objects.equals(entry.version, version) ||
+            !entry.loaded.locale().equals(locale) || !entry.fingerprint.equals(fingerprint)) {
+            return null;
+        }
+        return entry.loaded;
+    }
+
+    @NotNull LoadedMessageMap put(@NotNull LoadedMessageMap processed, @NotNull Fingerprint before, @Nullable Object version) throws IOException {
+        LoadedMessageMap cached = new LoadedMessageMap(
+            processed.filepath(), processed.locale(),
+            Collections.unmodifiableMap(new LinkedHashMap<>(processed.messageMap()))
+        );
+
+        // If the file has been changed while loading, e.g. missing messages are appended, it is not cached this time.
+        // The next loading will parse it again, and cache it if it is no longer changed.
+        if (before.equals(this.fingerprint(processed.filepath()))) {
+            this.entries.put(processed.filepath(), new Entry(before, version, cached));
+        } else {
+            this.entries.remove(processed.filepath());
+        }
+
+        return cached;
+    }
+
+    void retainAll(@NotNull Collection<Path> filepaths) {
+        this.entries.keySet().retainAll(filepaths);
+    }
+
+    record Fingerprint(long size, @Nullable FileTime lastModifiedTime, long hash) {
+        private static final Fingerprint MISSING = new Fingerprint(-1, null, 0);
+    }
+
+    private record Entry(@NotNull Fingerprint fingerprint, @Nullable Object version, @NotNull LoadedMessageMap loaded) {
+    }
+}
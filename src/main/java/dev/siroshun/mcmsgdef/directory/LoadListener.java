@@ -0,0 +1,123 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * A listener that receives metrics of {@link DirectorySource#load(java.util.function.Consumer)}.
+ * <p>
+ * All methods are called on the thread that performs loading, or on worker threads of {@link LoadScheduler},
+ * but not concurrently for the same loading.
+ * When no listener is registered to {@link DirectorySource}, no metrics will be collected.
+ */
+public interface LoadListener {
+
+    /**
+     * Called when the directory has been scanned.
+     *
+     * @param directory the scanned directory
+     * @param fileCount the number of files to load, including files of default {@link Locale}s that do not exist yet
+     * @param scanNanos the time taken to scan the directory in nanoseconds
+     */
+    default void onDirectoryScanned(@NotNull Path directory, int fileCount, long scanNanos) {
+    }
+
+    /**
+     * Called when the file has been loaded and processed, or reused from {@link LoadCache}.
+     *
+     * @param stats the {@link FileStats} of the file
+     */
+    default void onFileLoaded(@NotNull FileStats stats) {
+    }
+
+    /**
+     * Called when all files have been loaded.
+     *
+     * @param totals the aggregated {@link Totals} of this loading
+     */
+    default void onLoadCompleted(@NotNull Totals totals) {
+    }
+
+    /**
+     * A record of metrics of a loaded file.
+     * <p>
+     * {@link #appendedEntries()} is counted by the processors created by {@link MessageProcessors}, such as
+     * {@link MessageProcessors#appendMissingMessages(java.util.Map)}, and {@link #appendedBytes()} is the growth of the file while processing.
+     * For a file reused from {@link LoadCache}, {@link #cached()} is {@code true} and all metrics are zero.
+     *
+     * @param filepath        the loaded filepath
+     * @param locale          the {@link Locale} of the file
+     * @param cached          whether the message map was reused from {@link LoadCache}
+     * @param bytesRead       the size of the file before loading
+     * @param parseNanos      the time taken by the message loader in nanoseconds
+     * @param processNanos    the time taken by message processors in nanoseconds
+     * @param loadedEntries   the number of entries loaded from the file
+     * @param appendedEntries the number of entries appended by message processors
+     * @param appendedBytes   the number of bytes written to the file by message processors
+     */
+    record FileStats(@NotNull Path filepath, @NotNull Locale locale, boolean cached,
+                     long bytesRead, long parseNanos, long processNanos,
+                     int loadedEntries, int appendedEntries, long appendedBytes) {
+
+        /**
+         * Creates a new {@link FileStats}.
+         *
+         * @param filepath        the loaded filepath
+         * @param locale          the {@link Locale} of the file
+         * @param cached          whether the message map was reused from {@link LoadCache}
+         * @param bytesRead       the size of the file before loading
+         * @param parseNanos      the time taken by the message loader in nanoseconds
+         * @param processNanos    the time taken by message processors in nanoseconds
+         * @param loadedEntries   the number of entries loaded from the file
+         * @param appendedEntries the number of entries appended by message processors
+         * @param appendedBytes   the number of bytes written to the file by message processors
+         */
+        public FileStats {
+            Objects.requireNonNull(filepath);
+            Objects.requireNonNull(locale);
+        }
+    }
+
+    /**
+     * A record of aggregated metrics of {@link DirectorySource#load(java.util.function.Consumer)}.
+     *
+     * @param directory       the loaded directory
+     * @param files           the number of loaded files, including {@code cachedFiles}
+     * @param cachedFiles     the number of files reused from {@link LoadCache}
+     * @param scanNanos       the time taken to scan the directory in nanoseconds
+     * @param bytesRead       the total size of loaded files
+     * @param parseNanos      the total time taken by the message loader in nanoseconds
+     * @param processNanos    the total time taken by message processors in nanoseconds
+     * @param loadedEntries   the total number of entries loaded from files
+     * @param appendedEntries the total number of entries appended by message processors
+     * @param appendedBytes   the total number of bytes written to files by message processors
+     * @param totalNanos      the time taken by the whole loading in nanoseconds, including consumers of loaded maps
+     */
+    record Totals(@NotNull Path directory, int files, int cachedFiles, long scanNanos,
+                  long bytesRead, long parseNanos, long processNanos,
+                  int loadedEntries, int appendedEntries, long appendedBytes,
+                  long totalNanos) {
+
+        /**
+         * Creates a new {@link Totals}.
+         *
+         * @param directory       the loaded directory
+         * @param files           the number of loaded files, including {@code cachedFiles}
+         * @param cachedFiles     the number of files reused from {@link LoadCache}
+         * @param scanNanos       the time taken to scan the directory in nanoseconds
+         * @param bytesRead       the total size of loaded files
+         * @param parseNanos      the total time taken by the message loader in nanoseconds
+         * @param processNanos    the total time taken by message processors in nanoseconds
+         * @param loadedEntries   the total number of entries loaded from files
+         * @param appendedEntries the total number of entries appended by message processors
+         * @param appendedBytes   the total number of bytes written to files by message processors
+         * @param totalNanos      the time taken by the whole loading in nanoseconds, including consumers of loaded maps
+         */
+        public Totals {
+            Objects.requireNonNull(directory);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import dev.siroshun.mcmsgdef.file.FileExtension;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A scheduler that loads files of many {@link DirectorySource}s in one overlapped phase.
+ * <p>
+ * Files are loaded on at most {@code parallelism} worker threads. Since a {@link dev.siroshun.mcmsgdef.file.Loader} reads
+ * and parses a file in one call, the parallelism is the single limit of both the files read and the files parsed at the same time.
+ * Idle worker threads are stopped after a while, so a scheduler that is no longer used does not keep threads alive.
+ * <p>
+ * Sources take turns file by file, so a source with many files does not delay the others.
+ * While loading is in progress, {@link DirectorySource}s pointing at the same directory with the same {@link FileExtension}
+ * share one directory scan.
+ * <p>
+ * {@link LoadListener}s of {@link DirectorySource}s are notified on worker threads, but not concurrently for the same submission.
+ * {@link LoadListener#onLoadCompleted(LoadListener.Totals)} is called only if all files of the source are loaded.
+ */
+public final class LoadScheduler implements AutoCloseable {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    private static volatile @Nullable LoadScheduler shared;
+
+    /**
+     * Gets the shared {@link LoadScheduler}.
+     * <p>
+     * The shared scheduler is created on first use with the parallelism of the available processors, up to 4,
+     * and its threads are daemon threads that stop after 30 seconds of idle time.
+     * It is shared by all users of this library loaded by the same class loader, and {@link #close()} does nothing for it.
+     *
+     * @return the shared {@link LoadScheduler}
+     */
+    public static @NotNull LoadScheduler shared() {
+        LoadScheduler scheduler = shared;
+        if (scheduler == null) {
+            synchronized (LoadScheduler.class) {
+                scheduler = shared;
+                if (scheduler == null) {
+                    scheduler = new LoadScheduler(Math.min(4, Runtime.getRuntime().availableProcessors()), true);
+                    shared = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * Creates a new {@link LoadScheduler}.
+     *
+     * @param parallelism the maximum number of files that are loaded at the same time, which is also the number of threads
+     * @return a new {@link LoadScheduler}
+     */
+    @Contract("_ -> new")
+    public static @NotNull LoadScheduler create(int parallelism) {
+        return new LoadScheduler(parallelism, false);
+    }
+
+    private final ThreadPoolExecutor workers;
+    private final boolean isShared;
+    private final ArrayDeque<Job> ready = new ArrayDeque<>(); // guarded by itself
+    private final Map<ScanKey, CompletableFuture<Map<Path, Locale>>> scans = new ConcurrentHashMap<>();
+    private final AtomicInteger activeJobs = new AtomicInteger();
+    private final AtomicInteger submittedSources = new AtomicInteger();
+    private final AtomicInteger completedSources = new AtomicInteger();
+    private final AtomicInteger totalFiles = new AtomicInteger();
+    private final AtomicInteger loadedFiles = new AtomicInteger();
+
+    private LoadScheduler(int parallelism, boolean isShared) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        this.isShared = isShared;
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "mcmsgdef-load-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.workers = new ThreadPoolExecutor(parallelism, parallelism, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        this.workers.allowCoreThreadTimeOut(true); // idle threads do not pin the class loader of the shared scheduler
+    }
+
+    /**
+     * Submits loading of the {@link DirectorySource}.
+     * <p>
+     * The consumer is called on worker threads, but not concurrently for the same submission.
+     * Cancelling the returned {@link CompletableFuture} stops loading before the next file of the source.
+     *
+     * @param source   the {@link DirectorySource} to load
+     * @param consumer the {@link Consumer} to consume loaded message maps
+     * @return a {@link CompletableFuture} that is completed when all files of the source are loaded
+     */
+    public @NotNull CompletableFuture<Void> submit(@NotNull DirectorySource source, @NotNull Consumer<LoadedMessageMap> consumer) {
+        source.checkConfigured();
+        Job job = new Job(source, Objects.requireNonNull(consumer));
+
+        this.activeJobs.incrementAndGet();
+        this.submittedSources.incrementAndGet();
+        // The returned future completes after the progress is updated, and cancelling it stops the job.
+        CompletableFuture<Void> result = job.future.whenComplete((ignored, throwable) -> this.onJobCompleted());
+        result.whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                job.future.cancel(false);
+            }
+        });
+
+        this.enqueue(job);
+        return result;
+    }
+
+    /**
+     * Gets the current {@link Progress} of all submitted sources.
+     *
+     * @return the current {@link Progress}
+     */
+    public @NotNull Progress progress() {
+        return new Progress(this.submittedSources.get(), this.completedSources.get(), this.totalFiles.get(), this.loadedFiles.get());
+    }
+
+    /**
+     * Stops the worker threads of this scheduler.
+     * <p>
+     * Loading that has not started will not be performed, and the {@link CompletableFuture}s of such submissions
+     * are completed exceptionally with {@link RejectedExecutionException}. This does nothing for {@link #shared()}.
+     */
+    @Override
+    public void close() {
+        if (this.isShared) {
+            return;
+        }
+
+        this.workers.shutdownNow();
+
+        List<Job> queued;
+        synchronized (this.ready) {
+            queued = List.copyOf(this.ready);
+            this.ready.clear();
+        }
+        for (Job job : queued) {
+            job.future.completeExceptionally(new RejectedExecutionException("LoadScheduler has been closed"));
+        }
+    }
+
+    private void enqueue(@NotNull Job job) {
+        synchronized (this.ready) {
+            this.ready.addLast(job);
+        }
+        try {
+            this.workers.execute(this::runNext);
+        } catch (RejectedExecutionException e) {
+            job.future.completeExceptionally(e);
+        }
+    }
+
+    private void runNext() {
+        Job job;
+        synchronized (this.ready) {
+            job = this.ready.pollFirst();
+        }
+
+        if (job == null || job.future.isDone()) {
+            return;
+        }
+
+        try {
+            if (job.files == null) {
+                this.scan(job);
+            } else {
+                this.loadNextFile(job);
+            }
+        } catch (Throwable e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            job.future.completeExceptionally(e);
+        }
+    }
+
+    private void scan(@NotNull Job job) throws Exception {
+        DirectorySource source = job.source;
+        ScanKey key = new ScanKey(source.directory().toAbsolutePath().normalize(), Objects.requireNonNull(source.fileExtension()));
+
+        CompletableFuture<Map<Path, Locale>> scan = new CompletableFuture<>();
+        CompletableFuture<Map<Path, Locale>> existing = this.scans.putIfAbsent(key, scan);
+        Map<Path, Locale> scanned;
+
+        if (existing != null) {
+            scanned = existing.join();
+        } else {
+            try {
+                scanned = Map.copyOf(source.scan());
+                scan.complete(scanned);
+            } catch (Throwable e) {
+                this.scans.remove(key, scan);
+                scan.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        Map<Path, Locale> files = source.resolveFiles(scanned);
+        this.totalFiles.addAndGet(files.size());
+
+        synchronized (job) {
+            if (job.metrics != null) {
+                job.metrics.scanned(files.size());
+            }
+            job.files = files.entrySet().iterator();
+            if (!job.files.hasNext()) {
+                this.complete(job);
+                return;
+            }
+        }
+        this.enqueue(job);
+    }
+
+    private void loadNextFile(@NotNull Job job) throws Exception {
+        Map.Entry<Path, Locale> file;
+        synchronized (job) {
+            Iterator<Map.Entry<Path, Locale>> files = Objects.requireNonNull(job.files);
+            file = files.next();
+            job.inFlight++;
+            if (files.hasNext()) {
+                this.enqueue(job); // lets other sources take a turn before the next file of this source
+            }
+        }
+
+        LoadedMessageMap loaded = job.source.loadFile(file.getKey(), file.getValue(), job.metrics);
+
+        synchronized (job) {
+            if (!job.future.isDone()) {
+                job.consumer.accept(loaded);
+            }
+            this.loadedFiles.incrementAndGet();
+            job.inFlight--;
+            if (job.inFlight == 0 && !Objects.requireNonNull(job.files).hasNext()) {
+                this.complete(job);
+            }
+        }
+    }
+
+    private void complete(@NotNull Job job) {
+        if (!job.future.isDone() && job.metrics != null) {
+            job.metrics.completed();
+        }
+        job.future.complete(null);
+    }
+
+    private void onJobCompleted() {
+        this.completedSources.incrementAndGet();
+        if (this.activeJobs.decrementAndGet() == 0) {
+            this.scans.clear(); // scans are shared only while loading is in progress, so that later loads see new files
+        }
+    }
+
+    /**
+     * The progress of sources submitted to a {@link LoadScheduler}.
+     *
+     * @param submittedSources the number of submitted sources
+     * @param completedSources the number of sources that have been loaded, failed or cancelled
+     * @param totalFiles       the number of files found in the scanned sources
+     * @param loadedFiles      the number of loaded files
+     */
+    public record Progress(int submittedSources, int completedSources, int totalFiles, int loadedFiles) {
+
+        /**
+         * Checks if all submitted sources are completed.
+         *
+         * @return {@code true} if all submitted sources are completed
+         */
+        public boolean isCompleted() {
+            return this.completedSources == this.submittedSources;
+        }
+    }
+
+    private record ScanKey(@NotNull Path directory, @NotNull FileExtension fileExtension) {
+    }
+
+    private static final class Job {
+
+        private final DirectorySource source;
+        private final Consumer<LoadedMessageMap> consumer;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final DirectorySource.@Nullable LoadMetrics metrics;
+        private @Nullable Iterator<Map.Entry<Path, Locale>> files; // guarded by this
+        private int inFlight; // guarded by this
+
+        private Job(@NotNull DirectorySource source, @NotNull Consumer<LoadedMessageMap> consumer) {
+            this.source = source;
+            this.consumer = consumer;
+            this.metrics = source.createLoadMetrics();
+        }
+    }
+}
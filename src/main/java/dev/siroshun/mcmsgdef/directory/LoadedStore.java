@@ -0,0 +1,28 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import dev.siroshun.mcmsgdef.translation.MessageFootprint;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslationStore;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A record of the {@link MiniMessageTranslationStore} loaded by {@link DirectorySource#loadWithFootprint(net.kyori.adventure.key.Key)}
+ * and the {@link MessageFootprint} of its messages.
+ *
+ * @param store     the loaded {@link MiniMessageTranslationStore}
+ * @param footprint the {@link MessageFootprint} of the loaded messages
+ */
+public record LoadedStore(@NotNull MiniMessageTranslationStore store, @NotNull MessageFootprint footprint) {
+
+    /**
+     * Creates a new {@link LoadedStore}.
+     *
+     * @param store     the loaded {@link MiniMessageTranslationStore}
+     * @param footprint the {@link MessageFootprint} of the loaded messages
+     */
+    public LoadedStore {
+        Objects.requireNonNull(store);
+        Objects.requireNonNull(footprint);
+    }
+}
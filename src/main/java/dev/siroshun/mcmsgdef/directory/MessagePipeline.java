@@ -0,0 +1,341 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import dev.siroshun.mcmsgdef.file.Loader;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable pipeline that processes loaded message maps.
+ * <p>
+ * Filters, transformers and validators are per-entry steps. All of them run in a single pass over the entries,
+ * in the order they were added. The entries are updated in place if the loaded map is modifiable,
+ * otherwise the map is copied once when the first entry is changed.
+ * <p>
+ * Processors are whole-map steps such as {@link MessageProcessors#appendMissingMessages(Map)},
+ * and run in the order they were added after the per-entry pass.
+ * Each processor has a name that identifies it in JFR events.
+ */
+public final class MessagePipeline {
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final MessagePipeline EMPTY = new MessagePipeline(new EntryStep[0], new Loader[0], new String[0]);
+
+    /**
+     * Returns an empty {@link MessagePipeline}.
+     *
+     * @return an empty {@link MessagePipeline}
+     */
+    public static @NotNull MessagePipeline create() {
+        return EMPTY;
+    }
+
+    private final EntryStep[] entrySteps;
+    private final Loader<LoadedMessageMap, Map<String, String>>[] processors;
+    private final String[] processorNames;
+
+    private MessagePipeline(@NotNull EntryStep @NotNull [] entrySteps, @NotNull Loader<LoadedMessageMap, Map<String, String>> @NotNull [] processors,
+                            @NotNull String @NotNull [] processorNames) {
+        this.entrySteps = entrySteps;
+        this.processors = processors;
+        this.processorNames = processorNames;
+    }
+
+    /**
+     * Adds a {@link Filter} that removes entries.
+     *
+     * @param filter a {@link Filter} that returns {@code false} for entries to remove
+     * @return a new {@link MessagePipeline} instance
+     */
+    @Contract("_ -> new")
+    public @NotNull MessagePipeline filter(@NotNull Filter filter) {
+        Objects.requireNonNull(filter);
+        return this.entryStep((locale, key, value) -> filter.test(locale, key, value) ? value : null);
+    }
+
+    /**
+     * Adds a {@link Transformer} that rewrites values.
+     *
+     * @param transformer a {@link Transformer} that rewrites values
+     * @return a new {@link MessagePipeline} instance
+     */
+    @Contract("_ -> new")
+    public @NotNull MessagePipeline transform(@NotNull Transformer transformer) {
+        Objects.requireNonNull(transformer);
+        return this.entryStep((locale, key, value) -> Objects.requireNonNull(transformer.transform(locale, key, value), "transformer returned null"));
+    }
+
+    /**
+     * Adds a {@link Validator} that checks entries.
+     *
+     * @param validator a {@link Validator} that checks entries
+     * @return a new {@link MessagePipeline} instance
+     */
+    @Contract("_ -> new")
+    public @NotNull MessagePipeline validate(@NotNull Validator validator) {
+        Objects.requireNonNull(validator);
+        return this.entryStep((locale, key, value) -> {
+            validator.validate(locale, key, value);
+            return value;
+        });
+    }
+
+    /**
+     * Adds a {@link Loader} that processes the whole message map after the per-entry pass.
+     * <p>
+     * Processors created by {@link MessageProcessors} are named {@code appendMissingMessages},
+     * and other processors are named {@code processor#N}, where {@code N} is the index of the processor.
+     *
+     * @param processor a {@link Loader} that processes loaded messages
+     * @return a new {@link MessagePipeline} instance
+     */
+    @Contract("_ -> new")
+    public @NotNull MessagePipeline processor(@NotNull Loader<LoadedMessageMap, Map<String, String>> processor) {
+        Objects.requireNonNull(processor);
+        return this.processor(processor instanceof AppendMissingMessages ? "appendMissingMessages" : "processor#" + this.processors.length, processor);
+    }
+
+    /**
+     * Adds a {@link Loader} that processes the whole message map after the per-entry pass, with the name that identifies it in JFR events.
+     *
+     * @param name      the name of the processor
+     * @param processor a {@link Loader} that processes loaded messages
+     * @return a new {@link MessagePipeline} instance
+     */
+    @Contract("_, _ -> new")
+    public @NotNull MessagePipeline processor(@NotNull String name, @NotNull Loader<LoadedMessageMap, Map<String, String>> processor) {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(processor);
+        Loader<LoadedMessageMap, Map<String, String>>[] newProcessors = Arrays.copyOf(this.processors, this.processors.length + 1);
+        newProcessors[this.processors.length] = processor;
+        String[] newNames = Arrays.copyOf(this.processorNames, this.processorNames.length + 1);
+        newNames[this.processorNames.length] = name;
+        return new MessagePipeline(this.entrySteps, newProcessors, newNames);
+    }
+
+    /**
+     * Checks if this pipeline has no steps.
+     *
+     * @return {@code true} if this pipeline has no steps
+     */
+    public boolean isEmpty() {
+        return this.entrySteps.length == 0 && this.processors.length == 0;
+    }
+
+    /**
+     * Processes the {@link LoadedMessageMap}.
+     *
+     * @param loaded the {@link LoadedMessageMap} to process
+     * @return the processed {@link LoadedMessageMap}, or the given one if nothing is changed
+     * @throws IOException if I/O error occurred
+     */
+    public @NotNull LoadedMessageMap process(@NotNull LoadedMessageMap loaded) throws IOException {
+        return this.process(loaded, true).loaded();
+    }
+
+    /**
+     * Processes the {@link LoadedMessageMap} without writing files.
+     * <p>
+     * Processors created by {@link MessageProcessors#appendMissingMessages(Map, dev.siroshun.mcmsgdef.file.MessageAppender)} and its overloads
+     * only add missing messages to the map. Other processors run as usual.
+     *
+     * @param loaded the {@link LoadedMessageMap} to process
+     * @return the processed {@link LoadedMessageMap}, or the given one if nothing is changed
+     * @throws IOException if I/O error occurred
+     */
+    @NotNull LoadedMessageMap processInMemory(@NotNull LoadedMessageMap loaded) throws IOException {
+        return this.process(loaded, false).loaded();
+    }
+
+    /**
+     * Processes the {@link LoadedMessageMap}, counting the messages appended by processors created by {@link MessageProcessors}.
+     *
+     * @param loaded the {@link LoadedMessageMap} to process
+     * @param write  whether processors created by {@link MessageProcessors} write missing messages to files
+     * @return the {@link Processed} result
+     * @throws IOException if I/O error occurred
+     */
+    @NotNull Processed process(@NotNull LoadedMessageMap loaded, boolean write) throws IOException {
+        int appendedEntries = 0;
+
+        if (this.entrySteps.length != 0) {
+            ProcessStageEvent event = new ProcessStageEvent();
+            event.begin();
+            int before = loaded.messageMap().size();
+            Map<String, String> map = this.processEntries(loaded.locale(), loaded.messageMap());
+
+            if (map != loaded.messageMap()) {
+                loaded = new LoadedMessageMap(loaded.filepath(), loaded.locale(), map);
+            }
+
+            commit(event, loaded, "entries", before);
+        }
+
+        for (int i = 0; i < this.processors.length; i++) {
+            Loader<LoadedMessageMap, Map<String, String>> processor = this.processors[i];
+            ProcessStageEvent event = new ProcessStageEvent();
+            event.begin();
+            int before = loaded.messageMap().size();
+            Map<String, String> processed;
+            if (processor instanceof AppendMissingMessages append) {
+                appendedEntries += append.append(loaded, write);
+                processed = loaded.messageMap();
+            } else {
+                processed = processor.load(loaded);
+            }
+
+            if (processed != loaded.messageMap()) {
+                loaded = new LoadedMessageMap(loaded.filepath(), loaded.locale(), processed);
+            }
+
+            commit(event, loaded, this.processorNames[i], before);
+        }
+
+        return new Processed(loaded, appendedEntries);
+    }
+
+    private static void commit(@NotNull ProcessStageEvent event, @NotNull LoadedMessageMap processed, @NotNull String stage, int before) {
+        if (event.shouldCommit()) {
+            event.path = processed.filepath().toString();
+            event.locale = processed.locale().toString();
+            event.stage = stage;
+            event.entriesBefore = before;
+            event.entriesAfter = processed.messageMap().size();
+            event.commit();
+        }
+    }
+
+    private @NotNull Map<String, String> processEntries(@NotNull Locale locale, @NotNull Map<String, String> map) throws IOException {
+        Map<String, String> copy = null;
+        Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<String, String> entry = iterator.next();
+            String key = entry.getKey();
+            String original = entry.getValue();
+            String value = original;
+
+            for (EntryStep step : this.entrySteps) {
+                value = step.apply(locale, key, value);
+                if (value == null) {
+                    break;
+                }
+            }
+
+            if (value == original) {
+                continue;
+            }
+
+            if (copy != null) {
+                update(copy, key, value);
+                continue;
+            }
+
+            try {
+                if (value == null) {
+                    iterator.remove();
+                } else {
+                    entry.setValue(value);
+                }
+            } catch (UnsupportedOperationException e) {
+                // The map does not support this change. Earlier changes may have been made in place, such as setValue before a failed remove,
+                // so the copy includes them; continue on the copy from here.
+                copy = new LinkedHashMap<>(map);
+                update(copy, key, value);
+            }
+        }
+
+        return copy != null ? copy : map;
+    }
+
+    private static void update(@NotNull Map<String, String> map, @NotNull String key, @Nullable String value) {
+        if (value == null) {
+            map.remove(key);
+        } else {
+            map.put(key, value);
+        }
+    }
+
+    private @NotNull MessagePipeline entryStep(@NotNull EntryStep step) {
+        EntryStep[] newSteps = Arrays.copyOf(this.entrySteps, this.entrySteps.length + 1);
+        newSteps[this.entrySteps.length] = step;
+        return new MessagePipeline(newSteps, this.processors, this.processorNames);
+    }
+
+    /**
+     * A result of {@link #process(LoadedMessageMap, boolean)}.
+     *
+     * @param loaded          the processed {@link LoadedMessageMap}
+     * @param appendedEntries the number of messages appended by processors created by {@link MessageProcessors}
+     */
+    record Processed(@NotNull LoadedMessageMap loaded, int appendedEntries) {
+    }
+
+    @FunctionalInterface
+    private interface EntryStep {
+        @Nullable String apply(@NotNull Locale locale, @NotNull String key, @NotNull String value) throws IOException;
+    }
+
+    /**
+     * A per-entry step that removes entries.
+     */
+    @FunctionalInterface
+    public interface Filter {
+
+        /**
+         * Tests the entry.
+         *
+         * @param locale the {@link Locale} of the loaded message map
+         * @param key    the key of the message
+         * @param value  the message
+         * @return {@code true} to keep the entry, {@code false} to remove it
+         * @throws IOException if I/O error occurred
+         */
+        boolean test(@NotNull Locale locale, @NotNull String key, @NotNull String value) throws IOException;
+    }
+
+    /**
+     * A per-entry step that rewrites values.
+     */
+    @FunctionalInterface
+    public interface Transformer {
+
+        /**
+         * Transforms the message.
+         *
+         * @param locale the {@link Locale} of the loaded message map
+         * @param key    the key of the message
+         * @param value  the message
+         * @return the new message, or the given one if not changed
+         * @throws IOException if I/O error occurred
+         */
+        @NotNull String transform(@NotNull Locale locale, @NotNull String key, @NotNull String value) throws IOException;
+    }
+
+    /**
+     * A per-entry step that checks entries.
+     */
+    @FunctionalInterface
+    public interface Validator {
+
+        /**
+         * Validates the entry.
+         * <p>
+         * Throw an exception such as {@link IllegalArgumentException} to reject the entry and stop loading.
+         *
+         * @param locale the {@link Locale} of the loaded message map
+         * @param key    the key of the message
+         * @param value  the message
+         * @throws IOException if I/O error occurred
+         */
+        void validate(@NotNull Locale locale, @NotNull String key, @NotNull String value) throws IOException;
+    }
+}
@@ -6,11 +6,10 @@ import dev.siroshun.mcmsgdef.file.PropertiesFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
 import java.nio.file.Path;
-import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * A class that provides utilities of message processing.
@@ -24,7 +23,7 @@ public final class MessageProcessors {
      * @return a {@link Loader} to append missing messages to the loaded message map
      */
     public static @NotNull Loader<LoadedMessageMap, Map<String, String>> appendMissingMessages(@NotNull Map<String, String> defaultMessageMap) {
-        return loaded -> appendMissingMessages(loaded, defaultMessageMap, null);
+        return appendMissingMessages(defaultMessageMap, null);
     }
 
     /**
@@ -35,7 +34,8 @@ public final class MessageProcessors {
      * @return a {@link Loader} to append missing messages to the loaded message map and the given {@link MessageAppender}
      */
     public static @NotNull Loader<LoadedMessageMap, Map<String, String>> appendMissingMessages(@NotNull Map<String, String> defaultMessageMap, @Nullable MessageAppender<Path, Map<String, String>> messageAppender) {
-        return loaded -> appendMissingMessages(loaded, defaultMessageMap, messageAppender);
+        Objects.requireNonNull(defaultMessageMap);
+        return new AppendMissingMessages(locale -> defaultMessageMap, messageAppender);
     }
 
     /**
@@ -46,13 +46,7 @@ public final class MessageProcessors {
      * @return a {@link Loader} to append missing messages to the loaded message map and something such as files
      */
     public static @NotNull Loader<LoadedMessageMap, Map<String, String>> appendMissingMessages(@NotNull Loader<Locale, @Nullable Map<String, String>> defaultMessageLoader, @Nullable MessageAppender<Path, Map<String, String>> messageAppender) {
-        return loaded -> {
-            Map<String, String> defaultMessageMap = defaultMessageLoader.load(loaded.locale());
-            if (defaultMessageMap != null) {
-                appendMissingMessages(loaded, defaultMessageMap, messageAppender);
-            }
-            return loaded.messageMap();
-        };
+        return new AppendMissingMessages(Objects.requireNonNull(defaultMessageLoader), messageAppender);
     }
 
     /**
@@ -62,7 +56,7 @@ public final class MessageProcessors {
      * @return a {@link Loader} to append missing messages to the loaded message map and the properties file
      */
     public static @NotNull Loader<LoadedMessageMap, Map<String, String>> appendMissingMessagesToPropertiesFile(@NotNull Map<String, String> defaultMessageMap) {
-        return loaded -> appendMissingMessages(loaded, defaultMessageMap, PropertiesFile.DEFAULT_APPENDER);
+        return appendMissingMessages(defaultMessageMap, PropertiesFile.DEFAULT_APPENDER);
     }
 
     /**
@@ -75,20 +69,6 @@ public final class MessageProcessors {
         return appendMissingMessages(defaultMessageLoader, PropertiesFile.DEFAULT_APPENDER);
     }
 
-    private static @NotNull Map<String, String> appendMissingMessages(LoadedMessageMap loaded, @NotNull Map<String, String> defaultMessageMap, @Nullable MessageAppender<Path, Map<String, String>> messageAppender) throws IOException {
-        Map<String, String> missingMessages = new LinkedHashMap<>();
-        for (Map.Entry<String, String> entry : defaultMessageMap.entrySet()) {
-            if (loaded.messageMap().putIfAbsent(entry.getKey(), entry.getValue()) == null) {
-                missingMessages.put(entry.getKey(), entry.getValue());
-            }
-        }
-        if (messageAppender != null && !missingMessages.isEmpty()) {
-            messageAppender.append(loaded.filepath(), missingMessages);
-        }
-
-        return loaded.messageMap();
-    }
-
     private MessageProcessors() {
         throw new UnsupportedOperationException();
     }
@@ -0,0 +1,36 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event emitted for each stage of {@link MessagePipeline}.
+ * <p>
+ * This event is disabled by default.
+ */
+@Name("dev.siroshun.mcmsgdef.ProcessStage")
+@Label("Process Stage")
+@Description("Processing a loaded message map by a stage of the pipeline")
+@Category("mcmsgdef")
+@Enabled(false)
+final class ProcessStageEvent extends Event {
+
+    @Label("Path")
+    String path;
+
+    @Label("Locale")
+    String locale;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Entries Before")
+    int entriesBefore;
+
+    @Label("Entries After")
+    int entriesAfter;
+}
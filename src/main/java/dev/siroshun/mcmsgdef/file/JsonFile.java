@@ -0,0 +1,412 @@
+package dev.siroshun.mcmsgdef.file;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A utility class for reading/writing flat JSON files, which have a single object of string keys and string values.
+ * <p>
+ * The JSON is parsed as a stream without building a tree.
+ * Each load uses its own buffer, so no reader is kept per thread to pin the class loader after the loading threads are done.
+ */
+public final class JsonFile {
+
+    /**
+     * A {@link FileExtension} implementation for the {@code .json} files.
+     */
+    public static final FileExtension FILE_EXTENSION = FileExtension.create(".json");
+
+    /**
+     * A default {@link Loader} that uses {@link #load(Reader)}.
+     * <p>
+     * If the file does not exist, this {@link Loader} returns a new {@link LinkedHashMap}
+     */
+    public static final Loader<Path, Map<String, String>> DEFAULT_LOADER = JsonFile::load;
+
+    /**
+     * A default {@link MessageAppender} to appends messages to the JSON file.
+     */
+    public static final MessageAppender<Path, Map<String, String>> DEFAULT_APPENDER = JsonFile::append;
+
+    /**
+     * Loads the string map from the {@link Reader}.
+     * <p>
+     * The JSON must be a single object, and all values must be strings.
+     * <p>
+     * The given {@link Reader} will <b>NOT</b> be closed by this method.
+     *
+     * @param reader the {@link Reader} to load the map
+     * @return the result of loading
+     * @throws IOException if the I/O error occurred or the JSON is not a flat object of strings
+     */
+    public static @NotNull Map<String, String> load(@NotNull Reader reader) throws IOException {
+        Map<String, String> map = new LinkedHashMap<>();
+        new FlatJsonReader().read(reader, map);
+        return map;
+    }
+
+    /**
+     * Loads the string map from the {@link InputStream}.
+     * <p>
+     * The given {@link InputStream} will be closed by internally created {@link InputStreamReader}.
+     *
+     * @param inputStream the {@link InputStream} to load the map
+     * @return the result of loading
+     * @throws IOException if the I/O error occurred or the JSON is not a flat object of strings
+     * @see #load(Reader)
+     */
+    public static @NotNull Map<String, String> load(@NotNull InputStream inputStream) throws IOException {
+        try (InputStreamReader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            return load(reader);
+        }
+    }
+
+    /**
+     * Loads the string map from the file.
+     * <p>
+     * If the given file does not exist, this method will return an empty {@link LinkedHashMap}.
+     *
+     * @param path the filepath to load the map.
+     * @return the result of loading
+     * @throws IOException if the I/O error occurred or the JSON is not a flat object of strings
+     * @see #load(Reader)
+     */
+    public static @NotNull Map<String, String> load(@NotNull Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return new LinkedHashMap<>();
+        }
+
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return load(inputStream); // FlatJsonReader has its own buffer
+        }
+    }
+
+    /**
+     * Writes the map as a JSON object to the {@link Writer}.
+     * <p>
+     * The given {@link Writer} will <b>NOT</b> be closed by this method.
+     *
+     * @param writer the {@link Writer} to write the JSON object
+     * @param map    the map to write
+     * @throws IOException if I/O error occurred
+     */
+    public static void write(@NotNull Writer writer, @NotNull Map<String, String> map) throws IOException {
+        writer.write('{');
+        appendEntries(writer, map, false);
+        writer.write(map.isEmpty() ? "}" : System.lineSeparator() + "}");
+        writer.write(System.lineSeparator());
+    }
+
+    /**
+     * Appends the map to the JSON object in the file.
+     * <p>
+     * If the file does not exist or is empty, a new JSON object will be written.
+     * Otherwise, the entries are inserted before the last <code>}</code> of the file, without rewriting the existing entries.
+     *
+     * @param file the filepath to append entries
+     * @param map  the map to append
+     * @throws IOException if I/O error occurred or the file is not a JSON object
+     */
+    public static void append(@NotNull Path file, @NotNull Map<String, String> map) throws IOException {
+        if (map.isEmpty()) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long closingBrace = findLastNonWhitespace(channel, channel.size());
+
+            if (closingBrace < 0) {
+                StringWriter writer = new StringWriter();
+                write(writer, map);
+                channel.truncate(0);
+                writeFully(channel, writer.toString(), 0);
+                return;
+            }
+
+            if (readByte(channel, closingBrace) != '}') {
+                throw new IOException("The file is not a JSON object: " + file);
+            }
+
+            long last = findLastNonWhitespace(channel, closingBrace);
+            if (last < 0) {
+                throw new IOException("The file is not a JSON object: " + file);
+            }
+
+            StringWriter writer = new StringWriter();
+            appendEntries(writer, map, readByte(channel, last) != '{');
+            writer.write(System.lineSeparator());
+            writer.write('}');
+            writer.write(System.lineSeparator());
+
+            channel.truncate(last + 1);
+            writeFully(channel, writer.toString(), last + 1);
+        }
+    }
+
+    private static void appendEntries(@NotNull Writer writer, @NotNull Map<String, String> map, boolean hasEntries) throws IOException {
+        boolean first = !hasEntries;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writer.write(System.lineSeparator());
+            writer.write("  ");
+            appendEscapedString(entry.getKey(), writer);
+            writer.write(": ");
+            appendEscapedString(entry.getValue(), writer);
+        }
+    }
+
+    private static void appendEscapedString(@NotNull String string, @NotNull Writer writer) throws IOException {
+        writer.write('"');
+        for (int i = 0, length = string.length(); i < length; i++) {
+            char c = string.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                case '\b' -> writer.write("\\b");
+                case '\f' -> writer.write("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+        writer.write('"');
+    }
+
+    private static long findLastNonWhitespace(@NotNull FileChannel channel, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        long position = end;
+
+        while (0 < position) {
+            int length = (int) Math.min(buffer.capacity(), position);
+            position -= length;
+            buffer.clear().limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file");
+                }
+            }
+            for (int i = length - 1; 0 <= i; i--) {
+                byte b = buffer.get(i);
+                if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                    return position + i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    private static byte readByte(@NotNull FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        if (channel.read(buffer, position) != 1) {
+            throw new IOException("Unexpected end of file");
+        }
+        return buffer.get(0);
+    }
+
+    private static void writeFully(@NotNull FileChannel channel, @NotNull String string, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(string.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private JsonFile() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * A streaming reader for flat JSON objects.
+     * <p>
+     * This class holds the buffers to reuse them for the next file, so an instance must not be shared between threads.
+     */
+    private static final class FlatJsonReader {
+
+        private final char[] buffer = new char[8192];
+        private final StringBuilder builder = new StringBuilder();
+        private Reader reader;
+        private int position;
+        private int limit;
+        private int line;
+
+        private void read(@NotNull Reader reader, @NotNull Map<String, String> map) throws IOException {
+            this.reader = reader;
+            this.position = 0;
+            this.limit = 0;
+            this.line = 1;
+
+            try {
+                int c = this.nextNonWhitespace();
+                if (c == 0xFEFF) {
+                    c = this.nextNonWhitespace();
+                }
+
+                if (c == -1) {
+                    return; // an empty file
+                }
+
+                this.expect(c, '{');
+
+                c = this.nextNonWhitespace();
+                if (c == '}') {
+                    this.expectEnd();
+                    return;
+                }
+
+                while (true) {
+                    this.expect(c, '"');
+                    String key = this.readString();
+                    this.expect(this.nextNonWhitespace(), ':');
+                    this.expect(this.nextNonWhitespace(), '"');
+                    map.put(key, this.readString());
+
+                    c = this.nextNonWhitespace();
+                    if (c == '}') {
+                        this.expectEnd();
+                        return;
+                    }
+                    this.expect(c, ',');
+                    c = this.nextNonWhitespace();
+                }
+            } finally {
+                this.reader = null;
+                if (this.builder.capacity() > this.buffer.length * 8) {
+                    this.builder.setLength(0);
+                    this.builder.trimToSize();
+                }
+            }
+        }
+
+        private @NotNull String readString() throws IOException {
+            int start = this.position;
+
+            // Fast path: the string has no escapes and ends in the current buffer.
+            for (int i = start; i < this.limit; i++) {
+                char c = this.buffer[i];
+                if (c == '"') {
+                    this.position = i + 1;
+                    return new String(this.buffer, start, i - start);
+                } else if (c == '\\' || c < 0x20) {
+                    break;
+                }
+            }
+
+            StringBuilder builder = this.builder;
+            builder.setLength(0);
+
+            while (true) {
+                if (this.position == this.limit && !this.fill()) {
+                    throw this.error("Unterminated string");
+                }
+
+                char c = this.buffer[this.position++];
+                if (c == '"') {
+                    return builder.toString();
+                } else if (c == '\\') {
+                    builder.append(this.readEscape());
+                } else if (c < 0x20) {
+                    throw this.error("Unescaped control character in string");
+                } else {
+                    builder.append(c);
+                }
+            }
+        }
+
+        private char readEscape() throws IOException {
+            int c = this.next();
+            return switch (c) {
+                case '"', '\\', '/' -> (char) c;
+                case 'b' -> '\b';
+                case 'f' -> '\f';
+                case 'n' -> '\n';
+                case 'r' -> '\r';
+                case 't' -> '\t';
+                case 'u' -> {
+                    int value = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(this.next(), 16);
+                        if (digit < 0) {
+                            throw this.error("Invalid unicode escape");
+                        }
+                        value = (value << 4) | digit;
+                    }
+                    yield (char) value;
+                }
+                default -> throw this.error("Invalid escape character");
+            };
+        }
+
+        private void expect(int actual, char expected) throws IOException {
+            if (actual != expected) {
+                throw this.error(actual == -1 ? "Expected '" + expected + "' but reached the end" : "Expected '" + expected + "' but found '" + (char) actual + "'");
+            }
+        }
+
+        private void expectEnd() throws IOException {
+            int c = this.nextNonWhitespace();
+            if (c != -1) {
+                throw this.error("Unexpected character after the object: '" + (char) c + "'");
+            }
+        }
+
+        private int nextNonWhitespace() throws IOException {
+            while (true) {
+                int c = this.next();
+                switch (c) {
+                    case '\n' -> this.line++;
+                    case ' ', '\t', '\r' -> {
+                    }
+                    default -> {
+                        return c;
+                    }
+                }
+            }
+        }
+
+        private int next() throws IOException {
+            if (this.position == this.limit && !this.fill()) {
+                return -1;
+            }
+            return this.buffer[this.position++];
+        }
+
+        private boolean fill() throws IOException {
+            int read = this.reader.read(this.buffer, 0, this.buffer.length);
+            if (read <= 0) {
+                this.position = this.limit = 0;
+                return false;
+            }
+            this.position = 0;
+            this.limit = read;
+            return true;
+        }
+
+        private @NotNull IOException error(@NotNull String message) {
+            return new IOException(message + " (line " + this.line + ")");
+        }
+    }
+}
@@ -114,11 +114,27 @@ public final class PropertiesFile {
      * @throws IOException if I/O error occurred
      */
     public static void append(@NotNull Writer writer, @NotNull Map<String, String> map) throws IOException {
+        append(writer, map, System.lineSeparator());
+    }
+
+    /**
+     * Appends the map to the {@link Writer} with the line separator.
+     * <p>
+     * Entries in the map will be written as {@code KEY=VALUE}.
+     * <p>
+     * The given {@link Writer} will <b>NOT</b> be closed by this method.
+     *
+     * @param writer        the {@link Writer} to append entries
+     * @param map           the map to append
+     * @param lineSeparator the line separator to write after each entry
+     * @throws IOException if I/O error occurred
+     */
+    public static void append(@NotNull Writer writer, @NotNull Map<String, String> map, @NotNull String lineSeparator) throws IOException {
         for (Map.Entry<String, String> entry : map.entrySet()) {
             appendEscapedString(entry.getKey(), true, writer);
             writer.write('=');
             appendEscapedString(entry.getValue(), false, writer);
-            writer.write(System.lineSeparator());
+            writer.write(lineSeparator);
         }
     }
 
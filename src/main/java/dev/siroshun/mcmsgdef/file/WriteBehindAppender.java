@@ -0,0 +1,318 @@
+package dev.siroshun.mcmsgdef.file;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link MessageAppender} that queues appended messages per target and writes them on an {@link Executor} later.
+ * <p>
+ * Messages appended to the same target before the queued write runs are coalesced,
+ * so the delegate {@link MessageAppender} is called once per target with all of them.
+ * If the same key is appended twice before writing, the first message is kept.
+ * Writes to the same target never run at the same time.
+ * <p>
+ * Since {@link #append(Object, Map)} returns before messages are written, errors are reported by {@link #flush()}.
+ * Messages that failed to be written are queued again, and the write is retried after the retry delay,
+ * which doubles on each consecutive failure of the target up to 64 times the initial delay.
+ * If the {@link Executor} rejects a write, the messages stay queued until the next {@link #append(Object, Map)}, {@link #flush()} or {@link #close()}.
+ * {@link #close()} should be called on shutdown to write the remaining messages.
+ * <p>
+ * The queue of a target is removed once all of its messages are written, so targets that are no longer appended to are not kept.
+ *
+ * @param <T> the type of destination that will be appended to
+ */
+public final class WriteBehindAppender<T> implements MessageAppender<T, Map<String, String>>, AutoCloseable {
+
+    /**
+     * The default delay before the first retry of a failed write.
+     */
+    public static final Duration DEFAULT_RETRY_DELAY = Duration.ofSeconds(1);
+
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    /**
+     * Creates a new {@link WriteBehindAppender} with the {@link #DEFAULT_RETRY_DELAY}.
+     *
+     * @param delegate the {@link MessageAppender} to write messages
+     * @param executor the {@link Executor} to write messages on
+     * @param <T>      the type of destination that will be appended to
+     * @return a new {@link WriteBehindAppender}
+     */
+    @Contract("_, _ -> new")
+    public static <T> @NotNull WriteBehindAppender<T> create(@NotNull MessageAppender<T, Map<String, String>> delegate, @NotNull Executor executor) {
+        return create(delegate, executor, DEFAULT_RETRY_DELAY);
+    }
+
+    /**
+     * Creates a new {@link WriteBehindAppender}.
+     *
+     * @param delegate   the {@link MessageAppender} to write messages
+     * @param executor   the {@link Executor} to write messages on
+     * @param retryDelay the delay before the first retry of a failed write
+     * @param <T>        the type of destination that will be appended to
+     * @return a new {@link WriteBehindAppender}
+     */
+    @Contract("_, _, _ -> new")
+    public static <T> @NotNull WriteBehindAppender<T> create(@NotNull MessageAppender<T, Map<String, String>> delegate, @NotNull Executor executor,
+                                                             @NotNull Duration retryDelay) {
+        if (retryDelay.isNegative() || retryDelay.isZero()) {
+            throw new IllegalArgumentException("retryDelay must be positive");
+        }
+        return new WriteBehindAppender<>(Objects.requireNonNull(delegate), Objects.requireNonNull(executor), retryDelay.toNanos());
+    }
+
+    private final MessageAppender<T, Map<String, String>> delegate;
+    private final Executor executor;
+    private final long retryDelayNanos;
+    private final Map<T, Pending> pendings = new ConcurrentHashMap<>();
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed; // guarded by closeLock
+
+    private WriteBehindAppender(@NotNull MessageAppender<T, Map<String, String>> delegate, @NotNull Executor executor, long retryDelayNanos) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.retryDelayNanos = retryDelayNanos;
+    }
+
+    /**
+     * Queues messages to append to the target.
+     *
+     * @param target     a target
+     * @param messageMap a message map to append
+     * @throws IllegalStateException if this appender is closed
+     */
+    @Override
+    public void append(@NotNull T target, @NotNull Map<String, String> messageMap) {
+        Objects.requireNonNull(target);
+        Objects.requireNonNull(messageMap);
+
+        Pending pending;
+        boolean schedule;
+
+        // Holding the read lock while queueing lets close() see these messages when it flushes.
+        this.closeLock.readLock().lock();
+        try {
+            if (this.closed) {
+                throw new IllegalStateException("This appender is closed");
+            }
+
+            if (messageMap.isEmpty()) {
+                return;
+            }
+
+            while (true) {
+                pending = this.pendings.computeIfAbsent(target, ignored -> new Pending());
+
+                synchronized (pending) {
+                    if (pending.removed) {
+                        continue; // drained and removed after it was got, so get a new one
+                    }
+                    for (Map.Entry<String, String> entry : messageMap.entrySet()) {
+                        pending.messages.putIfAbsent(entry.getKey(), entry.getValue());
+                    }
+                    schedule = !pending.scheduled;
+                    pending.scheduled = true;
+                    break;
+                }
+            }
+        } finally {
+            this.closeLock.readLock().unlock();
+        }
+
+        if (schedule) {
+            this.schedule(target, pending);
+        }
+    }
+
+    private void schedule(@NotNull T target, @NotNull Pending pending) {
+        this.schedule(target, pending, this.executor);
+    }
+
+    private void schedule(@NotNull T target, @NotNull Pending pending, @NotNull Executor executor) {
+        try {
+            executor.execute(() -> {
+                try {
+                    this.write(target, pending);
+                } catch (IOException | RuntimeException e) {
+                    // The messages are queued again, and the error is reported by flush().
+                    this.retryLater(target, pending, toIOException(target, e));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The messages stay queued and are written by flush() or close().
+            synchronized (pending) {
+                pending.scheduled = false;
+            }
+        }
+    }
+
+    /**
+     * Writes all queued messages on the current thread.
+     * <p>
+     * This also waits for writes that are running on the {@link Executor}.
+     *
+     * @throws IOException if I/O error occurred while writing queued messages, or the delegate threw a {@link RuntimeException}
+     */
+    public void flush() throws IOException {
+        IOException exception = null;
+
+        for (Map.Entry<T, Pending> entry : this.pendings.entrySet()) {
+            Pending pending = entry.getValue();
+            IOException failure;
+
+            synchronized (pending) {
+                failure = pending.failure;
+                pending.failure = null;
+            }
+
+            try {
+                this.write(entry.getKey(), pending);
+            } catch (IOException | RuntimeException e) {
+                failure = toIOException(entry.getKey(), e);
+            }
+
+            if (failure != null) {
+                if (exception == null) {
+                    exception = failure;
+                } else if (exception != failure) {
+                    exception.addSuppressed(failure);
+                }
+            }
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    /**
+     * Checks if there are messages that are not written yet.
+     *
+     * @return {@code true} if there are queued messages
+     */
+    public boolean hasPendingMessages() {
+        for (Pending pending : this.pendings.values()) {
+            synchronized (pending) {
+                if (!pending.messages.isEmpty()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    int queuedTargets() {
+        return this.pendings.size();
+    }
+
+    /**
+     * Closes this appender and writes all queued messages on the current thread.
+     *
+     * @throws IOException if I/O error occurred while writing queued messages
+     */
+    @Override
+    public void close() throws IOException {
+        this.closeLock.writeLock().lock();
+        try {
+            this.closed = true;
+        } finally {
+            this.closeLock.writeLock().unlock();
+        }
+        this.flush();
+    }
+
+    private void retryLater(@NotNull T target, @NotNull Pending pending, @NotNull IOException failure) {
+        long delay;
+        synchronized (pending) {
+            pending.failure = failure;
+            if (pending.scheduled) {
+                return; // messages appended while writing have already scheduled a write
+            }
+            delay = this.retryDelayNanos << Math.clamp(pending.failures - 1, 0, MAX_BACKOFF_SHIFT);
+            pending.scheduled = true; // appends until the retry are written by it
+        }
+
+        this.closeLock.readLock().lock();
+        try {
+            if (this.closed) {
+                return; // close() has flushed the messages or reported the failure
+            }
+        } finally {
+            this.closeLock.readLock().unlock();
+        }
+
+        this.schedule(target, pending, CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, this.executor));
+    }
+
+    private void write(@NotNull T target, @NotNull Pending pending) throws IOException {
+        synchronized (pending.writeLock) {
+            Map<String, String> messages;
+
+            synchronized (pending) {
+                messages = pending.messages;
+                pending.messages = new LinkedHashMap<>();
+                pending.scheduled = false;
+            }
+
+            if (messages.isEmpty()) {
+                this.removeIfDrained(target, pending);
+                return;
+            }
+
+            try {
+                this.delegate.append(target, messages);
+                synchronized (pending) {
+                    pending.failures = 0;
+                    pending.failure = null; // the failed messages have been written by a retry or flush()
+                }
+                this.removeIfDrained(target, pending);
+            } catch (IOException | RuntimeException e) {
+                synchronized (pending) {
+                    // Messages appended while writing are put after the failed ones, keeping the order of appends.
+                    for (Map.Entry<String, String> entry : pending.messages.entrySet()) {
+                        messages.putIfAbsent(entry.getKey(), entry.getValue());
+                    }
+                    pending.messages = messages;
+                    pending.failures++;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void removeIfDrained(@NotNull T target, @NotNull Pending pending) {
+        synchronized (pending) {
+            if (pending.messages.isEmpty() && !pending.scheduled && pending.failure == null) {
+                pending.removed = true;
+                this.pendings.remove(target, pending);
+            }
+        }
+    }
+
+    private static @NotNull IOException toIOException(@NotNull Object target, @NotNull Exception e) {
+        return e instanceof IOException io ? io : new IOException("Failed to append messages to " + target, e);
+    }
+
+    private static final class Pending {
+        private final Object writeLock = new Object();
+        private Map<String, String> messages = new LinkedHashMap<>();
+        private boolean scheduled;
+        private boolean removed;
+        private int failures;
+        private @Nullable IOException failure;
+    }
+}
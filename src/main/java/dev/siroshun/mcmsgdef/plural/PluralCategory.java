@@ -0,0 +1,66 @@
+package dev.siroshun.mcmsgdef.plural;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * The plural categories of CLDR.
+ */
+public enum PluralCategory {
+
+    /**
+     * The category {@code zero}.
+     */
+    ZERO,
+    /**
+     * The category {@code one}.
+     */
+    ONE,
+    /**
+     * The category {@code two}.
+     */
+    TWO,
+    /**
+     * The category {@code few}.
+     */
+    FEW,
+    /**
+     * The category {@code many}.
+     */
+    MANY,
+    /**
+     * The category {@code other}, which every language has.
+     */
+    OTHER;
+
+    private final String keyword = this.name().toLowerCase(Locale.ROOT);
+
+    /**
+     * Gets the keyword of this category, such as {@code one} or {@code other}.
+     *
+     * @return the keyword of this category
+     */
+    public @NotNull String keyword() {
+        return this.keyword;
+    }
+
+    /**
+     * Gets the {@link PluralCategory} of the keyword.
+     *
+     * @param keyword the keyword of the category
+     * @return the {@link PluralCategory} of the keyword, or {@code null} if the keyword is unknown
+     */
+    public static @Nullable PluralCategory fromKeyword(@NotNull String keyword) {
+        return switch (keyword) {
+            case "zero" -> ZERO;
+            case "one" -> ONE;
+            case "two" -> TWO;
+            case "few" -> FEW;
+            case "many" -> MANY;
+            case "other" -> OTHER;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,229 @@
+package dev.siroshun.mcmsgdef.plural;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cardinal plural rules of a language, based on the rules of CLDR.
+ * <p>
+ * The rules of each language are compiled once into a table of the categories of integers,
+ * so selecting the category of an integer count is a table lookup.
+ * Counts with fraction digits, such as {@code 1.5} or {@code 1.0}, are evaluated by the rules directly.
+ * <p>
+ * Languages without built-in rules use the rules of English.
+ */
+public final class PluralRules {
+
+    // For every built-in rule, the category of an integer i >= 100 equals the category of 100 + i % 100.
+    private static final int TABLE_SIZE = 200;
+
+    private static final PluralRules OTHER_ONLY = new PluralRules((i, v, integer) -> PluralCategory.OTHER);
+
+    private static final PluralRules ONE_IF_INTEGER_ONE = new PluralRules((i, v, integer) ->
+        i == 1 && v == 0 ? PluralCategory.ONE : PluralCategory.OTHER
+    );
+
+    private static final PluralRules ONE_IF_ONE = new PluralRules((i, v, integer) ->
+        integer && i == 1 ? PluralCategory.ONE : PluralCategory.OTHER
+    );
+
+    private static final PluralRules ONE_IF_ZERO_OR_ONE = new PluralRules((i, v, integer) ->
+        i == 0 || i == 1 ? PluralCategory.ONE : PluralCategory.OTHER
+    );
+
+    private static final PluralRules DANISH = new PluralRules((i, v, integer) ->
+        integer ? (i == 1 ? PluralCategory.ONE : PluralCategory.OTHER) : (i == 0 || i == 1 ? PluralCategory.ONE : PluralCategory.OTHER)
+    );
+
+    private static final PluralRules EAST_SLAVIC = new PluralRules((i, v, integer) -> v != 0 ? PluralCategory.OTHER : eastSlavic(i));
+
+    private static final PluralRules BELARUSIAN = new PluralRules((i, v, integer) -> integer ? eastSlavic(i) : PluralCategory.OTHER);
+
+    private static @NotNull PluralCategory eastSlavic(long i) {
+        long mod10 = i % 10;
+        long mod100 = i % 100;
+        if (mod10 == 1 && mod100 != 11) {
+            return PluralCategory.ONE;
+        } else if (2 <= mod10 && mod10 <= 4 && (mod100 < 12 || 14 < mod100)) {
+            return PluralCategory.FEW;
+        } else {
+            return PluralCategory.MANY;
+        }
+    }
+
+    private static final PluralRules POLISH = new PluralRules((i, v, integer) -> {
+        if (v != 0) {
+            return PluralCategory.OTHER;
+        }
+        long mod10 = i % 10;
+        long mod100 = i % 100;
+        if (i == 1) {
+            return PluralCategory.ONE;
+        } else if (2 <= mod10 && mod10 <= 4 && (mod100 < 12 || 14 < mod100)) {
+            return PluralCategory.FEW;
+        } else {
+            return PluralCategory.MANY;
+        }
+    });
+
+    private static final PluralRules CZECH = new PluralRules((i, v, integer) -> {
+        if (v != 0) {
+            return PluralCategory.MANY;
+        } else if (i == 1) {
+            return PluralCategory.ONE;
+        } else if (2 <= i && i <= 4) {
+            return PluralCategory.FEW;
+        } else {
+            return PluralCategory.OTHER;
+        }
+    });
+
+    private static final PluralRules ARABIC = new PluralRules((i, v, integer) -> {
+        if (!integer) {
+            return PluralCategory.OTHER;
+        }
+        long mod100 = i % 100;
+        if (i == 0) {
+            return PluralCategory.ZERO;
+        } else if (i == 1) {
+            return PluralCategory.ONE;
+        } else if (i == 2) {
+            return PluralCategory.TWO;
+        } else if (3 <= mod100 && mod100 <= 10) {
+            return PluralCategory.FEW;
+        } else if (11 <= mod100) {
+            return PluralCategory.MANY;
+        } else {
+            return PluralCategory.OTHER;
+        }
+    });
+
+    private static final Map<String, PluralRules> RULES = new HashMap<>();
+
+    static {
+        register(OTHER_ONLY, "ja", "zh", "ko", "th", "vi", "id", "ms", "lo", "my", "km");
+        register(ONE_IF_INTEGER_ONE, "en", "de", "nl", "sv", "fi", "et", "it", "ca", "gl", "sw", "ur", "pt_PT");
+        register(ONE_IF_ONE, "es", "el", "hu", "tr", "bg", "nb", "nn", "no");
+        register(ONE_IF_ZERO_OR_ONE, "fr", "pt");
+        register(DANISH, "da");
+        register(EAST_SLAVIC, "ru", "uk");
+        register(BELARUSIAN, "be");
+        register(POLISH, "pl");
+        register(CZECH, "cs", "sk");
+        register(ARABIC, "ar");
+    }
+
+    private static void register(@NotNull PluralRules rules, @NotNull String @NotNull ... locales) {
+        for (String locale : locales) {
+            RULES.put(locale, rules);
+        }
+    }
+
+    /**
+     * Gets the {@link PluralRules} of the {@link Locale}.
+     * <p>
+     * The rules of the language and the country, such as {@code pt_PT}, are preferred to the rules of the language.
+     *
+     * @param locale the {@link Locale} to get the rules of
+     * @return the {@link PluralRules} of the locale
+     */
+    public static @NotNull PluralRules forLocale(@NotNull Locale locale) {
+        String language = locale.getLanguage();
+        if (!locale.getCountry().isEmpty()) {
+            PluralRules rules = RULES.get(language + "_" + locale.getCountry());
+            if (rules != null) {
+                return rules;
+            }
+        }
+        return RULES.getOrDefault(language, ONE_IF_INTEGER_ONE);
+    }
+
+    private final Rule rule;
+    private final PluralCategory[] integerTable;
+
+    private PluralRules(@NotNull Rule rule) {
+        this.rule = rule;
+        this.integerTable = new PluralCategory[TABLE_SIZE];
+        for (int i = 0; i < TABLE_SIZE; i++) {
+            this.integerTable[i] = rule.select(i, 0, true);
+        }
+    }
+
+    /**
+     * Selects the {@link PluralCategory} of the integer count.
+     *
+     * @param count the count
+     * @return the {@link PluralCategory} of the count
+     */
+    public @NotNull PluralCategory select(long count) {
+        // Math.abs(Long.MIN_VALUE) is negative, but its remainder is still in the range of the table.
+        long abs = Math.abs(count);
+        return this.integerTable[(int) (0 <= abs && abs < TABLE_SIZE ? abs : 100 + Math.abs(abs % 100))];
+    }
+
+    /**
+     * Selects the {@link PluralCategory} of the count.
+     * <p>
+     * Fraction digits are counted as they are written, so {@code 1.0} and {@code 1} may be in different categories.
+     *
+     * @param count the count
+     * @return the {@link PluralCategory} of the count
+     */
+    public @NotNull PluralCategory select(@NotNull Number count) {
+        if (count instanceof Integer || count instanceof Long || count instanceof Short || count instanceof Byte ||
+            count instanceof AtomicInteger || count instanceof AtomicLong) {
+            return this.select(count.longValue());
+        }
+
+        if (count instanceof BigInteger bigInteger) {
+            return this.select(truncate(bigInteger));
+        }
+
+        BigDecimal decimal;
+        if (count instanceof BigDecimal bigDecimal) {
+            decimal = bigDecimal.abs();
+        } else if (!Double.isFinite(count.doubleValue())) {
+            return PluralCategory.OTHER;
+        } else {
+            try {
+                decimal = new BigDecimal(count.toString()).abs(); // keeps the fraction digits as written, such as 1.0
+            } catch (NumberFormatException e) {
+                decimal = BigDecimal.valueOf(count.doubleValue()).abs();
+            }
+        }
+
+        long i = truncate(decimal.toBigInteger());
+        int v = Math.max(0, decimal.scale());
+        if (v == 0) {
+            return this.select(i);
+        }
+
+        boolean integer = decimal.signum() == 0 || decimal.stripTrailingZeros().scale() <= 0;
+        return this.rule.select(i, v, integer);
+    }
+
+    private static long truncate(@NotNull BigInteger integer) {
+        // Integers out of the range of long are reduced to a smaller integer in the same category.
+        return integer.bitLength() < Long.SIZE ? integer.longValue() : 100 + integer.abs().remainder(BigInteger.valueOf(100)).longValue();
+    }
+
+    @FunctionalInterface
+    private interface Rule {
+        /**
+         * Selects the category.
+         *
+         * @param i       the integer part of the absolute count
+         * @param v       the number of visible fraction digits
+         * @param integer whether the count has no non-zero fraction digits
+         * @return the category
+         */
+        @NotNull PluralCategory select(long i, int v, boolean integer);
+    }
+}
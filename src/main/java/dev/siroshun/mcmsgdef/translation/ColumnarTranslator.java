@@ -0,0 +1,338 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslator;
+import net.kyori.adventure.util.TriState;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable {@link net.kyori.adventure.translation.Translator} that stores MiniMessage strings in columns.
+ * <p>
+ * All {@link Locale}s share a single key index, and each {@link Locale} holds a {@link String} array indexed by it.
+ * Looking up a message is one hash probe for the key followed by array indexing.
+ * <p>
+ * Fallbacks ({@code language_COUNTRY_variant -> language_COUNTRY -> language -> default locale}) are resolved
+ * when building this translator for every loaded {@link Locale}. For other {@link Locale}s, the fallback column is found on request
+ * and cached for up to 256 {@link Locale}s, since requested {@link Locale}s are chosen by clients.
+ * Since this translator is immutable, the fallbacks are computed again by building a new one on reload.
+ */
+public final class ColumnarTranslator extends MiniMessageTranslator {
+
+    /**
+     * Creates a new {@link Builder}.
+     *
+     * @param name the name of the {@link ColumnarTranslator}
+     * @return a new {@link Builder}
+     */
+    @Contract("_ -> new")
+    public static @NotNull Builder builder(@NotNull Key name) {
+        return new Builder(Objects.requireNonNull(name));
+    }
+
+    private static final int MAX_UNKNOWN_LOCALES = 256;
+
+    private final Key name;
+    private final KeyIndex keyIndex;
+    private final Locale[] locales;
+    private final Map<Locale, String[]> columns;
+    private final @Nullable Locale defaultLocale;
+    private final String[] emptyColumn;
+    private final Map<Locale, String[]> resolvedColumns;
+    private final Map<Locale, String[]> unknownColumns = new ConcurrentHashMap<>();
+
+    private ColumnarTranslator(@NotNull MiniMessage miniMessage,
+                               @NotNull Key name,
+                               @NotNull KeyIndex keyIndex,
+                               @NotNull Locale[] locales,
+                               @NotNull String[][] columns,
+                               @Nullable Locale defaultLocale) {
+        super(miniMessage);
+        this.name = name;
+        this.keyIndex = keyIndex;
+        this.locales = locales;
+        this.defaultLocale = defaultLocale;
+
+        Map<Locale, String[]> columnMap = new HashMap<>(locales.length * 2);
+        for (int i = 0; i < locales.length; i++) {
+            columnMap.put(locales[i], columns[i]);
+        }
+        this.columns = columnMap;
+        this.emptyColumn = new String[keyIndex.size()];
+
+        Map<Locale, String[]> resolvedColumns = new HashMap<>(locales.length * 2);
+        for (Locale locale : locales) {
+            resolvedColumns.put(locale, this.resolveColumn(locale));
+        }
+        this.resolvedColumns = resolvedColumns;
+    }
+
+    @Override
+    public @NotNull Key name() {
+        return this.name;
+    }
+
+    @Override
+    public @NotNull TriState hasAnyTranslations() {
+        return this.locales.length != 0 && this.keyIndex.size() != 0 ? TriState.TRUE : TriState.FALSE;
+    }
+
+    @Override
+    public boolean canTranslate(@NotNull String key, @NotNull Locale locale) {
+        return this.getMiniMessageString(key, locale) != null;
+    }
+
+    /**
+     * Gets the MiniMessage string of the key for the {@link Locale}.
+     *
+     * @param key    the key of the message
+     * @param locale the {@link Locale} to get the message
+     * @return the MiniMessage string, or {@code null} if this translator does not have the key
+     */
+    public @Nullable String message(@NotNull String key, @NotNull Locale locale) {
+        return this.getMiniMessageString(Objects.requireNonNull(key), Objects.requireNonNull(locale));
+    }
+
+    /**
+     * Checks if this translator has the message of the key for exactly the given {@link Locale}, without fallbacks.
+     *
+     * @param key    the key of the message
+     * @param locale the {@link Locale} to check
+     * @return {@code true} if this translator has the message for the {@link Locale}, otherwise {@code false}
+     */
+    public boolean contains(@NotNull String key, @NotNull Locale locale) {
+        int index = this.keyIndex.indexOf(Objects.requireNonNull(key));
+        String[] column = this.columns.get(Objects.requireNonNull(locale));
+        return index != -1 && column != null && column[index] != null;
+    }
+
+    /**
+     * Gets the keys that this translator has.
+     *
+     * @return the keys that this translator has
+     */
+    public @NotNull @Unmodifiable List<String> keys() {
+        return List.of(this.keysArray());
+    }
+
+    /**
+     * Gets the {@link Locale}s that this translator has.
+     *
+     * @return the {@link Locale}s that this translator has
+     */
+    public @NotNull @Unmodifiable List<Locale> locales() {
+        return List.of(this.locales);
+    }
+
+    /**
+     * Estimates the heap retained by the messages of this translator.
+     * <p>
+     * The key index is counted in {@link MessageFootprint#sharedBytes()},
+     * and each {@link Locale} has its column and the column with fallbacks resolved.
+     * Columns resolved for {@link Locale}s that this translator does not have are shared with loaded {@link Locale}s.
+     *
+     * @return the estimated {@link MessageFootprint}
+     */
+    public @NotNull MessageFootprint footprint() {
+        MessageFootprint.Estimator estimator = new MessageFootprint.Estimator();
+        long sharedBytes = this.keyIndex.estimateFootprint(estimator) + MessageFootprint.Estimator.hashMap(this.columns.size());
+        Map<Locale, MessageFootprint.LocaleFootprint> locales = new LinkedHashMap<>();
+
+        for (Locale locale : this.locales) {
+            String[] column = this.columns.get(locale);
+            int entries = 0;
+            long valueBytes = 0;
+            for (String value : column) {
+                if (value != null) {
+                    entries++;
+                    valueBytes += estimator.string(value);
+                }
+            }
+            long structureBytes = estimator.array(column) + estimator.array(this.resolvedColumns.get(locale));
+            locales.put(locale, new MessageFootprint.LocaleFootprint(locale, entries, valueBytes, structureBytes));
+        }
+
+        return new MessageFootprint(sharedBytes, locales);
+    }
+
+    @Override
+    protected @Nullable String getMiniMessageString(@NotNull String key, @NotNull Locale locale) {
+        int index = this.keyIndex.indexOf(key);
+        if (index == -1) {
+            return null;
+        }
+
+        String[] column = this.resolvedColumns.get(locale);
+        if (column == null) {
+            column = this.unknownColumn(locale);
+        }
+        return column[index];
+    }
+
+    @NotNull KeyIndex keyIndex() {
+        return this.keyIndex;
+    }
+
+    @Nullable Locale defaultLocale() {
+        return this.defaultLocale;
+    }
+
+    @NotNull String[] resolvedColumn(@NotNull Locale locale) {
+        return this.resolvedColumns.get(locale); // not copied; callers must not modify it
+    }
+
+    private @NotNull String[] resolveColumn(@NotNull Locale locale) {
+        List<Locale> chain = LocaleFallback.chain(locale, this.defaultLocale);
+        String[] resolved = this.columns.get(locale).clone();
+
+        for (int i = 1; i < chain.size(); i++) {
+            String[] column = this.columns.get(chain.get(i));
+            if (column == null) {
+                continue;
+            }
+
+            for (int index = 0; index < resolved.length; index++) {
+                if (resolved[index] == null) {
+                    resolved[index] = column[index];
+                }
+            }
+        }
+
+        return resolved;
+    }
+
+    private @NotNull String[] unknownColumn(@NotNull Locale locale) {
+        String[] column = this.unknownColumns.get(locale);
+        if (column != null) {
+            return column;
+        }
+
+        column = this.resolveUnknownColumn(locale);
+        if (this.unknownColumns.size() < MAX_UNKNOWN_LOCALES) {
+            this.unknownColumns.putIfAbsent(locale, column);
+        }
+        return column;
+    }
+
+    private @NotNull String[] resolveUnknownColumn(@NotNull Locale locale) {
+        // The first loaded locale in the chain already contains the rest of the fallbacks.
+        for (Locale fallback : LocaleFallback.chain(locale, this.defaultLocale)) {
+            String[] column = this.resolvedColumns.get(fallback);
+            if (column != null) {
+                return column;
+            }
+        }
+        return this.emptyColumn; // negative cache: this translator does not have the locale
+    }
+
+    private @NotNull String[] keysArray() {
+        String[] keys = new String[this.keyIndex.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = this.keyIndex.key(i);
+        }
+        return keys;
+    }
+
+    /**
+     * A builder of {@link ColumnarTranslator}.
+     */
+    public static final class Builder {
+
+        private final Key name;
+        private final Map<Locale, Map<String, String>> messages = new LinkedHashMap<>();
+        private @Nullable Locale defaultLocale;
+        private @Nullable MiniMessage miniMessage;
+
+        private Builder(@NotNull Key name) {
+            this.name = name;
+        }
+
+        /**
+         * Registers messages of the {@link Locale}.
+         * <p>
+         * If the {@link Locale} is already registered, the given messages will be merged into it.
+         *
+         * @param locale     the {@link Locale} of the messages
+         * @param messageMap the map of keys and MiniMessage strings
+         * @return this {@link Builder}
+         */
+        @Contract("_, _ -> this")
+        public @NotNull Builder register(@NotNull Locale locale, @NotNull Map<String, String> messageMap) {
+            Objects.requireNonNull(locale);
+            Objects.requireNonNull(messageMap);
+            this.messages.computeIfAbsent(locale, ignored -> new LinkedHashMap<>()).putAll(messageMap);
+            return this;
+        }
+
+        /**
+         * Sets the default {@link Locale} that will be used when the message is not found for the requested {@link Locale}.
+         *
+         * @param locale the default {@link Locale}
+         * @return this {@link Builder}
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder defaultLocale(@NotNull Locale locale) {
+            this.defaultLocale = Objects.requireNonNull(locale);
+            return this;
+        }
+
+        /**
+         * Sets the {@link MiniMessage} to deserialize messages.
+         *
+         * @param miniMessage the {@link MiniMessage}
+         * @return this {@link Builder}
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder miniMessage(@NotNull MiniMessage miniMessage) {
+            this.miniMessage = Objects.requireNonNull(miniMessage);
+            return this;
+        }
+
+        /**
+         * Builds a new {@link ColumnarTranslator}.
+         *
+         * @return a new {@link ColumnarTranslator}
+         */
+        @Contract(" -> new")
+        public @NotNull ColumnarTranslator build() {
+            Set<String> keys = new LinkedHashSet<>();
+            for (Map<String, String> messageMap : this.messages.values()) {
+                keys.addAll(messageMap.keySet());
+            }
+
+            KeyIndex keyIndex = KeyIndex.create(keys);
+            Locale[] locales = this.messages.keySet().toArray(Locale[]::new);
+            String[][] columns = new String[locales.length][];
+
+            for (int i = 0; i < locales.length; i++) {
+                String[] column = new String[keyIndex.size()];
+                for (Map.Entry<String, String> entry : this.messages.get(locales[i]).entrySet()) {
+                    column[keyIndex.indexOf(entry.getKey())] = Objects.requireNonNull(entry.getValue());
+                }
+                columns[i] = column;
+            }
+
+            return new ColumnarTranslator(
+                this.miniMessage != null ? this.miniMessage : MiniMessage.miniMessage(),
+                this.name,
+                keyIndex,
+                locales,
+                columns,
+                this.defaultLocale
+            );
+        }
+    }
+}
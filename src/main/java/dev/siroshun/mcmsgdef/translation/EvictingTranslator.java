@@ -0,0 +1,415 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import dev.siroshun.mcmsgdef.file.Loader;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslator;
+import net.kyori.adventure.util.TriState;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * A {@link net.kyori.adventure.translation.Translator} that drops the messages of unused {@link Locale}s and loads them again on demand.
+ * <p>
+ * The messages of a {@link Locale} are evicted when they have not been requested for the idle timeout,
+ * or when the estimated size of all resident messages exceeds the memory budget, starting from the least recently used {@link Locale}.
+ * The pinned {@link Locale} is never evicted.
+ * <p>
+ * When the messages of an evicted {@link Locale} are requested, they are loaded by the {@link Loader} on the load {@link Executor},
+ * and the request does not wait for it: until the load completes, requests for the {@link Locale} fall back to the next {@link Locale}
+ * in the fallback chain, up to the pinned {@link Locale}, or get no message. A {@link Locale} is loaded once even if it is requested concurrently.
+ * To block the requesting thread until the messages are loaded instead, set {@code Runnable::run} as the load {@link Executor}.
+ * A {@link Locale} that has just been loaded is not evicted by the same load, even if it alone exceeds the memory budget.
+ * If loading fails, the {@link Locale} is treated as having no messages for 30 seconds before loading is tried again.
+ */
+public final class EvictingTranslator extends MiniMessageTranslator {
+
+    /**
+     * Creates a new {@link Builder}.
+     *
+     * @param name   the name of the {@link EvictingTranslator}
+     * @param loader the {@link Loader} to load the messages of a {@link Locale} again after it is evicted
+     * @return a new {@link Builder}
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull Builder builder(@NotNull Key name, @NotNull Loader<Locale, Map<String, String>> loader) {
+        return new Builder(Objects.requireNonNull(name), Objects.requireNonNull(loader));
+    }
+
+    private static final long RETRY_DELAY_NANOS = Duration.ofSeconds(30).toNanos();
+
+    private final Key name;
+    private final Loader<Locale, Map<String, String>> loader;
+    private final Map<Locale, Slot> slots;
+    private final @Nullable Locale pinnedLocale;
+    private final long memoryBudget;
+    private final long idleTimeoutNanos;
+    private final LongSupplier clock;
+    private final Executor loadExecutor;
+    private final AtomicLong lastEviction;
+
+    private EvictingTranslator(@NotNull MiniMessage miniMessage, @NotNull Builder builder) {
+        super(miniMessage);
+        this.name = builder.name;
+        this.loader = builder.loader;
+        this.pinnedLocale = builder.pinnedLocale;
+        this.memoryBudget = builder.memoryBudget;
+        this.idleTimeoutNanos = builder.idleTimeout.toNanos();
+        this.clock = builder.clock;
+        this.loadExecutor = builder.loadExecutor;
+        this.lastEviction = new AtomicLong(this.clock.getAsLong());
+
+        Map<Locale, Slot> slots = new LinkedHashMap<>();
+        long now = this.clock.getAsLong();
+        for (Map.Entry<Locale, Map<String, String>> entry : builder.messages.entrySet()) {
+            Slot slot = new Slot(entry.getKey());
+            slot.store(Map.copyOf(entry.getValue()), now);
+            slots.put(entry.getKey(), slot);
+        }
+        if (this.pinnedLocale != null) {
+            slots.putIfAbsent(this.pinnedLocale, new Slot(this.pinnedLocale));
+        }
+        this.slots = Map.copyOf(slots);
+
+        this.evict();
+    }
+
+    @Override
+    public @NotNull Key name() {
+        return this.name;
+    }
+
+    @Override
+    public @NotNull TriState hasAnyTranslations() {
+        return this.slots.isEmpty() ? TriState.FALSE : TriState.TRUE;
+    }
+
+    /**
+     * Gets the MiniMessage string of the key for the {@link Locale}, starting to load the messages of the {@link Locale} if they have been evicted.
+     *
+     * @param key    the key of the message
+     * @param locale the {@link Locale} to get the message
+     * @return the MiniMessage string, or {@code null} if this translator does not have the key or its {@link Locale}s are being loaded
+     */
+    public @Nullable String message(@NotNull String key, @NotNull Locale locale) {
+        return this.getMiniMessageString(Objects.requireNonNull(key), Objects.requireNonNull(locale));
+    }
+
+    /**
+     * Gets the {@link Locale}s whose messages are currently loaded.
+     *
+     * @return the {@link Locale}s whose messages are currently loaded
+     */
+    public @NotNull @Unmodifiable List<Locale> residentLocales() {
+        List<Locale> locales = new ArrayList<>();
+        for (Slot slot : this.slots.values()) {
+            if (slot.messages != null) {
+                locales.add(slot.locale);
+            }
+        }
+        return List.copyOf(locales);
+    }
+
+    /**
+     * Gets the estimated bytes of the currently loaded messages.
+     *
+     * @return the estimated bytes of the currently loaded messages
+     * @see MessageFootprint
+     */
+    public long residentBytes() {
+        long bytes = 0;
+        for (Slot slot : this.slots.values()) {
+            if (slot.messages != null) {
+                bytes += slot.bytes;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Evicts the messages of {@link Locale}s that exceed the idle timeout or the memory budget.
+     * <p>
+     * This is also called after loading evicted messages, and on requests at most once per half of the idle timeout,
+     * so calling this method periodically is only needed to release memory while no messages are requested.
+     */
+    public void evict() {
+        this.evict(null);
+    }
+
+    private void evict(@Nullable Slot loaded) {
+        long now = this.clock.getAsLong();
+        this.lastEviction.set(now);
+
+        List<Slot> candidates = new ArrayList<>();
+        long resident = 0;
+        for (Slot slot : this.slots.values()) {
+            if (slot.messages == null) {
+                continue;
+            }
+            resident += slot.bytes;
+            if (slot != loaded && !slot.locale.equals(this.pinnedLocale)) {
+                candidates.add(slot);
+            }
+        }
+
+        candidates.sort(Comparator.comparingLong(slot -> slot.lastAccess));
+        for (Slot slot : candidates) {
+            boolean idle = now - slot.lastAccess >= this.idleTimeoutNanos;
+            if ((idle || resident > this.memoryBudget) && slot.evict()) {
+                resident -= slot.bytes;
+            }
+        }
+    }
+
+    @Override
+    protected @Nullable String getMiniMessageString(@NotNull String key, @NotNull Locale locale) {
+        long now = this.clock.getAsLong();
+        long last = this.lastEviction.get();
+        if (now - last >= this.idleTimeoutNanos / 2 && this.lastEviction.compareAndSet(last, now)) {
+            this.evict();
+        }
+
+        for (Locale fallback : LocaleFallback.chain(locale, this.pinnedLocale)) {
+            Slot slot = this.slots.get(fallback);
+            if (slot == null) {
+                continue;
+            }
+
+            Map<String, String> messages = this.messages(slot, now);
+            String message = messages != null ? messages.get(key) : null;
+            if (message != null) {
+                return message;
+            }
+        }
+
+        return null;
+    }
+
+    private @Nullable Map<String, String> messages(@NotNull Slot slot, long now) {
+        Map<String, String> messages = slot.messages;
+        if (messages != null) {
+            slot.lastAccess = now;
+            return messages;
+        }
+
+        synchronized (slot) {
+            if (slot.messages != null) {
+                slot.lastAccess = now;
+                return slot.messages;
+            }
+            if (slot.loading || (slot.failed && now - slot.failedAt < RETRY_DELAY_NANOS)) {
+                return null; // do not wait for the load, and do not retry I/O on every request after a failure
+            }
+            slot.loading = true;
+        }
+
+        try {
+            this.loadExecutor.execute(() -> this.load(slot));
+        } catch (RejectedExecutionException e) {
+            this.failed(slot);
+        }
+
+        return slot.messages; // loaded if the executor runs the load on this thread
+    }
+
+    private void load(@NotNull Slot slot) {
+        Map<String, String> loaded;
+        try {
+            loaded = Map.copyOf(Objects.requireNonNullElse(this.loader.load(slot.locale), Map.of()));
+        } catch (IOException | RuntimeException e) {
+            this.failed(slot);
+            return;
+        }
+
+        synchronized (slot) {
+            slot.store(loaded, this.clock.getAsLong());
+            slot.loading = false;
+            slot.failed = false;
+        }
+        this.evict(slot);
+    }
+
+    private void failed(@NotNull Slot slot) {
+        synchronized (slot) {
+            slot.loading = false;
+            slot.failed = true;
+            slot.failedAt = this.clock.getAsLong();
+        }
+    }
+
+    private static final class Slot {
+
+        private final Locale locale;
+        private volatile @Nullable Map<String, String> messages;
+        private volatile long lastAccess;
+        private volatile long bytes;
+        private boolean loading; // guarded by this
+        private boolean failed; // guarded by this
+        private long failedAt; // guarded by this
+
+        private Slot(@NotNull Locale locale) {
+            this.locale = locale;
+        }
+
+        private void store(@NotNull Map<String, String> messages, long now) {
+            this.bytes = MessageFootprint.estimate(Map.of(this.locale, messages)).totalBytes();
+            this.lastAccess = now;
+            this.messages = messages;
+        }
+
+        private synchronized boolean evict() {
+            if (this.messages == null || this.loading) {
+                return false;
+            }
+            this.messages = null;
+            return true;
+        }
+    }
+
+    /**
+     * A builder of {@link EvictingTranslator}.
+     */
+    public static final class Builder {
+
+        private final Key name;
+        private final Loader<Locale, Map<String, String>> loader;
+        private final Map<Locale, Map<String, String>> messages = new LinkedHashMap<>();
+        private @Nullable Locale pinnedLocale;
+        private long memoryBudget = Long.MAX_VALUE;
+        private Duration idleTimeout = Duration.ofMinutes(30);
+        private LongSupplier clock = System::nanoTime;
+        private Executor loadExecutor = ForkJoinPool.commonPool();
+        private @Nullable MiniMessage miniMessage;
+
+        private Builder(@NotNull Key name, @NotNull Loader<Locale, Map<String, String>> loader) {
+            this.name = name;
+            this.loader = loader;
+        }
+
+        /**
+         * Registers the loaded messages of the {@link Locale}.
+         * <p>
+         * If the {@link Locale} is already registered, the given messages will be merged into it.
+         * Only the registered {@link Locale}s and the pinned {@link Locale} are loaded again after they are evicted.
+         *
+         * @param locale     the {@link Locale} of the messages
+         * @param messageMap the messages
+         * @return this {@link Builder}
+         */
+        @Contract("_, _ -> this")
+        public @NotNull Builder register(@NotNull Locale locale, @NotNull Map<String, String> messageMap) {
+            Objects.requireNonNull(locale);
+            Objects.requireNonNull(messageMap);
+            this.messages.computeIfAbsent(locale, ignored -> new LinkedHashMap<>()).putAll(messageMap);
+            return this;
+        }
+
+        /**
+         * Sets the {@link Locale} that is never evicted and used as the last fallback.
+         *
+         * @param locale the pinned {@link Locale}
+         * @return this {@link Builder}
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder pinnedLocale(@NotNull Locale locale) {
+            this.pinnedLocale = Objects.requireNonNull(locale);
+            return this;
+        }
+
+        /**
+         * Sets the memory budget of the resident messages, estimated by {@link MessageFootprint}.
+         * <p>
+         * The default is unlimited.
+         *
+         * @param bytes the memory budget in bytes
+         * @return this {@link Builder}
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder memoryBudget(long bytes) {
+            if (bytes < 0) {
+                throw new IllegalArgumentException("bytes must not be negative");
+            }
+            this.memoryBudget = bytes;
+            return this;
+        }
+
+        /**
+         * Sets the duration after which the messages of an unused {@link Locale} are evicted.
+         * <p>
+         * The default is 30 minutes.
+         *
+         * @param idleTimeout the idle timeout
+         * @return this {@link Builder}
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder idleTimeout(@NotNull Duration idleTimeout) {
+            if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+                throw new IllegalArgumentException("idleTimeout must be positive");
+            }
+            this.idleTimeout = idleTimeout;
+            return this;
+        }
+
+        /**
+         * Sets the {@link Executor} to load the messages of evicted {@link Locale}s.
+         * <p>
+         * The default is {@link ForkJoinPool#commonPool()}. With {@code Runnable::run}, messages are loaded on the requesting thread,
+         * which blocks rendering until the load completes.
+         *
+         * @param loadExecutor the {@link Executor} to load messages
+         * @return this {@link Builder}
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder loadExecutor(@NotNull Executor loadExecutor) {
+            this.loadExecutor = Objects.requireNonNull(loadExecutor);
+            return this;
+        }
+
+        /**
+         * Sets the {@link MiniMessage} to deserialize messages.
+         *
+         * @param miniMessage the {@link MiniMessage}
+         * @return this {@link Builder}
+         */
+        @Contract("_ -> this")
+        public @NotNull Builder miniMessage(@NotNull MiniMessage miniMessage) {
+            this.miniMessage = Objects.requireNonNull(miniMessage);
+            return this;
+        }
+
+        @Contract("_ -> this")
+        @NotNull Builder clock(@NotNull LongSupplier clock) {
+            this.clock = Objects.requireNonNull(clock);
+            return this;
+        }
+
+        /**
+         * Builds a new {@link EvictingTranslator}.
+         * <p>
+         * Messages that exceed the memory budget are evicted at once.
+         *
+         * @return a new {@link EvictingTranslator}
+         */
+        @Contract(" -> new")
+        public @NotNull EvictingTranslator build() {
+            return new EvictingTranslator(this.miniMessage != null ? this.miniMessage : MiniMessage.miniMessage(), this);
+        }
+    }
+}
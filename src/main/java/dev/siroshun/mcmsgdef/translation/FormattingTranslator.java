@@ -0,0 +1,353 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import dev.siroshun.mcmsgdef.Placeholder;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.translation.GlobalTranslator;
+import net.kyori.adventure.translation.Translator;
+import net.kyori.adventure.util.TriState;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Currency;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A {@link Translator} that formats numbers, durations and timestamps for the rendering {@link Locale}.
+ * <p>
+ * The {@link Placeholder}s created by this class return {@link TranslatableComponent}s that carry the value as a translation argument.
+ * When they are rendered through {@link GlobalTranslator}, this translator formats the value with the {@link Locale} of the rendering,
+ * so this translator must be registered to {@link GlobalTranslator} with {@link #register()}.
+ * Without it, the value is displayed as the fallback string of the component.
+ * <p>
+ * Formatters are created once per format and {@link Locale}.
+ * Since {@link NumberFormat}s are not thread-safe, they are pooled and borrowed for each formatting.
+ * Rendering {@link Locale}s come from clients, so formatters are cached for at most 256 formats and 256 {@link Locale}s per format;
+ * beyond that, a formatter is created for each formatting.
+ */
+public final class FormattingTranslator implements Translator {
+
+    private static final Key NAME = Key.key("mcmsgdef", "formatting");
+
+    private static final String KEY_PREFIX = "mcmsgdef.format.";
+    private static final String NUMBER = KEY_PREFIX + "number";
+    private static final String PERCENT = KEY_PREFIX + "percent";
+    private static final String CURRENCY = KEY_PREFIX + "currency";
+    private static final String DURATION = KEY_PREFIX + "duration";
+    private static final String TIMESTAMP = KEY_PREFIX + "timestamp";
+    private static final char SEPARATOR = ':';
+
+    private static final int POOL_SIZE = 16;
+    private static final int MAX_FORMATS = 256;
+    private static final int MAX_LOCALES = 256;
+
+    private static final FormattingTranslator INSTANCE = new FormattingTranslator();
+
+    /**
+     * Gets the {@link FormattingTranslator}.
+     *
+     * @return the {@link FormattingTranslator}
+     */
+    public static @NotNull FormattingTranslator instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Creates a {@link Placeholder} that formats numbers with the number format of the {@link Locale}.
+     *
+     * @return a {@link Placeholder} that formats numbers
+     */
+    @Contract(pure = true)
+    public static @NotNull Placeholder<Number> number() {
+        return number -> numeric(NUMBER, number);
+    }
+
+    /**
+     * Creates a {@link Placeholder} that formats numbers with the number format of the {@link Locale}
+     * and the specified number of fraction digits.
+     *
+     * @param minFractionDigits the minimum number of fraction digits
+     * @param maxFractionDigits the maximum number of fraction digits
+     * @return a {@link Placeholder} that formats numbers
+     * @throws IllegalArgumentException if the minimum is negative or greater than the maximum
+     */
+    @Contract(pure = true)
+    public static @NotNull Placeholder<Number> number(int minFractionDigits, int maxFractionDigits) {
+        if (minFractionDigits < 0 || maxFractionDigits < minFractionDigits) {
+            throw new IllegalArgumentException("invalid fraction digits: " + minFractionDigits + ", " + maxFractionDigits);
+        }
+        String key = NUMBER + SEPARATOR + minFractionDigits + SEPARATOR + maxFractionDigits;
+        return number -> numeric(key, number);
+    }
+
+    /**
+     * Creates a {@link Placeholder} that formats numbers as percentages, where {@code 0.5} is formatted as {@code 50%}.
+     *
+     * @return a {@link Placeholder} that formats percentages
+     */
+    @Contract(pure = true)
+    public static @NotNull Placeholder<Number> percent() {
+        return number -> numeric(PERCENT, number);
+    }
+
+    /**
+     * Creates a {@link Placeholder} that formats numbers as amounts of the {@link Currency}.
+     *
+     * @param currency the {@link Currency} of amounts
+     * @return a {@link Placeholder} that formats amounts of the {@link Currency}
+     */
+    @Contract(pure = true)
+    public static @NotNull Placeholder<Number> currency(@NotNull Currency currency) {
+        String key = CURRENCY + SEPARATOR + currency.getCurrencyCode();
+        return number -> numeric(key, number);
+    }
+
+    /**
+     * Creates a {@link Placeholder} that formats {@link Duration}s as {@code H:MM:SS}, using the digits of the {@link Locale}.
+     * <p>
+     * The fraction of a second is truncated, and negative durations are formatted with a leading minus sign.
+     *
+     * @return a {@link Placeholder} that formats {@link Duration}s
+     */
+    @Contract(pure = true)
+    public static @NotNull Placeholder<Duration> duration() {
+        return duration -> Component.translatable()
+            .key(DURATION)
+            .fallback(duration.toString())
+            .arguments(TranslationArgument.numeric(duration.getSeconds()))
+            .build();
+    }
+
+    /**
+     * Creates a {@link Placeholder} that formats {@link Instant}s with the localized date-time format of the {@link Locale}.
+     *
+     * @param style the {@link FormatStyle} of the date-time format
+     * @param zone  the {@link ZoneId} to display {@link Instant}s in
+     * @return a {@link Placeholder} that formats {@link Instant}s
+     */
+    @Contract(pure = true)
+    public static @NotNull Placeholder<Instant> timestamp(@NotNull FormatStyle style, @NotNull ZoneId zone) {
+        String key = TIMESTAMP + SEPARATOR + style.name() + SEPARATOR + zone.getId();
+        return instant -> Component.translatable()
+            .key(key)
+            .fallback(instant.toString())
+            .arguments(TranslationArgument.numeric(instant.toEpochMilli()))
+            .build();
+    }
+
+    private static @NotNull TranslatableComponent numeric(@NotNull String key, @NotNull Number number) {
+        return Component.translatable()
+            .key(key)
+            .fallback(number.toString())
+            .arguments(TranslationArgument.numeric(number))
+            .build();
+    }
+
+    private final Map<String, Formatter> formatters = new ConcurrentHashMap<>();
+
+    private FormattingTranslator() {
+    }
+
+    /**
+     * Registers this translator to {@link GlobalTranslator}.
+     *
+     * @return {@code true} if this translator has been registered, or {@code false} if it is already registered
+     */
+    public boolean register() {
+        return GlobalTranslator.translator().addSource(this);
+    }
+
+    /**
+     * Unregisters this translator from {@link GlobalTranslator}.
+     *
+     * @return {@code true} if this translator has been unregistered, or {@code false} if it is not registered
+     */
+    public boolean unregister() {
+        return GlobalTranslator.translator().removeSource(this);
+    }
+
+    @Override
+    public @NotNull Key name() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull TriState hasAnyTranslations() {
+        return TriState.TRUE;
+    }
+
+    @Override
+    public boolean canTranslate(@NotNull String key, @NotNull Locale locale) {
+        return this.formatter(key) != null;
+    }
+
+    @Override
+    public @Nullable MessageFormat translate(@NotNull String key, @NotNull Locale locale) {
+        return null;
+    }
+
+    @Override
+    public @Nullable Component translate(@NotNull TranslatableComponent component, @NotNull Locale locale) {
+        Formatter formatter = this.formatter(component.key());
+        List<TranslationArgument> arguments = component.arguments();
+        if (formatter == null || arguments.size() != 1 || !(arguments.getFirst().value() instanceof Number number)) {
+            return null;
+        }
+
+        return Component.text()
+            .content(formatter.format(number, locale))
+            .style(component.style())
+            .append(component.children())
+            .build();
+    }
+
+    private @Nullable Formatter formatter(@NotNull String key) {
+        if (!key.startsWith(KEY_PREFIX)) {
+            return null;
+        }
+
+        Formatter formatter = this.formatters.get(key);
+        if (formatter == null) {
+            // Not cached if the key is invalid, so that unknown keys do not fill the map.
+            formatter = parse(key);
+            if (formatter != null && this.formatters.size() < MAX_FORMATS) {
+                Formatter previous = this.formatters.putIfAbsent(key, formatter);
+                formatter = previous != null ? previous : formatter;
+            }
+        }
+        return formatter;
+    }
+
+    private static @Nullable Formatter parse(@NotNull String key) {
+        String[] parts = key.split(String.valueOf(SEPARATOR), -1);
+        try {
+            return switch (parts[0]) {
+                case NUMBER -> {
+                    if (parts.length == 1) {
+                        yield new NumberFormatter(NumberFormat::getNumberInstance);
+                    } else if (parts.length == 3) {
+                        int min = Integer.parseInt(parts[1]);
+                        int max = Integer.parseInt(parts[2]);
+                        yield min < 0 || max < min ? null : new NumberFormatter(locale -> {
+                            NumberFormat format = NumberFormat.getNumberInstance(locale);
+                            format.setMinimumFractionDigits(min);
+                            format.setMaximumFractionDigits(max);
+                            return format;
+                        });
+                    }
+                    yield null;
+                }
+                case PERCENT -> parts.length == 1 ? new NumberFormatter(NumberFormat::getPercentInstance) : null;
+                case CURRENCY -> {
+                    if (parts.length != 2) {
+                        yield null;
+                    }
+                    Currency currency = Currency.getInstance(parts[1]);
+                    yield new NumberFormatter(locale -> {
+                        NumberFormat format = NumberFormat.getCurrencyInstance(locale);
+                        format.setCurrency(currency);
+                        format.setMinimumFractionDigits(currency.getDefaultFractionDigits());
+                        format.setMaximumFractionDigits(currency.getDefaultFractionDigits());
+                        return format;
+                    });
+                }
+                case DURATION -> parts.length == 1 ? new DurationFormatter() : null;
+                case TIMESTAMP -> {
+                    if (parts.length != 3) {
+                        yield null;
+                    }
+                    FormatStyle style = FormatStyle.valueOf(parts[1]);
+                    ZoneId zone = ZoneId.of(parts[2]);
+                    yield new TimestampFormatter(locale -> DateTimeFormatter.ofLocalizedDateTime(style).withLocale(locale).withZone(zone));
+                }
+                default -> null;
+            };
+        } catch (IllegalArgumentException | DateTimeException e) {
+            return null;
+        }
+    }
+
+    private sealed interface Formatter permits NumberFormatter, DurationFormatter, TimestampFormatter {
+        @NotNull String format(@NotNull Number value, @NotNull Locale locale);
+    }
+
+    private static final class NumberFormatter implements Formatter {
+
+        private final Function<Locale, NumberFormat> factory;
+        private final Map<Locale, Queue<NumberFormat>> pools = new ConcurrentHashMap<>();
+
+        private NumberFormatter(@NotNull Function<Locale, NumberFormat> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public @NotNull String format(@NotNull Number value, @NotNull Locale locale) {
+            Queue<NumberFormat> pool = this.pools.get(locale);
+            if (pool == null) {
+                if (MAX_LOCALES <= this.pools.size()) {
+                    return this.factory.apply(locale).format(value);
+                }
+                pool = this.pools.computeIfAbsent(locale, ignored -> new ArrayBlockingQueue<>(POOL_SIZE));
+            }
+
+            NumberFormat format = pool.poll();
+            if (format == null) {
+                format = this.factory.apply(locale);
+            }
+
+            try {
+                return format.format(value);
+            } finally {
+                pool.offer(format); // dropped if the pool is full
+            }
+        }
+    }
+
+    private static final class DurationFormatter implements Formatter {
+        @Override
+        public @NotNull String format(@NotNull Number value, @NotNull Locale locale) {
+            long seconds = value.longValue();
+            long abs = Math.abs(seconds);
+            return String.format(locale, seconds < 0 ? "-%d:%02d:%02d" : "%d:%02d:%02d", abs / 3600, abs / 60 % 60, abs % 60);
+        }
+    }
+
+    private static final class TimestampFormatter implements Formatter {
+
+        private final Function<Locale, DateTimeFormatter> factory;
+        private final Map<Locale, DateTimeFormatter> formatters = new ConcurrentHashMap<>();
+
+        private TimestampFormatter(@NotNull Function<Locale, DateTimeFormatter> factory) {
+            this.factory = factory;
+        }
+
+        @Override
+        public @NotNull String format(@NotNull Number value, @NotNull Locale locale) {
+            DateTimeFormatter formatter = this.formatters.get(locale);
+            if (formatter == null) {
+                formatter = this.factory.apply(locale);
+                if (this.formatters.size() < MAX_LOCALES) {
+                    this.formatters.putIfAbsent(locale, formatter);
+                }
+            }
+            return formatter.format(Instant.ofEpochMilli(value.longValue()));
+        }
+    }
+}
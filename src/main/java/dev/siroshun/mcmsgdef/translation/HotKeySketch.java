@@ -0,0 +1,122 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A bounded heavy-hitter sketch based on the Space-Saving algorithm.
+ * <p>
+ * This class holds at most {@code capacity} keys. When a new key arrives at a full sketch,
+ * the key with the smallest count is replaced, and the new key inherits its count as the error.
+ * <p>
+ * This class is not thread-safe; the caller must synchronize on the instance.
+ */
+final class HotKeySketch {
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    HotKeySketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    void increment(@NotNull String key) {
+        Counter counter = this.counters.get(key);
+
+        if (counter != null) {
+            counter.count++;
+            return;
+        }
+
+        if (this.counters.size() < this.capacity) {
+            this.counters.put(key, new Counter(1, 0));
+            return;
+        }
+
+        String minKey = null;
+        Counter min = null;
+        for (Map.Entry<String, Counter> entry : this.counters.entrySet()) {
+            if (min == null || entry.getValue().count < min.count) {
+                minKey = entry.getKey();
+                min = entry.getValue();
+            }
+        }
+
+        this.counters.remove(minKey);
+        this.counters.put(key, new Counter(min.count + 1, min.count));
+    }
+
+    @NotNull Stripe stripe() {
+        Map<String, long[]> counters = new HashMap<>(this.counters.size() * 2);
+        long min = Long.MAX_VALUE;
+        for (Map.Entry<String, Counter> entry : this.counters.entrySet()) {
+            Counter counter = entry.getValue();
+            counters.put(entry.getKey(), new long[]{counter.count, counter.error});
+            min = Math.min(min, counter.count);
+        }
+        return new Stripe(counters, this.counters.size() < this.capacity ? 0 : min);
+    }
+
+    /**
+     * Merges the stripes into the map of key to {@code {count, error}}.
+     * <p>
+     * A key that a full stripe does not hold may have been counted there up to the smallest count of the stripe before it was replaced,
+     * so that count is added to both the count and the error of the key. This keeps the merged count from underestimating the actual count.
+     *
+     * @param stripes the stripes to merge
+     * @return the merged counters
+     */
+    static @NotNull Map<String, long[]> merge(@NotNull List<Stripe> stripes) {
+        Set<String> keys = new HashSet<>();
+        for (Stripe stripe : stripes) {
+            keys.addAll(stripe.counters.keySet());
+        }
+
+        Map<String, long[]> result = new HashMap<>(keys.size() * 2);
+        for (String key : keys) {
+            long[] merged = new long[2];
+            for (Stripe stripe : stripes) {
+                long[] counter = stripe.counters.get(key);
+                if (counter != null) {
+                    merged[0] += counter[0];
+                    merged[1] += counter[1];
+                } else {
+                    merged[0] += stripe.floor;
+                    merged[1] += stripe.floor;
+                }
+            }
+            result.put(key, merged);
+        }
+        return result;
+    }
+
+    void clear() {
+        this.counters.clear();
+    }
+
+    /**
+     * A copy of the counters of a {@link HotKeySketch}.
+     *
+     * @param counters the map of key to {@code {count, error}}
+     * @param floor    the maximum count of a key that is not held, which is the smallest count if the sketch is full, otherwise 0
+     */
+    record Stripe(@NotNull Map<String, long[]> counters, long floor) {
+    }
+
+    private static final class Counter {
+
+        private long count;
+        private final long error;
+
+        private Counter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.translation.TranslationStore;
+import net.kyori.adventure.translation.Translator;
+import net.kyori.adventure.util.TriState;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link Translator} that wraps another {@link Translator} and counts translations at runtime.
+ * <p>
+ * Hits, fallbacks and misses are counted per requested {@link Locale} with {@link LongAdder}s.
+ * A fallback is a translation that succeeded without a message for exactly the requested {@link Locale};
+ * it can be detected only when the wrapped translator is a {@link TranslationStore} or a {@link ColumnarTranslator}.
+ * <p>
+ * Since requested {@link Locale}s are chosen by clients, a {@link Locale} gets its own counters only if the wrapped translator has it,
+ * up to 64 {@link Locale}s. The {@link Locale}s of a {@link ColumnarTranslator} are known from the start. For other translators,
+ * such as {@link TranslationStore}s that do not expose their {@link Locale}s, they are given by
+ * {@link #wrap(Translator, Collection, Collection, int)}, or otherwise learned when a message is found for exactly that {@link Locale}.
+ * Requests for other {@link Locale}s are counted together in {@link Snapshot#otherLocales()}.
+ * <p>
+ * The hottest keys are tracked by bounded Space-Saving sketches, striped by thread to avoid contention.
+ * <p>
+ * Misses are counted only for known keys, because a translator registered
+ * to {@link net.kyori.adventure.translation.GlobalTranslator} is also asked for keys of other translators.
+ */
+public final class InstrumentedTranslator implements Translator {
+
+    /**
+     * The default number of keys that the hot key sketch holds per stripe.
+     */
+    public static final int DEFAULT_HOT_KEY_CAPACITY = 64;
+
+    private static final int MAX_MISSING_KEYS_PER_LOCALE = 256;
+    private static final int MAX_LOCALES = 64;
+
+    /**
+     * Wraps the {@link Translator}.
+     * <p>
+     * Since known keys are not given, misses are not counted.
+     *
+     * @param delegate the {@link Translator} to wrap
+     * @return a new {@link InstrumentedTranslator}
+     */
+    @Contract("_ -> new")
+    public static @NotNull InstrumentedTranslator wrap(@NotNull Translator delegate) {
+        return new InstrumentedTranslator(Objects.requireNonNull(delegate), null, null, DEFAULT_HOT_KEY_CAPACITY);
+    }
+
+    /**
+     * Wraps the {@link Translator}.
+     * <p>
+     * The known keys are used to count misses and report keys that have never been rendered.
+     *
+     * @param delegate       the {@link Translator} to wrap
+     * @param knownKeys      the keys that the {@link Translator} should have
+     * @param hotKeyCapacity the number of keys that the hot key sketch holds per stripe
+     * @return a new {@link InstrumentedTranslator}
+     */
+    @Contract("_, _, _ -> new")
+    public static @NotNull InstrumentedTranslator wrap(@NotNull Translator delegate, @NotNull Collection<String> knownKeys, int hotKeyCapacity) {
+        Objects.requireNonNull(delegate);
+        if (hotKeyCapacity < 1) {
+            throw new IllegalArgumentException("hotKeyCapacity must be positive");
+        }
+        return new InstrumentedTranslator(delegate, Set.copyOf(knownKeys), null, hotKeyCapacity);
+    }
+
+    /**
+     * Wraps the {@link Translator} with the {@link Locale}s that it has.
+     * <p>
+     * The known {@link Locale}s get their own counters from the first request, so fallbacks and misses of them
+     * are not counted in {@link Snapshot#otherLocales()} before a message is found for them.
+     * This is for translators that do not expose their {@link Locale}s, such as {@link TranslationStore}s.
+     *
+     * @param delegate       the {@link Translator} to wrap
+     * @param knownKeys      the keys that the {@link Translator} should have
+     * @param knownLocales   the {@link Locale}s that the {@link Translator} has
+     * @param hotKeyCapacity the number of keys that the hot key sketch holds per stripe
+     * @return a new {@link InstrumentedTranslator}
+     */
+    @Contract("_, _, _, _ -> new")
+    public static @NotNull InstrumentedTranslator wrap(@NotNull Translator delegate, @NotNull Collection<String> knownKeys,
+                                                       @NotNull Collection<Locale> knownLocales, int hotKeyCapacity) {
+        Objects.requireNonNull(delegate);
+        if (hotKeyCapacity < 1) {
+            throw new IllegalArgumentException("hotKeyCapacity must be positive");
+        }
+        return new InstrumentedTranslator(delegate, Set.copyOf(knownKeys), Set.copyOf(knownLocales), hotKeyCapacity);
+    }
+
+    private final Translator delegate;
+    private final @Nullable Set<String> knownKeys;
+    private final @Nullable Set<Locale> knownLocales;
+    private final Set<String> renderedKeys = ConcurrentHashMap.newKeySet();
+    private final Map<Locale, LocaleCounters> counters = new ConcurrentHashMap<>();
+    private volatile LocaleCounters otherLocales = new LocaleCounters();
+    private final HotKeySketch[] sketches;
+    private final int hotKeyCapacity;
+
+    private InstrumentedTranslator(@NotNull Translator delegate, @Nullable Set<String> knownKeys, @Nullable Set<Locale> knownLocales, int hotKeyCapacity) {
+        this.delegate = delegate;
+        this.knownKeys = knownKeys;
+        if (knownLocales != null) {
+            this.knownLocales = knownLocales;
+        } else {
+            this.knownLocales = delegate instanceof ColumnarTranslator columnar ? Set.copyOf(columnar.locales()) : null;
+        }
+        this.hotKeyCapacity = hotKeyCapacity;
+
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 2 - 1);
+        this.sketches = new HotKeySketch[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.sketches[i] = new HotKeySketch(hotKeyCapacity);
+        }
+    }
+
+    /**
+     * Gets the wrapped {@link Translator}.
+     *
+     * @return the wrapped {@link Translator}
+     */
+    public @NotNull Translator delegate() {
+        return this.delegate;
+    }
+
+    @Override
+    public @NotNull Key name() {
+        return this.delegate.name();
+    }
+
+    @Override
+    public @NotNull TriState hasAnyTranslations() {
+        return this.delegate.hasAnyTranslations();
+    }
+
+    @Override
+    public boolean canTranslate(@NotNull String key, @NotNull Locale locale) {
+        return this.delegate.canTranslate(key, locale);
+    }
+
+    @Override
+    public @Nullable MessageFormat translate(@NotNull String key, @NotNull Locale locale) {
+        return this.delegate.translate(key, locale);
+    }
+
+    @Override
+    public @Nullable Component translate(@NotNull TranslatableComponent component, @NotNull Locale locale) {
+        Component result = this.delegate.translate(component, locale);
+        String key = component.key();
+
+        if (result == null) {
+            if (this.knownKeys != null && this.knownKeys.contains(key)) {
+                this.counters(locale, false).miss(key);
+            }
+            return null;
+        }
+
+        if (this.isFallback(key, locale)) {
+            this.counters(locale, false).fallbacks.increment();
+        } else {
+            this.counters(locale, true).hits.increment();
+        }
+
+        if (this.knownKeys != null && !this.renderedKeys.contains(key) && this.knownKeys.contains(key)) {
+            this.renderedKeys.add(key);
+        }
+
+        HotKeySketch sketch = this.sketches[(int) Thread.currentThread().threadId() & (this.sketches.length - 1)];
+        synchronized (sketch) {
+            sketch.increment(key);
+        }
+
+        return result;
+    }
+
+    /**
+     * Takes a snapshot of the current counters.
+     *
+     * @return a {@link Snapshot} of the current counters
+     */
+    public @NotNull Snapshot snapshot() {
+        Map<Locale, LocaleStats> locales = new HashMap<>(this.counters.size() * 2);
+        for (Map.Entry<Locale, LocaleCounters> entry : this.counters.entrySet()) {
+            locales.put(entry.getKey(), entry.getValue().stats());
+        }
+
+        List<HotKeySketch.Stripe> stripes = new ArrayList<>(this.sketches.length);
+        for (HotKeySketch sketch : this.sketches) {
+            synchronized (sketch) {
+                stripes.add(sketch.stripe());
+            }
+        }
+        Map<String, long[]> merged = HotKeySketch.merge(stripes);
+
+        List<HotKey> hotKeys = new ArrayList<>(merged.size());
+        merged.forEach((key, value) -> hotKeys.add(new HotKey(key, value[0], value[1])));
+        hotKeys.sort(Comparator.comparingLong(HotKey::count).reversed());
+
+        Set<String> neverRendered;
+        if (this.knownKeys == null) {
+            neverRendered = Set.of();
+        } else {
+            neverRendered = new LinkedHashSet<>(this.knownKeys);
+            neverRendered.removeAll(this.renderedKeys);
+        }
+
+        return new Snapshot(
+            Map.copyOf(locales),
+            this.otherLocales.stats(),
+            List.copyOf(hotKeys.subList(0, Math.min(this.hotKeyCapacity, hotKeys.size()))),
+            Set.copyOf(neverRendered)
+        );
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void reset() {
+        this.counters.clear();
+        this.otherLocales = new LocaleCounters();
+        this.renderedKeys.clear();
+        for (HotKeySketch sketch : this.sketches) {
+            synchronized (sketch) {
+                sketch.clear();
+            }
+        }
+    }
+
+    private boolean isFallback(@NotNull String key, @NotNull Locale locale) {
+        if (this.delegate instanceof ColumnarTranslator columnar) {
+            return !columnar.contains(key, locale);
+        } else if (this.delegate instanceof TranslationStore<?> store) {
+            return !store.contains(key, locale);
+        } else {
+            return false;
+        }
+    }
+
+    private @NotNull LocaleCounters counters(@NotNull Locale locale, boolean found) {
+        LocaleCounters counters = this.counters.get(locale);
+        if (counters != null) {
+            return counters;
+        }
+
+        boolean known = found || this.knownLocales != null && this.knownLocales.contains(locale);
+        if (!known || this.counters.size() >= MAX_LOCALES) {
+            return this.otherLocales;
+        }
+
+        return this.counters.computeIfAbsent(locale, ignored -> new LocaleCounters());
+    }
+
+    /**
+     * A record of the snapshot of {@link InstrumentedTranslator}.
+     *
+     * @param locales           the {@link LocaleStats} per requested {@link Locale} that the wrapped translator has
+     * @param otherLocales      the {@link LocaleStats} of all other requested {@link Locale}s
+     * @param hotKeys           the hottest keys, ordered by estimated count descending
+     * @param neverRenderedKeys the known keys that have never been rendered, or an empty set if known keys are not given
+     */
+    public record Snapshot(@NotNull @Unmodifiable Map<Locale, LocaleStats> locales,
+                           @NotNull LocaleStats otherLocales,
+                           @NotNull @Unmodifiable List<HotKey> hotKeys,
+                           @NotNull @Unmodifiable Set<String> neverRenderedKeys) {
+
+        /**
+         * Creates a new {@link Snapshot}.
+         *
+         * @param locales           the {@link LocaleStats} per requested {@link Locale} that the wrapped translator has
+         * @param otherLocales      the {@link LocaleStats} of all other requested {@link Locale}s
+         * @param hotKeys           the hottest keys, ordered by estimated count descending
+         * @param neverRenderedKeys the known keys that have never been rendered, or an empty set if known keys are not given
+         */
+        public Snapshot {
+            Objects.requireNonNull(locales);
+            Objects.requireNonNull(otherLocales);
+            Objects.requireNonNull(hotKeys);
+            Objects.requireNonNull(neverRenderedKeys);
+        }
+    }
+
+    /**
+     * A record of counters of a requested {@link Locale}.
+     *
+     * @param hits        the number of translations found for exactly the {@link Locale}
+     * @param fallbacks   the number of translations found by falling back to other {@link Locale}s
+     * @param misses      the number of translations of known keys not found
+     * @param missingKeys the known keys that were not found, up to 256 keys
+     */
+    public record LocaleStats(long hits, long fallbacks, long misses, @NotNull @Unmodifiable Set<String> missingKeys) {
+
+        /**
+         * Creates a new {@link LocaleStats}.
+         *
+         * @param hits        the number of translations found for exactly the {@link Locale}
+         * @param fallbacks   the number of translations found by falling back to other {@link Locale}s
+         * @param misses      the number of translations of known keys not found
+         * @param missingKeys the known keys that were not found, up to 256 keys
+         */
+        public LocaleStats {
+            Objects.requireNonNull(missingKeys);
+        }
+    }
+
+    /**
+     * A record of a hot key.
+     *
+     * @param key   the key of the message
+     * @param count the estimated number of renders, which never underestimates the actual number
+     * @param error the maximum overestimation of {@link #count()}
+     */
+    public record HotKey(@NotNull String key, long count, long error) {
+
+        /**
+         * Creates a new {@link HotKey}.
+         *
+         * @param key   the key of the message
+         * @param count the estimated number of renders, which never underestimates the actual number
+         * @param error the maximum overestimation of {@link #count()}
+         */
+        public HotKey {
+            Objects.requireNonNull(key);
+        }
+    }
+
+    private static final class LocaleCounters {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder fallbacks = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final Set<String> missingKeys = ConcurrentHashMap.newKeySet();
+
+        private void miss(@NotNull String key) {
+            this.misses.increment();
+            if (this.missingKeys.size() < MAX_MISSING_KEYS_PER_LOCALE) {
+                this.missingKeys.add(key);
+            }
+        }
+
+        private @NotNull LocaleStats stats() {
+            return new LocaleStats(this.hits.sum(), this.fallbacks.sum(), this.misses.sum(), Set.copyOf(this.missingKeys));
+        }
+    }
+}
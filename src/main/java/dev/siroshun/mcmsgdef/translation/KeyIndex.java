@@ -0,0 +1,79 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * An immutable open-addressing table that maps message keys to dense {@code int} indexes.
+ */
+final class KeyIndex {
+
+    static @NotNull KeyIndex create(@NotNull Collection<String> keys) {
+        String[] array = keys.toArray(String[]::new);
+        int capacity = Integer.highestOneBit(Math.max(2, array.length * 2 - 1)) << 1;
+        String[] table = new String[capacity];
+        int[] indexes = new int[capacity];
+        int mask = capacity - 1;
+
+        for (int i = 0; i < array.length; i++) {
+            String key = Objects.requireNonNull(array[i]);
+            int pos = spread(key.hashCode()) & mask;
+            while (table[pos] != null) {
+                if (table[pos].equals(key)) {
+                    throw new IllegalArgumentException("Duplicate key: " + key);
+                }
+                pos = (pos + 1) & mask;
+            }
+            table[pos] = key;
+            indexes[pos] = i;
+        }
+
+        return new KeyIndex(array, table, indexes);
+    }
+
+    private final String[] keys;
+    private final String[] table;
+    private final int[] indexes;
+    private final int mask;
+
+    private KeyIndex(@NotNull String[] keys, @NotNull String[] table, int[] indexes) {
+        this.keys = keys;
+        this.table = table;
+        this.indexes = indexes;
+        this.mask = table.length - 1;
+    }
+
+    int indexOf(@NotNull String key) {
+        int pos = spread(key.hashCode()) & this.mask;
+        String candidate;
+        while ((candidate = this.table[pos]) != null) {
+            if (candidate.equals(key)) {
+                return this.indexes[pos];
+            }
+            pos = (pos + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    @NotNull String key(int index) {
+        return this.keys[index];
+    }
+
+    int size() {
+        return this.keys.length;
+    }
+
+    long estimateFootprint(@NotNull MessageFootprint.Estimator estimator) {
+        long bytes = estimator.array(this.keys) + estimator.array(this.table) + estimator.array(this.indexes);
+        for (String key : this.keys) {
+            bytes += estimator.string(key);
+        }
+        return bytes;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,52 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A utility class to compute fallback chains of {@link Locale}s.
+ */
+final class LocaleFallback {
+
+    /**
+     * Creates the fallback chain of the {@link Locale}.
+     * <p>
+     * The chain is ordered as {@code language_COUNTRY_variant -> language_COUNTRY -> language -> defaultLocale}.
+     *
+     * @param locale        the {@link Locale} to create the chain
+     * @param defaultLocale the {@link Locale} to use at the end of the chain
+     * @return the fallback chain, starting with the given {@link Locale}
+     */
+    static @NotNull List<Locale> chain(@NotNull Locale locale, @Nullable Locale defaultLocale) {
+        List<Locale> chain = new ArrayList<>(4);
+        chain.add(locale);
+
+        if (!locale.getVariant().isEmpty() || !locale.getScript().isEmpty()) {
+            addIfAbsent(chain, Locale.of(locale.getLanguage(), locale.getCountry()));
+        }
+
+        if (!locale.getCountry().isEmpty()) {
+            addIfAbsent(chain, Locale.of(locale.getLanguage()));
+        }
+
+        if (defaultLocale != null) {
+            addIfAbsent(chain, defaultLocale);
+        }
+
+        return chain;
+    }
+
+    private static void addIfAbsent(@NotNull List<Locale> chain, @NotNull Locale locale) {
+        if (!chain.contains(locale)) {
+            chain.add(locale);
+        }
+    }
+
+    private LocaleFallback() {
+        throw new UnsupportedOperationException();
+    }
+}
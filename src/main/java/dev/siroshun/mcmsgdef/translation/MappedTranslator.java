@@ -0,0 +1,419 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslator;
+import net.kyori.adventure.util.TriState;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable {@link net.kyori.adventure.translation.Translator} that reads MiniMessage strings from a memory-mapped file.
+ * <p>
+ * The file is written by {@link #write(ColumnarTranslator, Path)} and contains all messages as a single UTF-8 blob
+ * with an offset index per {@link Locale}. Fallbacks are resolved when writing, and identical strings are stored once.
+ * The message strings stay in the file: only the key index is held on the heap, a message is decoded when it is looked up,
+ * and decoded messages are kept in a small cache. The cache is a lock-free array indexed by the offset of the message,
+ * so a hit costs one array read, and a message that collides with another replaces it.
+ * <p>
+ * On opening, the header, the offset index and the length of the message blob are validated against the size of the file,
+ * so a truncated or corrupted file fails with {@link IOException} instead of failing on a later lookup.
+ * <p>
+ * The file is mapped read-only, so processes on the same host that open the same file share its pages.
+ * Since the file is replaced atomically by {@link #write(ColumnarTranslator, Path)},
+ * translators that have already opened the old file keep reading it until they are garbage collected.
+ * On Windows, a file that is mapped cannot be replaced, so a new file should be written to another path while the old one is open.
+ */
+public final class MappedTranslator extends MiniMessageTranslator {
+
+    /**
+     * The default number of decoded messages that the cache holds.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private static final int MAGIC = 0x4D434D44; // MCMD
+    private static final int VERSION = 2;
+    private static final int MISSING = -1;
+    private static final int HEADER_SIZE = 20;
+    private static final int MAX_CACHE_SIZE = 1 << 20;
+    private static final int MAX_UNKNOWN_LOCALES = 256;
+
+    /**
+     * Writes the messages of the {@link ColumnarTranslator} to the file.
+     * <p>
+     * The file is written to a temporary file first, and then moved to the given path atomically
+     * if the file system supports it.
+     *
+     * @param source the {@link ColumnarTranslator} to write
+     * @param file   the path of the file
+     * @throws IOException if I/O error occurred, the messages exceed 2 GiB,
+     *                     or the file cannot be replaced because it is mapped by a {@link MappedTranslator} on Windows
+     */
+    public static void write(@NotNull ColumnarTranslator source, @NotNull Path file) throws IOException {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(file);
+
+        KeyIndex keyIndex = source.keyIndex();
+        List<Locale> locales = source.locales();
+
+        // Assign offsets to unique strings, so resolved fallbacks share the offsets of the original messages.
+        Map<String, int[]> offsets = new LinkedHashMap<>();
+        long dataSize = 0;
+        for (Locale locale : locales) {
+            for (String message : source.resolvedColumn(locale)) {
+                if (message != null && !offsets.containsKey(message)) {
+                    int length = message.getBytes(StandardCharsets.UTF_8).length;
+                    offsets.put(message, new int[]{(int) dataSize, length});
+                    dataSize += length;
+                }
+            }
+        }
+
+        if (Integer.MAX_VALUE < dataSize + (long) locales.size() * keyIndex.size() * 8) {
+            throw new IOException("Too large messages to write: " + dataSize + " bytes");
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 65536))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(locales.size());
+                out.writeInt(keyIndex.size());
+                out.writeInt(source.defaultLocale() != null ? locales.indexOf(source.defaultLocale()) : MISSING);
+
+                for (Locale locale : locales) {
+                    writeString(out, locale.toLanguageTag());
+                }
+
+                for (int i = 0; i < keyIndex.size(); i++) {
+                    writeString(out, keyIndex.key(i));
+                }
+
+                for (Locale locale : locales) {
+                    for (String message : source.resolvedColumn(locale)) {
+                        if (message == null) {
+                            out.writeInt(MISSING);
+                            out.writeInt(0);
+                        } else {
+                            int[] offset = offsets.get(message);
+                            out.writeInt(offset[0]);
+                            out.writeInt(offset[1]);
+                        }
+                    }
+                }
+
+                for (String message : offsets.keySet()) {
+                    out.write(message.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Opens the file written by {@link #write(ColumnarTranslator, Path)} with the {@link #DEFAULT_CACHE_SIZE}.
+     *
+     * @param name the name of the {@link MappedTranslator}
+     * @param file the path of the file
+     * @return a new {@link MappedTranslator}
+     * @throws IOException if I/O error occurred, or the file is not written by {@link #write(ColumnarTranslator, Path)}
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull MappedTranslator open(@NotNull Key name, @NotNull Path file) throws IOException {
+        return open(name, file, DEFAULT_CACHE_SIZE, MiniMessage.miniMessage());
+    }
+
+    /**
+     * Opens the file written by {@link #write(ColumnarTranslator, Path)}.
+     *
+     * @param name        the name of the {@link MappedTranslator}
+     * @param file        the path of the file
+     * @param cacheSize   the number of decoded messages that the cache holds, or {@code 0} to disable the cache;
+     *                    it is rounded up to a power of two, up to {@code 2^20}
+     * @param miniMessage the {@link MiniMessage} to deserialize messages
+     * @return a new {@link MappedTranslator}
+     * @throws IOException if I/O error occurred, or the file is not written by {@link #write(ColumnarTranslator, Path)}
+     */
+    @Contract("_, _, _, _ -> new")
+    public static @NotNull MappedTranslator open(@NotNull Key name, @NotNull Path file, int cacheSize, @NotNull MiniMessage miniMessage) throws IOException {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(miniMessage);
+
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize must not be negative");
+        }
+
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (Integer.MAX_VALUE < channel.size()) {
+                throw new IOException("Too large file: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            return new MappedTranslator(miniMessage, name, buffer, cacheSize);
+        } catch (IOException | RuntimeException e) {
+            throw new IOException("Invalid file: " + file, e);
+        }
+    }
+
+    private final Key name;
+    private final ByteBuffer buffer;
+    private final Locale[] locales;
+    private final @Nullable Locale defaultLocale;
+    private final KeyIndex keyIndex;
+    private final int indexBase;
+    private final int dataBase;
+    private final Map<Locale, Integer> slots;
+    private final Map<Locale, Integer> unknownSlots = new ConcurrentHashMap<>();
+    private final @Nullable MessageCache cache;
+
+    private MappedTranslator(@NotNull MiniMessage miniMessage, @NotNull Key name, @NotNull ByteBuffer buffer, int cacheSize) throws IOException {
+        super(miniMessage);
+        this.name = name;
+        this.buffer = buffer;
+
+        if (buffer.capacity() < HEADER_SIZE) {
+            throw new IOException("Truncated header: " + buffer.capacity() + " bytes");
+        }
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported file format");
+        }
+
+        int localeCount = buffer.getInt(8);
+        int keyCount = buffer.getInt(12);
+        int defaultLocaleIndex = buffer.getInt(16);
+
+        if (localeCount < 0 || keyCount < 0) {
+            throw new IOException("Invalid counts: " + localeCount + " locales, " + keyCount + " keys");
+        }
+        if (defaultLocaleIndex != MISSING && (defaultLocaleIndex < 0 || localeCount <= defaultLocaleIndex)) {
+            throw new IOException("Invalid default locale index: " + defaultLocaleIndex);
+        }
+
+        ByteBuffer reader = buffer.duplicate().position(HEADER_SIZE);
+        this.locales = new Locale[localeCount];
+        for (int i = 0; i < localeCount; i++) {
+            this.locales[i] = Locale.forLanguageTag(readString(reader));
+        }
+        this.defaultLocale = defaultLocaleIndex != MISSING ? this.locales[defaultLocaleIndex] : null;
+
+        String[] keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = readString(reader);
+        }
+        this.keyIndex = KeyIndex.create(List.of(keys));
+
+        this.indexBase = reader.position();
+        long dataBase = this.indexBase + (long) localeCount * keyCount * 8;
+        if (buffer.capacity() < dataBase) {
+            throw new IOException("Truncated offset index: " + dataBase + " bytes expected, but " + buffer.capacity() + " bytes");
+        }
+        this.dataBase = (int) dataBase;
+
+        int dataSize = buffer.capacity() - this.dataBase;
+        for (int position = this.indexBase; position < this.dataBase; position += 8) {
+            int offset = buffer.getInt(position);
+            int length = buffer.getInt(position + 4);
+            if (offset == MISSING ? length != 0 : offset < 0 || length < 0 || dataSize < (long) offset + length) {
+                throw new IOException("Invalid message offset at " + position + ": " + offset + " + " + length + " bytes, but the blob has " + dataSize + " bytes");
+            }
+        }
+
+        Map<Locale, Integer> slots = new HashMap<>(localeCount * 2);
+        for (int i = 0; i < localeCount; i++) {
+            slots.put(this.locales[i], i);
+        }
+        this.slots = slots;
+
+        this.cache = cacheSize != 0 ? new MessageCache(Math.min(cacheSize, MAX_CACHE_SIZE)) : null;
+    }
+
+    @Override
+    public @NotNull Key name() {
+        return this.name;
+    }
+
+    @Override
+    public @NotNull TriState hasAnyTranslations() {
+        return this.locales.length != 0 && this.keyIndex.size() != 0 ? TriState.TRUE : TriState.FALSE;
+    }
+
+    @Override
+    public boolean canTranslate(@NotNull String key, @NotNull Locale locale) {
+        return this.offsetPosition(key, locale) != MISSING;
+    }
+
+    /**
+     * Gets the MiniMessage string of the key for the {@link Locale}.
+     *
+     * @param key    the key of the message
+     * @param locale the {@link Locale} to get the message
+     * @return the MiniMessage string, or {@code null} if this translator does not have the key
+     */
+    public @Nullable String message(@NotNull String key, @NotNull Locale locale) {
+        return this.getMiniMessageString(Objects.requireNonNull(key), Objects.requireNonNull(locale));
+    }
+
+    /**
+     * Gets the {@link Locale}s that this translator has.
+     *
+     * @return the {@link Locale}s that this translator has
+     */
+    public @NotNull @Unmodifiable List<Locale> locales() {
+        return List.of(this.locales);
+    }
+
+    @Override
+    protected @Nullable String getMiniMessageString(@NotNull String key, @NotNull Locale locale) {
+        int position = this.offsetPosition(key, locale);
+        if (position == MISSING) {
+            return null;
+        }
+
+        int offset = this.buffer.getInt(position);
+        MessageCache cache = this.cache;
+
+        if (cache != null) {
+            String cached = cache.get(offset);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        byte[] bytes = new byte[this.buffer.getInt(position + 4)];
+        this.buffer.get(this.dataBase + offset, bytes); // absolute get does not change the state of the buffer
+        String message = new String(bytes, StandardCharsets.UTF_8);
+
+        if (cache != null) {
+            cache.put(offset, message);
+        }
+
+        return message;
+    }
+
+    private int offsetPosition(@NotNull String key, @NotNull Locale locale) {
+        int index = this.keyIndex.indexOf(key);
+        if (index == -1) {
+            return MISSING;
+        }
+
+        Integer slot = this.slots.get(locale);
+        if (slot == null) {
+            slot = this.unknownSlot(locale);
+        }
+
+        if (slot == MISSING) {
+            return MISSING;
+        }
+
+        int position = this.indexBase + (slot * this.keyIndex.size() + index) * 8;
+        return this.buffer.getInt(position) != MISSING ? position : MISSING;
+    }
+
+    private int unknownSlot(@NotNull Locale locale) {
+        // Requested locales are chosen by clients, so only a limited number of them are cached.
+        Integer slot = this.unknownSlots.get(locale);
+        if (slot != null) {
+            return slot;
+        }
+
+        int resolved = this.resolveSlot(locale);
+        if (this.unknownSlots.size() < MAX_UNKNOWN_LOCALES) {
+            this.unknownSlots.putIfAbsent(locale, resolved);
+        }
+        return resolved;
+    }
+
+    private int resolveSlot(@NotNull Locale locale) {
+        // Columns in the file are already resolved, so the first loaded locale in the chain is enough.
+        for (Locale fallback : LocaleFallback.chain(locale, this.defaultLocale)) {
+            Integer slot = this.slots.get(fallback);
+            if (slot != null) {
+                return slot;
+            }
+        }
+        return MISSING; // negative cache: this translator does not have the locale
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @NotNull String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static @NotNull String readString(@NotNull ByteBuffer reader) throws IOException {
+        if (reader.remaining() < 4) {
+            throw new IOException("Truncated string at " + reader.position());
+        }
+        int length = reader.getInt();
+        if (length < 0 || reader.remaining() < length) {
+            throw new IOException("Invalid string length at " + (reader.position() - 4) + ": " + length);
+        }
+        byte[] bytes = new byte[length];
+        reader.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class MessageCache {
+
+        private final CachedMessage[] messages; // racy reads and writes are safe since CachedMessage is immutable
+        private final int mask;
+
+        private MessageCache(int size) {
+            int capacity = size == 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+            this.messages = new CachedMessage[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private @Nullable String get(int offset) {
+            CachedMessage cached = this.messages[this.slot(offset)];
+            return cached != null && cached.offset == offset ? cached.message : null;
+        }
+
+        private void put(int offset, @NotNull String message) {
+            this.messages[this.slot(offset)] = new CachedMessage(offset, message);
+        }
+
+        private int slot(int offset) {
+            return (offset ^ (offset >>> 16)) & this.mask;
+        }
+    }
+
+    private record CachedMessage(int offset, @NotNull String message) {
+    }
+}
@@ -0,0 +1,197 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An estimate of the heap retained by loaded messages.
+ * <p>
+ * Sizes are estimated for a 64-bit JVM with compressed object pointers and compact strings.
+ * Each object is counted once even if it is referenced from multiple {@link Locale}s,
+ * and the structures shared by all {@link Locale}s, such as keys, are counted in {@link #sharedBytes()}.
+ * <p>
+ * Messages are held as MiniMessage strings and parsed on each translation, so there are no parsed templates to count.
+ */
+public final class MessageFootprint {
+
+    /**
+     * Estimates the heap retained by the messages when they are registered to a
+     * {@link net.kyori.adventure.text.minimessage.translation.MiniMessageTranslationStore}.
+     * <p>
+     * {@link dev.siroshun.mcmsgdef.directory.DirectorySource#loadWithFootprint(net.kyori.adventure.key.Key)} returns
+     * the footprint of the loaded messages without loading them again.
+     *
+     * @param messages the message maps of each {@link Locale}
+     * @return the estimated {@link MessageFootprint}
+     */
+    public static @NotNull MessageFootprint estimate(@NotNull Map<Locale, ? extends Map<String, String>> messages) {
+        Estimator estimator = new Estimator();
+        Set<String> keys = new LinkedHashSet<>();
+        Map<Locale, LocaleFootprint> locales = new LinkedHashMap<>();
+
+        for (Map.Entry<Locale, ? extends Map<String, String>> entry : messages.entrySet()) {
+            Map<String, String> messageMap = entry.getValue();
+            long valueBytes = 0;
+            for (String value : messageMap.values()) {
+                valueBytes += estimator.string(value);
+            }
+            keys.addAll(messageMap.keySet());
+            // Each key has a map of Locales to messages, and each Locale adds an entry to it.
+            long structureBytes = (long) messageMap.size() * Estimator.HASH_MAP_NODE;
+            locales.put(entry.getKey(), new LocaleFootprint(entry.getKey(), messageMap.size(), valueBytes, structureBytes));
+        }
+
+        long sharedBytes = Estimator.hashMap(keys.size());
+        for (String key : keys) {
+            sharedBytes += estimator.string(key) + Estimator.TRANSLATION_ENTRY;
+        }
+
+        return new MessageFootprint(sharedBytes, locales);
+    }
+
+    private final long sharedBytes;
+    private final Map<Locale, LocaleFootprint> locales;
+
+    MessageFootprint(long sharedBytes, @NotNull Map<Locale, LocaleFootprint> locales) {
+        this.sharedBytes = sharedBytes;
+        this.locales = Collections.unmodifiableMap(locales);
+    }
+
+    /**
+     * Gets the estimated bytes of the structures shared by all {@link Locale}s, such as keys and key indexes.
+     *
+     * @return the estimated bytes of the shared structures
+     */
+    public long sharedBytes() {
+        return this.sharedBytes;
+    }
+
+    /**
+     * Gets the {@link LocaleFootprint}s of each {@link Locale}.
+     *
+     * @return the {@link LocaleFootprint}s of each {@link Locale}
+     */
+    public @NotNull @Unmodifiable Map<Locale, LocaleFootprint> locales() {
+        return this.locales;
+    }
+
+    /**
+     * Gets the number of messages of all {@link Locale}s.
+     *
+     * @return the number of messages
+     */
+    public int entries() {
+        int entries = 0;
+        for (LocaleFootprint locale : this.locales.values()) {
+            entries += locale.entries();
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the estimated bytes of all messages, including {@link #sharedBytes()}.
+     *
+     * @return the estimated bytes of all messages
+     */
+    public long totalBytes() {
+        long total = this.sharedBytes;
+        for (LocaleFootprint locale : this.locales.values()) {
+            total += locale.totalBytes();
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "MessageFootprint{" +
+            "sharedBytes=" + this.sharedBytes +
+            ", locales=" + this.locales.values() +
+            ", totalBytes=" + this.totalBytes() +
+            '}';
+    }
+
+    /**
+     * An estimate of the heap retained by the messages of a {@link Locale}.
+     * <p>
+     * A string referenced from multiple {@link Locale}s is counted only in the first {@link Locale} that has it,
+     * so dropping a {@link Locale} releases about {@link #totalBytes()} at most; strings that later {@link Locale}s also have stay on the heap.
+     *
+     * @param locale         the {@link Locale}
+     * @param entries        the number of messages of the {@link Locale}
+     * @param valueBytes     the estimated bytes of message strings
+     * @param structureBytes the estimated bytes of maps and arrays that hold the messages
+     */
+    public record LocaleFootprint(@NotNull Locale locale, int entries, long valueBytes, long structureBytes) {
+
+        /**
+         * Creates a new {@link LocaleFootprint}.
+         *
+         * @param locale         the {@link Locale}
+         * @param entries        the number of messages of the {@link Locale}
+         * @param valueBytes     the estimated bytes of message strings
+         * @param structureBytes the estimated bytes of maps and arrays that hold the messages
+         */
+        public LocaleFootprint {
+            Objects.requireNonNull(locale);
+        }
+
+        /**
+         * Gets the estimated bytes of the messages of the {@link Locale}.
+         *
+         * @return the estimated bytes of the messages of the {@link Locale}
+         */
+        public long totalBytes() {
+            return this.valueBytes + this.structureBytes;
+        }
+    }
+
+    /**
+     * Estimates sizes of objects, counting each object once.
+     */
+    static final class Estimator {
+
+        private static final int HEADER = 12;
+        private static final int ARRAY_HEADER = 16;
+        private static final int REFERENCE = 4;
+        private static final int STRING = 24;
+        static final int HASH_MAP_NODE = 32;
+        // A Translation of AbstractTranslationStore, its ConcurrentHashMap, and an entry of the store.
+        static final int TRANSLATION_ENTRY = 24 + 64 + HASH_MAP_NODE;
+
+        private final Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        long string(@NotNull String value) {
+            if (!this.seen.add(value)) {
+                return 0;
+            }
+            boolean latin1 = value.chars().allMatch(c -> c <= 0xFF);
+            return STRING + align(ARRAY_HEADER + (long) value.length() * (latin1 ? 1 : 2));
+        }
+
+        long array(@NotNull Object[] array) {
+            return this.seen.add(array) ? align(ARRAY_HEADER + (long) array.length * REFERENCE) : 0;
+        }
+
+        long array(int @NotNull [] array) {
+            return this.seen.add(array) ? align(ARRAY_HEADER + (long) array.length * Integer.BYTES) : 0;
+        }
+
+        static long hashMap(int size) {
+            int capacity = size == 0 ? 0 : Integer.highestOneBit(Math.max(1, (int) Math.ceil(size / 0.75) - 1)) << 1;
+            return align(HEADER + 36) + (capacity == 0 ? 0 : align(ARRAY_HEADER + (long) capacity * REFERENCE)) + (long) size * HASH_MAP_NODE;
+        }
+
+        private static long align(long size) {
+            return (size + 7) & ~7L;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import dev.siroshun.mcmsgdef.file.Loader;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.translation.GlobalTranslator;
+import net.kyori.adventure.translation.Translator;
+import net.kyori.adventure.util.TriState;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A {@link Translator} that delegates to a loaded {@link Translator} and swaps it on reload.
+ * <p>
+ * This translator is registered to {@link GlobalTranslator} only once, so reloading does not make the chain of sources longer.
+ * A new {@link Translator} is fully loaded before it is published through a volatile reference,
+ * so renders never see a half-loaded one, and the old one can be garbage collected after the swap.
+ */
+public final class ReloadableTranslator implements Translator {
+
+    /**
+     * Creates a new {@link ReloadableTranslator}.
+     * <p>
+     * The returned translator has no translations until {@link #reload()} is called.
+     *
+     * @param name   the name of the {@link ReloadableTranslator}
+     * @param loader the {@link Loader} to load a new {@link Translator} from the name
+     * @return a new {@link ReloadableTranslator}
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull ReloadableTranslator create(@NotNull Key name, @NotNull Loader<Key, ? extends Translator> loader) {
+        return new ReloadableTranslator(Objects.requireNonNull(name), Objects.requireNonNull(loader));
+    }
+
+    private final Key name;
+    private final Loader<Key, ? extends Translator> loader;
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    private volatile @Nullable Translator current;
+
+    private ReloadableTranslator(@NotNull Key name, @NotNull Loader<Key, ? extends Translator> loader) {
+        this.name = name;
+        this.loader = loader;
+    }
+
+    /**
+     * Gets the current {@link Translator}.
+     *
+     * @return the current {@link Translator}, or {@code null} if not loaded yet
+     */
+    public @Nullable Translator current() {
+        return this.current;
+    }
+
+    /**
+     * Loads a new {@link Translator} and swaps the current one.
+     * <p>
+     * Reloads are serialized, so the last finished reload always wins.
+     * If loading fails, the current {@link Translator} is kept.
+     *
+     * @throws IOException if I/O error occurred
+     */
+    public void reload() throws IOException {
+        this.reloadLock.lock();
+        try {
+            this.current = Objects.requireNonNull(this.loader.load(this.name), "loader returned null");
+            this.reloadListeners.forEach(Runnable::run);
+        } finally {
+            this.reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Adds a listener that is called after each successful {@link #reload()}.
+     * <p>
+     * Listeners are called on the reloading thread, after the new {@link Translator} is swapped in.
+     *
+     * @param listener the listener to add
+     */
+    public void addReloadListener(@NotNull Runnable listener) {
+        this.reloadListeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Removes the listener added by {@link #addReloadListener(Runnable)}.
+     *
+     * @param listener the listener to remove
+     * @return {@code true} if the listener was added
+     */
+    public boolean removeReloadListener(@NotNull Runnable listener) {
+        return this.reloadListeners.remove(listener);
+    }
+
+    /**
+     * Performs {@link #reload()} on the given {@link Executor}.
+     *
+     * @param executor the {@link Executor} to perform reloading
+     * @return a {@link CompletableFuture} that completes when the new {@link Translator} is swapped in
+     */
+    public @NotNull CompletableFuture<Void> reloadAsync(@NotNull Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                this.reload();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, Objects.requireNonNull(executor));
+    }
+
+    /**
+     * Registers this translator to {@link GlobalTranslator}.
+     *
+     * @return {@code true} if this translator was not registered yet
+     */
+    public boolean register() {
+        return GlobalTranslator.translator().addSource(this);
+    }
+
+    /**
+     * Unregisters this translator from {@link GlobalTranslator} and releases the current {@link Translator}.
+     *
+     * @return {@code true} if this translator was registered
+     */
+    public boolean unregister() {
+        boolean removed = GlobalTranslator.translator().removeSource(this);
+        this.current = null;
+        return removed;
+    }
+
+    @Override
+    public @NotNull Key name() {
+        return this.name;
+    }
+
+    @Override
+    public @NotNull TriState hasAnyTranslations() {
+        Translator translator = this.current;
+        return translator != null ? translator.hasAnyTranslations() : TriState.FALSE;
+    }
+
+    @Override
+    public boolean canTranslate(@NotNull String key, @NotNull Locale locale) {
+        Translator translator = this.current;
+        return translator != null && translator.canTranslate(key, locale);
+    }
+
+    @Override
+    public @Nullable MessageFormat translate(@NotNull String key, @NotNull Locale locale) {
+        Translator translator = this.current;
+        return translator != null ? translator.translate(key, locale) : null;
+    }
+
+    @Override
+    public @Nullable Component translate(@NotNull TranslatableComponent component, @NotNull Locale locale) {
+        Translator translator = this.current;
+        return translator != null ? translator.translate(component, locale) : null;
+    }
+}
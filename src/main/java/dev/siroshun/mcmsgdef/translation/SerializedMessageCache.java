@@ -0,0 +1,121 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A cache of messages rendered by {@link GlobalTranslator} and serialized to strings.
+ * <p>
+ * This is intended for consumers that need the same message as a string repeatedly, such as scoreboards and boss bars.
+ * Messages are cached per component and {@link Locale}, so {@link dev.siroshun.mcmsgdef.MessageKey}s and
+ * {@link dev.siroshun.mcmsgdef.MessageKey.Arg1}..{@link dev.siroshun.mcmsgdef.MessageKey.Arg5} results with equal arguments share a cached string.
+ * Only the serialized strings are kept, not the rendered components.
+ * <p>
+ * Cached strings must be invalidated when translations change, for example,
+ * by passing {@link #invalidateAll()} to {@link ReloadableTranslator#addReloadListener(Runnable)}.
+ * When the number of cached strings reaches the maximum size, all of them are discarded.
+ */
+public final class SerializedMessageCache {
+
+    /**
+     * The default maximum number of cached strings.
+     */
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    /**
+     * Creates a new {@link SerializedMessageCache}.
+     *
+     * @param serializer the function to serialize rendered components, for example, {@code PlainTextComponentSerializer.plainText()::serialize}
+     * @return a new {@link SerializedMessageCache}
+     */
+    @Contract("_ -> new")
+    public static @NotNull SerializedMessageCache create(@NotNull Function<? super Component, String> serializer) {
+        return create(serializer, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new {@link SerializedMessageCache}.
+     *
+     * @param serializer the function to serialize rendered components
+     * @param maxSize    the maximum number of cached strings
+     * @return a new {@link SerializedMessageCache}
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull SerializedMessageCache create(@NotNull Function<? super Component, String> serializer, int maxSize) {
+        Objects.requireNonNull(serializer);
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        return new SerializedMessageCache(serializer, maxSize);
+    }
+
+    private final Function<? super Component, String> serializer;
+    private final int maxSize;
+    private final Map<CacheKey, String> cache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private SerializedMessageCache(@NotNull Function<? super Component, String> serializer, int maxSize) {
+        this.serializer = serializer;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets the serialized string of the message rendered for the {@link Locale}.
+     *
+     * @param message the message to render
+     * @param locale  the {@link Locale} to render the message for
+     * @return the serialized string of the rendered message
+     */
+    public @NotNull String get(@NotNull ComponentLike message, @NotNull Locale locale) {
+        CacheKey key = new CacheKey(message.asComponent(), locale);
+        String cached = this.cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = this.generation.get();
+        String serialized = Objects.requireNonNull(this.serializer.apply(GlobalTranslator.render(key.component(), locale)), "serializer returned null");
+
+        if (this.maxSize <= this.cache.size()) {
+            this.cache.clear();
+        }
+        this.cache.put(key, serialized);
+
+        // If invalidated while rendering, the string may be rendered from old translations.
+        if (generation != this.generation.get()) {
+            this.cache.remove(key, serialized);
+        }
+
+        return serialized;
+    }
+
+    /**
+     * Discards all cached strings.
+     */
+    public void invalidateAll() {
+        this.generation.incrementAndGet();
+        this.cache.clear();
+    }
+
+    /**
+     * Gets the number of cached strings.
+     *
+     * @return the number of cached strings
+     */
+    public int size() {
+        return this.cache.size();
+    }
+
+    private record CacheKey(@NotNull Component component, @NotNull Locale locale) {
+    }
+}
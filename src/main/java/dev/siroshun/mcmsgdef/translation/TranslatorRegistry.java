@@ -0,0 +1,224 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.translation.GlobalTranslator;
+import net.kyori.adventure.translation.Translator;
+import net.kyori.adventure.util.TriState;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A {@link Translator} that dispatches each key to the {@link Translator} that owns it.
+ * <p>
+ * Instead of registering many {@link Translator}s to {@link GlobalTranslator}, which asks them in turn until one knows the key,
+ * {@link Translator}s are registered to this registry with their keys, and this registry is registered to {@link GlobalTranslator} once.
+ * A translation then looks up its owner with a single hash lookup.
+ * <p>
+ * The key index is copy-on-write: registering and unregistering copy the current index, update only the keys of that {@link Translator},
+ * and publish the copy at once, so concurrent renders always see either the old or the new index.
+ * If multiple {@link Translator}s have the same key, the one registered first owns it.
+ */
+public final class TranslatorRegistry implements Translator {
+
+    private static final TranslatorRegistry SHARED = new TranslatorRegistry(Key.key("mcmsgdef", "registry"));
+
+    /**
+     * Gets the shared {@link TranslatorRegistry}.
+     * <p>
+     * The shared registry is registered to {@link GlobalTranslator} when a {@link Translator} is registered to it for the first time.
+     * <p>
+     * The shared registry is scoped per class loader, not per server: it is shared only by the users of this library
+     * loaded by the same class loader. Each plugin that shades this library has its own shared registry,
+     * and each of them is registered to {@link GlobalTranslator} separately.
+     *
+     * @return the shared {@link TranslatorRegistry}
+     */
+    public static @NotNull TranslatorRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Creates a new {@link TranslatorRegistry}.
+     * <p>
+     * Unlike {@link #shared()}, the returned registry is not registered to {@link GlobalTranslator} automatically.
+     *
+     * @param name the name of the {@link TranslatorRegistry}
+     * @return a new {@link TranslatorRegistry}
+     */
+    @Contract("_ -> new")
+    public static @NotNull TranslatorRegistry create(@NotNull Key name) {
+        return new TranslatorRegistry(Objects.requireNonNull(name));
+    }
+
+    private final Key name;
+    private final List<Registration> registrations = new ArrayList<>();
+    private volatile Map<String, Translator> index = Map.of();
+
+    private TranslatorRegistry(@NotNull Key name) {
+        this.name = name;
+    }
+
+    /**
+     * Registers the {@link Translator} with its keys.
+     * <p>
+     * If the {@link Translator} is already registered, its keys are replaced, for example, after it is reloaded.
+     *
+     * @param translator the {@link Translator} to register
+     * @param keys       the keys that the {@link Translator} can translate
+     */
+    public void register(@NotNull Translator translator, @NotNull Collection<String> keys) {
+        Objects.requireNonNull(translator);
+        Set<String> copied = Set.copyOf(keys);
+
+        synchronized (this.registrations) {
+            int index = this.indexOf(translator);
+            Registration registration = new Registration(translator, copied);
+            if (index == -1) {
+                this.registrations.add(registration);
+                this.reindex(null, registration);
+            } else {
+                this.reindex(this.registrations.set(index, registration), registration);
+            }
+        }
+
+        if (this == SHARED) {
+            GlobalTranslator.translator().addSource(this);
+        }
+    }
+
+    /**
+     * Registers the {@link ColumnarTranslator} with its keys.
+     *
+     * @param translator the {@link ColumnarTranslator} to register
+     */
+    public void register(@NotNull ColumnarTranslator translator) {
+        this.register(translator, translator.keys());
+    }
+
+    /**
+     * Unregisters the {@link Translator}.
+     *
+     * @param translator the {@link Translator} to unregister
+     * @return {@code true} if the {@link Translator} was registered
+     */
+    public boolean unregister(@NotNull Translator translator) {
+        synchronized (this.registrations) {
+            int index = this.indexOf(translator);
+            if (index == -1) {
+                return false;
+            }
+            this.reindex(this.registrations.remove(index), null);
+            return true;
+        }
+    }
+
+    /**
+     * Gets the registered {@link Translator}s in the order of registration.
+     *
+     * @return the registered {@link Translator}s
+     */
+    public @NotNull @Unmodifiable List<Translator> translators() {
+        synchronized (this.registrations) {
+            return this.registrations.stream().map(Registration::translator).toList();
+        }
+    }
+
+    /**
+     * Gets the {@link Translator} that owns the key.
+     *
+     * @param key the key of the message
+     * @return the {@link Translator} that owns the key, or {@code null} if no {@link Translator} has it
+     */
+    public @Nullable Translator owner(@NotNull String key) {
+        return this.index.get(key);
+    }
+
+    @Override
+    public @NotNull Key name() {
+        return this.name;
+    }
+
+    @Override
+    public @NotNull TriState hasAnyTranslations() {
+        return TriState.byBoolean(!this.index.isEmpty());
+    }
+
+    @Override
+    public boolean canTranslate(@NotNull String key, @NotNull Locale locale) {
+        Translator owner = this.index.get(key);
+        return owner != null && owner.canTranslate(key, locale);
+    }
+
+    @Override
+    public @Nullable MessageFormat translate(@NotNull String key, @NotNull Locale locale) {
+        Translator owner = this.index.get(key);
+        return owner != null ? owner.translate(key, locale) : null;
+    }
+
+    @Override
+    public @Nullable Component translate(@NotNull TranslatableComponent component, @NotNull Locale locale) {
+        Translator owner = this.index.get(component.key());
+        return owner != null ? owner.translate(component, locale) : null;
+    }
+
+    private int indexOf(@NotNull Translator translator) {
+        for (int i = 0; i < this.registrations.size(); i++) {
+            if (this.registrations.get(i).translator() == translator) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void reindex(@Nullable Registration removed, @Nullable Registration added) {
+        Map<String, Translator> index = new HashMap<>(this.index);
+
+        if (removed != null) {
+            for (String key : removed.keys()) {
+                if (index.get(key) == removed.translator()) {
+                    this.putOwner(index, key);
+                }
+            }
+        }
+
+        if (added != null) {
+            boolean last = this.registrations.getLast() == added;
+            for (String key : added.keys()) {
+                if (last) {
+                    index.putIfAbsent(key, added.translator()); // the translators registered before own the key
+                } else if (removed == null || !removed.keys().contains(key)) {
+                    this.putOwner(index, key);
+                }
+            }
+        }
+
+        this.index = index;
+    }
+
+    private void putOwner(@NotNull Map<String, Translator> index, @NotNull String key) {
+        for (Registration registration : this.registrations) {
+            if (registration.keys().contains(key)) {
+                index.put(key, registration.translator());
+                return;
+            }
+        }
+        index.remove(key);
+    }
+
+    private record Registration(@NotNull Translator translator, @NotNull Set<String> keys) {
+    }
+}
@@ -0,0 +1,264 @@
+package dev.siroshun.mcmsgdef;
+
+import dev.siroshun.mcmsgdef.directory.DirectorySource;
+import dev.siroshun.mcmsgdef.directory.MessageProcessors;
+import dev.siroshun.mcmsgdef.file.PropertiesFile;
+import dev.siroshun.mcmsgdef.translation.ReloadableTranslator;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.flattener.ComponentFlattener;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests that render messages while reloading and appending files.
+ * <p>
+ * These tests are excluded from the {@code test} task. Run them with {@code ./gradlew stressTest},
+ * and set the duration with {@code -PstressSeconds=<seconds>} (30 seconds by default).
+ */
+@Tag("stress")
+class ConcurrencyStressTest {
+
+    private static final long DURATION_NANOS = TimeUnit.SECONDS.toNanos(Long.getLong("mcmsgdef.stress.seconds", 30));
+    private static final int KEYS = 100;
+    private static final int RENDER_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() - 2);
+    private static final int SAMPLES_PER_THREAD = 1 << 16;
+    private static final Key KEY = Key.key("mcmsgdef", "stress");
+
+    @Test
+    void testRenderWhileReloading(@TempDir Path directory) throws Exception {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        List<MessageKey.Arg1<Integer>> keys = new ArrayList<>(KEYS);
+        for (int i = 0; i < KEYS; i++) {
+            defaults.put("k" + i, "default-k" + i + ":<arg:0>");
+            keys.add(MessageKey.arg1("k" + i, Component::text));
+        }
+
+        writeAtomically(directory.resolve("en.properties"), generation(0, 0));
+
+        ReloadableTranslator translator = DirectorySource.propertiesFiles(directory)
+            .messageProcessor(MessageProcessors.appendMissingMessagesToPropertiesFile(defaults))
+            .loadAndRegisterReloadable(KEY);
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicInteger reloading = new AtomicInteger();
+        AtomicLong reloads = new AtomicLong();
+        AtomicLong renders = new AtomicLong();
+        AtomicLong missing = new AtomicLong();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Pattern expected = Pattern.compile("(?:v\\d+|default)-k(\\d+):(\\d+)");
+
+        long[][] samples = new long[RENDER_THREADS][SAMPLES_PER_THREAD];
+        boolean[][] duringReload = new boolean[RENDER_THREADS][SAMPLES_PER_THREAD];
+        int[] sampleCounts = new int[RENDER_THREADS];
+
+        ExecutorService executor = Executors.newFixedThreadPool(RENDER_THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int generation = 1;
+                while (running.get()) {
+                    // Drop some keys so that the processor appends them while renders are running.
+                    writeAtomically(directory.resolve("en.properties"), generation(generation, generation % 10));
+                    reloading.incrementAndGet();
+                    try {
+                        translator.reload();
+                    } finally {
+                        reloading.decrementAndGet();
+                    }
+                    reloads.incrementAndGet();
+                    generation++;
+                }
+                return null;
+            }));
+
+            for (int t = 0; t < RENDER_THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int count = 0;
+
+                    while (running.get()) {
+                        int index = random.nextInt(KEYS);
+                        int argument = random.nextInt(1000);
+                        boolean reloadingNow = reloading.get() != 0;
+
+                        long begin = System.nanoTime();
+                        Component rendered = GlobalTranslator.render(keys.get(index).apply(argument), Locale.ENGLISH);
+                        long elapsed = System.nanoTime() - begin;
+
+                        samples[thread][count & (SAMPLES_PER_THREAD - 1)] = elapsed;
+                        duringReload[thread][count & (SAMPLES_PER_THREAD - 1)] = reloadingNow;
+                        count++;
+                        renders.incrementAndGet();
+
+                        if (rendered instanceof TranslatableComponent translatable && translatable.key().equals("k" + index)) {
+                            missing.incrementAndGet(); // rendered before the first load or after unregistering
+                            continue;
+                        }
+
+                        String plain = plain(rendered);
+                        var matcher = expected.matcher(plain);
+                        if (!matcher.matches() || Integer.parseInt(matcher.group(1)) != index || Integer.parseInt(matcher.group(2)) != argument) {
+                            failure.compareAndSet(null, "k" + index + " with " + argument + " was rendered as '" + plain + "'");
+                        }
+                    }
+
+                    sampleCounts[thread] = Math.min(count, SAMPLES_PER_THREAD);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            TimeUnit.NANOSECONDS.sleep(DURATION_NANOS);
+            running.set(false);
+
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+            translator.unregister();
+        }
+
+        List<Long> idle = new ArrayList<>();
+        List<Long> reload = new ArrayList<>();
+        for (int t = 0; t < RENDER_THREADS; t++) {
+            for (int i = 0; i < sampleCounts[t]; i++) {
+                (duringReload[t][i] ? reload : idle).add(samples[t][i]);
+            }
+        }
+
+        System.out.printf("renders: %d, reloads: %d, missing: %d%n", renders.get(), reloads.get(), missing.get());
+        System.out.println("render latency (idle):        " + percentiles(idle));
+        System.out.println("render latency (during reload): " + percentiles(reload));
+
+        assertNull(failure.get(), failure::get);
+        assertEquals(0, missing.get());
+        assertTrue(0 < reloads.get());
+    }
+
+    @Test
+    void testParallelLoad(@TempDir Path directory) throws Exception {
+        int sources = RENDER_THREADS * 4;
+        Map<String, String> defaults = Map.of("a", "A", "b", "B");
+
+        long deadline = System.nanoTime() + DURATION_NANOS;
+        int round = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(RENDER_THREADS);
+        try {
+            while (System.nanoTime() < deadline) {
+                List<Path> directories = new ArrayList<>(sources);
+                for (int i = 0; i < sources; i++) {
+                    Path sourceDirectory = directory.resolve(round + "-" + i);
+                    Files.createDirectories(sourceDirectory);
+                    Files.writeString(sourceDirectory.resolve("en.properties"), "a=" + i + "\n");
+                    directories.add(sourceDirectory);
+                }
+
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Map<Locale, Map<String, String>>>> futures = new ArrayList<>(sources);
+                for (Path sourceDirectory : directories) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        Map<Locale, Map<String, String>> loaded = new HashMap<>();
+                        DirectorySource.propertiesFiles(sourceDirectory)
+                            .messageProcessor(MessageProcessors.appendMissingMessagesToPropertiesFile(defaults))
+                            .defaultLocale(Locale.JAPANESE)
+                            .load(map -> loaded.put(map.locale(), map.messageMap()));
+                        return loaded;
+                    }));
+                }
+
+                start.countDown();
+                for (int i = 0; i < sources; i++) {
+                    Map<Locale, Map<String, String>> loaded = futures.get(i).get(1, TimeUnit.MINUTES);
+                    assertEquals(Map.of("a", String.valueOf(i), "b", "B"), loaded.get(Locale.ENGLISH));
+                    assertEquals(defaults, loaded.get(Locale.JAPANESE));
+                    assertEquals(Map.of("a", String.valueOf(i), "b", "B"), PropertiesFile.load(directories.get(i).resolve("en.properties")));
+                }
+
+                round++;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        System.out.printf("parallel loads: %d rounds of %d sources%n", round, sources);
+    }
+
+    private static Map<String, String> generation(int generation, int skip) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            if (skip == 0 || i % 10 != skip) {
+                map.put("k" + i, "v" + generation + "-k" + i + ":<arg:0>");
+            }
+        }
+        return map;
+    }
+
+    private static void writeAtomically(Path file, Map<String, String> map) throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), "stress", ".tmp");
+        try (var writer = Files.newBufferedWriter(temp)) {
+            PropertiesFile.append(writer, map);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String plain(Component component) {
+        StringBuilder builder = new StringBuilder();
+        ComponentFlattener.basic().flatten(component, builder::append);
+        return builder.toString();
+    }
+
+    private static String percentiles(List<Long> samples) {
+        if (samples.isEmpty()) {
+            return "no samples";
+        }
+
+        long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return String.format(
+            "n=%d p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+            sorted.length,
+            sorted[(int) (sorted.length * 0.5)] / 1000.0,
+            sorted[(int) (sorted.length * 0.99)] / 1000.0,
+            sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.999))] / 1000.0,
+            sorted[sorted.length - 1] / 1000.0
+        );
+    }
+}
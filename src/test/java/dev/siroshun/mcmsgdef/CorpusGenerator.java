@@ -0,0 +1,148 @@
+package dev.siroshun.mcmsgdef;
+
+import dev.siroshun.mcmsgdef.directory.DirectorySource;
+import dev.siroshun.mcmsgdef.file.JsonFile;
+import dev.siroshun.mcmsgdef.file.MessageAppender;
+import dev.siroshun.mcmsgdef.file.PropertiesFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates a synthetic data folder of properties or JSON files.
+ *
+ * @param locales       the number of locales
+ * @param keys          the number of keys
+ * @param valueLength   the length of each message
+ * @param nonAsciiRatio the ratio of non-ASCII characters in messages
+ * @param missingRatio  the ratio of keys that are missing from each file
+ * @param seed          the seed of random values
+ * @param format        the {@link Format} of the files
+ */
+record CorpusGenerator(int locales, int keys, int valueLength, double nonAsciiRatio, double missingRatio, long seed, @NotNull Format format) {
+
+    private static final String ASCII = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789     ";
+    private static final String NON_ASCII = "あいうえおかきくけこさしすせそたちつてとäöüßéèêçñ漢字表示設定";
+
+    CorpusGenerator {
+        if (locales < 1 || 26 * 26 < locales) {
+            throw new IllegalArgumentException("locales must be between 1 and 676");
+        }
+        if (keys < 1 || valueLength < 1) {
+            throw new IllegalArgumentException("keys and valueLength must be positive");
+        }
+        if (nonAsciiRatio < 0 || 1 < nonAsciiRatio || missingRatio < 0 || 1 < missingRatio) {
+            throw new IllegalArgumentException("ratios must be between 0 and 1");
+        }
+    }
+
+    /**
+     * Gets the {@link Locale}s of the generated files.
+     *
+     * @return the {@link Locale}s of the generated files
+     */
+    @NotNull List<Locale> localeList() {
+        List<Locale> result = new ArrayList<>(this.locales);
+        for (int i = 0; i < this.locales; i++) {
+            result.add(Locale.of(String.valueOf(new char[]{(char) ('a' + i / 26), (char) ('a' + i % 26)})));
+        }
+        return result;
+    }
+
+    /**
+     * Creates the default messages of all keys.
+     *
+     * @return the default messages
+     */
+    @NotNull Map<String, String> defaultMessages() {
+        Random random = new Random(this.seed);
+        Map<String, String> result = LinkedHashMap.newLinkedHashMap(this.keys);
+        for (int i = 0; i < this.keys; i++) {
+            result.put(key(i), this.value(random));
+        }
+        return result;
+    }
+
+    /**
+     * Writes a file of each locale to the directory.
+     *
+     * @param directory the directory to write files
+     * @return the number of written bytes
+     * @throws IOException if I/O error occurred
+     */
+    long generate(@NotNull Path directory) throws IOException {
+        Random random = new Random(this.seed ^ 0x5DEECE66DL);
+        long bytes = 0;
+
+        for (Locale locale : this.localeList()) {
+            Map<String, String> messages = LinkedHashMap.newLinkedHashMap(this.keys);
+            for (int i = 0; i < this.keys; i++) {
+                if (random.nextDouble() >= this.missingRatio) {
+                    messages.put(key(i), this.value(random));
+                }
+            }
+
+            Path file = directory.resolve(locale + this.format.extension);
+            this.format.appender.append(file, messages);
+            bytes += Files.size(file);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * The format of the generated files.
+     */
+    enum Format {
+        PROPERTIES(".properties", PropertiesFile.DEFAULT_APPENDER),
+        JSON(".json", JsonFile.DEFAULT_APPENDER);
+
+        private final String extension;
+        private final MessageAppender<Path, Map<String, String>> appender;
+
+        Format(@NotNull String extension, @NotNull MessageAppender<Path, Map<String, String>> appender) {
+            this.extension = extension;
+            this.appender = appender;
+        }
+
+        /**
+         * Creates a {@link DirectorySource} that loads the files of this format.
+         *
+         * @param directory the directory of the files
+         * @return a {@link DirectorySource} that loads the files of this format
+         */
+        @NotNull DirectorySource source(@NotNull Path directory) {
+            return this == JSON ? DirectorySource.jsonFiles(directory) : DirectorySource.propertiesFiles(directory);
+        }
+
+        /**
+         * Gets the {@link MessageAppender} that appends messages to the files of this format.
+         *
+         * @return the {@link MessageAppender} of this format
+         */
+        @NotNull MessageAppender<Path, Map<String, String>> appender() {
+            return this.appender;
+        }
+    }
+
+    private static @NotNull String key(int index) {
+        return "group" + (index % 32) + ".message" + index;
+    }
+
+    private @NotNull String value(@NotNull Random random) {
+        StringBuilder builder = new StringBuilder(this.valueLength);
+        for (int i = 0; i < this.valueLength; i++) {
+            String chars = random.nextDouble() < this.nonAsciiRatio ? NON_ASCII : ASCII;
+            builder.append(chars.charAt(random.nextInt(chars.length())));
+        }
+        return builder.toString();
+    }
+}
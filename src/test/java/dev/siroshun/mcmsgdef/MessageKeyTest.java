@@ -1,11 +1,19 @@
 package dev.siroshun.mcmsgdef;
 
+import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.flattener.ComponentFlattener;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslationStore;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class MessageKeyTest {
@@ -200,4 +208,65 @@ class MessageKeyTest {
         assertThrows(NullPointerException.class, () -> MessageKey.key(KEY).with(PLACEHOLDER_1, PLACEHOLDER_2, PLACEHOLDER_3, null, PLACEHOLDER_5));
         assertThrows(NullPointerException.class, () -> MessageKey.key(KEY).with(PLACEHOLDER_1, PLACEHOLDER_2, PLACEHOLDER_3, PLACEHOLDER_4, null));
     }
+
+    @Test
+    void testApplyLazily() {
+        MiniMessageTranslationStore store = MiniMessageTranslationStore.create(Key.key("mcmsgdef", "test"));
+        store.register(KEY, Locale.ENGLISH, "<arg:0>, <arg:0> and <arg:2>");
+
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        MessageKey.Arg3<String, Integer, Double> msg = MessageKey.arg3(
+            KEY,
+            value -> {
+                first.incrementAndGet();
+                return Component.text(value);
+            },
+            value -> {
+                second.incrementAndGet();
+                return Component.text(value);
+            },
+            PLACEHOLDER_3
+        );
+
+        Component rendered = store.translate(msg.applyLazily("a", 42, 3.14), Locale.ENGLISH);
+        assertNotNull(rendered);
+        assertEquals(Component.text().append(Component.text("a"), Component.text(", "), Component.text("a"), Component.text(" and "), Component.text(3.14)).build().compact(), rendered.compact());
+        assertEquals(1, first.get());
+        assertEquals(0, second.get());
+    }
+
+    @Test
+    void testPluralArgument() {
+        MiniMessageTranslationStore store = MiniMessageTranslationStore.create(Key.key("mcmsgdef", "test"));
+        store.register(KEY, Locale.ENGLISH, "<arg:1> has <arg:0> <plural:0:=0:'no items':one:'item':other:'items'>");
+        store.register(KEY, Locale.of("ru"), "<arg:0> <plural:0:one:'предмет':few:'предмета':many:'предметов'>");
+
+        MessageKey.Arg2<Integer, String> msg = MessageKey.arg2(KEY, PluralArgument.count(PLACEHOLDER_2), PLACEHOLDER_1);
+
+        assertEquals("a has 1 item", plain(store.translate(msg.apply(1, "a"), Locale.ENGLISH)));
+        assertEquals("a has 2 items", plain(store.translate(msg.apply(2, "a"), Locale.ENGLISH)));
+        assertEquals("a has 0 no items", plain(store.translate(msg.apply(0, "a"), Locale.ENGLISH)));
+        assertEquals("22 предмета", plain(store.translate(msg.apply(22, "a"), Locale.of("ru"))));
+        assertEquals("11 предметов", plain(store.translate(msg.apply(11, "a"), Locale.of("ru"))));
+
+        assertEquals(Component.translatable(KEY, Component.text("b"), Component.text(1)), MessageKey.arg2(KEY, PLACEHOLDER_1, PLACEHOLDER_2).apply("b", 1));
+    }
+
+    @Test
+    void testExactPluralSelector() {
+        List<String> forms = List.of("=-1", "minus one", "=1.5", "one and a half", "=2.0", "two", "other", "many");
+        assertEquals("minus one", PluralSelector.selectForm(-1, Locale.ENGLISH, forms));
+        assertEquals("minus one", PluralSelector.selectForm(new BigDecimal("-1.00"), Locale.ENGLISH, forms));
+        assertEquals("one and a half", PluralSelector.selectForm(1.5, Locale.ENGLISH, forms));
+        assertEquals("two", PluralSelector.selectForm(2L, Locale.ENGLISH, forms));
+        assertEquals("many", PluralSelector.selectForm(3, Locale.ENGLISH, forms));
+    }
+
+    private static String plain(Component component) {
+        assertNotNull(component);
+        StringBuilder builder = new StringBuilder();
+        ComponentFlattener.basic().flatten(component, builder::append);
+        return builder.toString();
+    }
 }
@@ -0,0 +1,141 @@
+package dev.siroshun.mcmsgdef;
+
+import dev.siroshun.mcmsgdef.translation.ColumnarTranslator;
+import dev.siroshun.mcmsgdef.translation.FormattingTranslator;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.flattener.ComponentFlattener;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlainTextRendererTest {
+
+    private static final Map<String, String> MESSAGES = Map.of(
+        "simple", "Hello, <red>world</red>!",
+        "args", "<gray><arg:1></gray> has <b><arg:0></b> <plural:0:=0:'no items':one:'item':other:'items'>",
+        "styled", "<gradient:red:blue>a</gradient><#ff0000>b<!italic>c<hover:show_text:'hover <red>text'>d</hover><newline>e",
+        "escaped", "\\<red> is not a tag, <unknown> is kept, 1 < 2, back\\\\slash",
+        "nested", "[<arg:0>]",
+        "lang", "<lang:simple>"
+    );
+
+    private static final ColumnarTranslator TRANSLATOR = ColumnarTranslator.builder(Key.key("mcmsgdef", "test"))
+        .register(Locale.ENGLISH, MESSAGES)
+        .defaultLocale(Locale.ENGLISH)
+        .build();
+
+    private static final PlainTextRenderer RENDERER = PlainTextRenderer.create(TRANSLATOR);
+
+    @Test
+    void testRender() {
+        for (String key : MESSAGES.keySet()) {
+            if (key.equals("args") || key.equals("nested") || key.equals("lang")) {
+                continue;
+            }
+            StringBuilder builder = new StringBuilder();
+            assertTrue(RENDERER.render(MessageKey.key(key), Locale.ENGLISH, builder));
+            assertEquals(plain(TRANSLATOR.translate(Component.translatable(key), Locale.ENGLISH)), builder.toString(), key);
+        }
+    }
+
+    @Test
+    void testRenderArguments() {
+        MessageKey.Arg2<Integer, String> msg = MessageKey.arg2("args", PluralArgument.count(), Component::text);
+
+        for (int count : new int[]{0, 1, 2}) {
+            StringBuilder builder = new StringBuilder();
+            assertTrue(RENDERER.render(msg, count, "a", Locale.ENGLISH, builder));
+            assertEquals(plain(TRANSLATOR.translate(msg.apply(count, "a"), Locale.ENGLISH)), builder.toString());
+        }
+
+        StringBuilder builder = new StringBuilder();
+        MessageKey.Arg1<Component> nested = MessageKey.arg1("nested", component -> component);
+        assertTrue(RENDERER.render(nested, MessageKey.key("simple").asComponent(), Locale.ENGLISH, builder));
+        assertEquals("[Hello, world!]", builder.toString());
+
+        builder.setLength(0);
+        assertTrue(RENDERER.render(MessageKey.key("lang"), Locale.ENGLISH, builder));
+        assertEquals("Hello, world!", builder.toString()); // rendered like GlobalTranslator renders nested translatable components
+    }
+
+    @Test
+    void testNestedMessages() {
+        ColumnarTranslator translator = ColumnarTranslator.builder(Key.key("mcmsgdef", "test"))
+            .register(Locale.ENGLISH, Map.of(
+                "self", "a<lang:self>",
+                "ping", "<lang:pong>",
+                "pong", "<lang:ping>",
+                "greet", "Hi <arg:0>",
+                "lang_arg", "<lang:greet:'<red>x</red>'>"
+            ))
+            .build();
+        PlainTextRenderer renderer = PlainTextRenderer.create(translator);
+
+        StringBuilder builder = new StringBuilder();
+        assertTrue(renderer.render(MessageKey.key("self"), Locale.ENGLISH, builder));
+        assertEquals("a".repeat(16) + "self", builder.toString());
+
+        builder.setLength(0);
+        assertTrue(renderer.render(MessageKey.key("ping"), Locale.ENGLISH, builder));
+        assertEquals("ping", builder.toString());
+
+        builder.setLength(0);
+        MessageKey.Arg1<Component> arg = MessageKey.arg1("greet", component -> component);
+        assertTrue(renderer.render(arg, MessageKey.key("self").asComponent(), Locale.ENGLISH, builder));
+        assertEquals("Hi " + "a".repeat(15) + "self", builder.toString());
+
+        builder.setLength(0);
+        assertTrue(renderer.render(MessageKey.key("lang_arg"), Locale.ENGLISH, builder));
+        assertEquals("Hi x", builder.toString());
+    }
+
+    @Test
+    void testFormattedArgument() {
+        MessageKey.Arg1<Number> balance = MessageKey.arg1("nested", FormattingTranslator.number());
+
+        StringBuilder builder = new StringBuilder();
+        assertTrue(RENDERER.translator(FormattingTranslator.instance()).render(balance, 1234567, Locale.US, builder));
+        assertEquals("[1,234,567]", builder.toString());
+
+        builder.setLength(0);
+        assertTrue(RENDERER.translator(FormattingTranslator.instance()).render(balance, 1234567, Locale.GERMANY, builder));
+        assertEquals("[1.234.567]", builder.toString());
+
+        FormattingTranslator.instance().register();
+        try {
+            builder.setLength(0);
+            assertTrue(RENDERER.render(balance, 1234567, Locale.US, builder)); // GlobalTranslator by default
+            assertEquals("[1,234,567]", builder.toString());
+        } finally {
+            FormattingTranslator.instance().unregister();
+        }
+
+        builder.setLength(0);
+        assertTrue(RENDERER.render(balance, 1234567, Locale.US, builder));
+        assertEquals("[1234567]", builder.toString()); // the fallback string
+    }
+
+    @Test
+    void testMissing() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        assertFalse(RENDERER.render(MessageKey.key("missing"), Locale.ENGLISH, builder));
+        assertEquals("missing", builder.toString());
+
+        StringWriter writer = new StringWriter();
+        assertTrue(RENDERER.render("simple", Locale.JAPANESE, writer));
+        assertEquals("Hello, world!", writer.toString());
+    }
+
+    private static String plain(Component component) {
+        assertNotNull(component);
+        StringBuilder builder = new StringBuilder();
+        ComponentFlattener.basic().flatten(component, builder::append);
+        return builder.toString();
+    }
+}
@@ -0,0 +1,190 @@
+package dev.siroshun.mcmsgdef;
+
+import dev.siroshun.mcmsgdef.directory.DirectorySource;
+import dev.siroshun.mcmsgdef.directory.MessageProcessors;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslationStore;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A benchmark that loads synthetic data folders with {@link DirectorySource} and appends missing messages to them.
+ * <p>
+ * For each configuration, the cold load is the first load of the generated files, which appends missing messages,
+ * and the warm load is the median of the following loads, which find no missing messages.
+ * Peak heap, allocation and written bytes are measured during the cold load.
+ * The peak heap is the sum of the peak usage of each heap pool, which overestimates the actual peak,
+ * since pools do not reach their peaks at the same time.
+ * <p>
+ * This benchmark is excluded from the {@code test} task. Run it with {@code ./gradlew startupBenchmark}.
+ * The results are compared with the baseline file, and the benchmark fails if a result exceeds the baseline by more than the threshold.
+ * The baseline depends on the machine, so it is not committed: run with {@code -PupdateBenchmarkBaseline} to write the results
+ * to the baseline file instead. The benchmark fails if the baseline file does not exist and this is not set.
+ */
+@Tag("benchmark")
+class StartupBenchmarkTest {
+
+    private static final Key KEY = Key.key("mcmsgdef", "benchmark");
+    private static final int WARM_ITERATIONS = Integer.getInteger("mcmsgdef.benchmark.iterations", 5);
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("mcmsgdef.benchmark.threshold", "0.25"));
+    private static final String BASELINE = System.getProperty("mcmsgdef.benchmark.baseline");
+    private static final String RESULT = System.getProperty("mcmsgdef.benchmark.result");
+    private static final boolean UPDATE_BASELINE = Boolean.getBoolean("mcmsgdef.benchmark.updateBaseline");
+
+    private static final Map<String, CorpusGenerator> CONFIGURATIONS = Map.of(
+        "small", new CorpusGenerator(5, 500, 40, 0.0, 0.1, 1, CorpusGenerator.Format.PROPERTIES),
+        "large", new CorpusGenerator(20, 5000, 80, 0.0, 0.1, 2, CorpusGenerator.Format.PROPERTIES),
+        "non-ascii", new CorpusGenerator(10, 2000, 60, 0.8, 0.1, 3, CorpusGenerator.Format.PROPERTIES),
+        "missing", new CorpusGenerator(10, 2000, 60, 0.2, 0.5, 4, CorpusGenerator.Format.PROPERTIES),
+        "json", new CorpusGenerator(10, 2000, 60, 0.2, 0.1, 5, CorpusGenerator.Format.JSON)
+    );
+
+    @Test
+    void testStartup(@TempDir Path directory) throws IOException {
+        Map<String, Long> results = new TreeMap<>();
+
+        for (Map.Entry<String, CorpusGenerator> entry : new TreeMap<>(CONFIGURATIONS).entrySet()) {
+            Path corpus = Files.createDirectory(directory.resolve(entry.getKey()));
+            Result result = run(entry.getValue(), corpus);
+            System.out.println(entry.getKey() + ": " + result);
+            result.putTo(entry.getKey(), results);
+        }
+
+        if (RESULT != null) {
+            write(Path.of(RESULT), results);
+        }
+
+        if (BASELINE == null) {
+            return;
+        }
+
+        Path baseline = Path.of(BASELINE);
+        if (UPDATE_BASELINE) {
+            write(baseline, results);
+            System.out.println("The baseline has been written to " + baseline);
+            return;
+        }
+
+        assertTrue(Files.isRegularFile(baseline), () -> "The baseline " + baseline + " does not exist; run with -PupdateBenchmarkBaseline to create it");
+
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, String> entry : read(baseline).entrySet()) {
+            Long current = results.get(entry.getKey());
+            long expected = Long.parseLong(entry.getValue());
+            if (current != null && expected < current && THRESHOLD < (double) (current - expected) / Math.max(1, expected)) {
+                regressions.add(entry.getKey() + ": " + expected + " -> " + current);
+            }
+        }
+
+        assertTrue(regressions.isEmpty(), () -> "Regressions beyond " + (int) (THRESHOLD * 100) + "%: " + regressions);
+    }
+
+    private static @NotNull Result run(@NotNull CorpusGenerator generator, @NotNull Path directory) throws IOException {
+        long generatedBytes = generator.generate(directory);
+        DirectorySource source = generator.format().source(directory)
+            .messageProcessor(MessageProcessors.appendMissingMessages(generator.defaultMessages(), generator.format().appender()));
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP)
+            .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long allocatedBefore = allocatedBytes();
+
+        long coldStart = System.nanoTime();
+        loadAndRegister(source);
+        long coldNanos = System.nanoTime() - coldStart;
+
+        long allocated = allocatedBytes() - allocatedBefore;
+        long peakHeapUpperBound = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum(); // pools peak at different times
+        long written = directorySize(directory) - generatedBytes;
+
+        long[] warmNanos = new long[WARM_ITERATIONS];
+        for (int i = 0; i < WARM_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            loadAndRegister(source);
+            warmNanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(warmNanos);
+
+        assertEquals(0, directorySize(directory) - generatedBytes - written, "warm loads must not append messages");
+        return new Result(coldNanos / 1_000, warmNanos[WARM_ITERATIONS / 2] / 1_000, peakHeapUpperBound, allocated, written);
+    }
+
+    private static void loadAndRegister(@NotNull DirectorySource source) throws IOException {
+        // Same as DirectorySource#loadAndRegister, but the store is removed so that iterations do not pile up sources.
+        MiniMessageTranslationStore store = source.loadAsMiniMessageTranslationStore(KEY);
+        GlobalTranslator.translator().addSource(store);
+        GlobalTranslator.translator().removeSource(store);
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    private static long directorySize(@NotNull Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            long size = 0;
+            for (Path file : files.toList()) {
+                size += Files.size(file);
+            }
+            return size;
+        }
+    }
+
+    private static @NotNull Map<String, String> read(@NotNull Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        Map<String, String> result = new TreeMap<>();
+        properties.stringPropertyNames().forEach(name -> result.put(name, properties.getProperty(name)));
+        return result;
+    }
+
+    private static void write(@NotNull Path file, @NotNull Map<String, Long> results) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            for (Map.Entry<String, Long> entry : results.entrySet()) {
+                writer.write(entry.getKey() + "=" + entry.getValue() + System.lineSeparator());
+            }
+        }
+    }
+
+    private record Result(long coldMicros, long warmMicros, long peakHeapUpperBoundBytes, long allocatedBytes, long writtenBytes) {
+
+        private void putTo(@NotNull String name, @NotNull Map<String, Long> results) {
+            results.put(name + ".coldMicros", this.coldMicros);
+            results.put(name + ".warmMicros", this.warmMicros);
+            results.put(name + ".peakHeapUpperBoundBytes", this.peakHeapUpperBoundBytes);
+            results.put(name + ".allocatedBytes", this.allocatedBytes);
+            results.put(name + ".writtenBytes", this.writtenBytes);
+        }
+    }
+}
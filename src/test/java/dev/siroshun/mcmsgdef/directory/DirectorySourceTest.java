@@ -0,0 +1,323 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import dev.siroshun.mcmsgdef.MessageKey;
+import dev.siroshun.mcmsgdef.file.PropertiesFile;
+import dev.siroshun.mcmsgdef.translation.EvictingTranslator;
+import dev.siroshun.mcmsgdef.translation.InstrumentedTranslator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslationStore;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectorySourceTest {
+
+    private static final Key KEY = Key.key("mcmsgdef", "test");
+
+    @Test
+    void testLoad(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("en.properties"), "a=A\n");
+        Files.writeString(directory.resolve("ja.properties"), "a=あ\n");
+        Files.writeString(directory.resolve("ignored.txt"), "a=A\n");
+
+        Map<Locale, Map<String, String>> loaded = new HashMap<>();
+        DirectorySource.propertiesFiles(directory)
+            .messageProcessor(MessageProcessors.appendMissingMessagesToPropertiesFile(Map.of("a", "A", "b", "B")))
+            .defaultLocale(Locale.GERMAN)
+            .load(map -> loaded.put(map.locale(), map.messageMap()));
+
+        assertEquals(Map.of("a", "A", "b", "B"), loaded.get(Locale.ENGLISH));
+        assertEquals(Map.of("a", "あ", "b", "B"), loaded.get(Locale.JAPANESE));
+        assertEquals(Map.of("a", "A", "b", "B"), loaded.get(Locale.GERMAN));
+        assertEquals(3, loaded.size());
+
+        assertEquals(Map.of("a", "A", "b", "B"), PropertiesFile.load(directory.resolve("de.properties")));
+        assertEquals(Map.of("a", "あ", "b", "B"), PropertiesFile.load(directory.resolve("ja.properties")));
+    }
+
+    @Test
+    void testLoadListener(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("en.properties"), "a=A\n");
+
+        List<LoadListener.FileStats> files = new ArrayList<>();
+        List<LoadListener.Totals> totals = new ArrayList<>();
+        DirectorySource.propertiesFiles(directory)
+            .messageProcessor(MessageProcessors.appendMissingMessagesToPropertiesFile(Map.of("a", "A", "b", "B", "c", "C")))
+            .loadListener(new LoadListener() {
+                @Override
+                public void onFileLoaded(LoadListener.FileStats stats) {
+                    files.add(stats);
+                }
+
+                @Override
+                public void onLoadCompleted(LoadListener.Totals result) {
+                    totals.add(result);
+                }
+            })
+            .load(map -> {
+            });
+
+        assertEquals(1, files.size());
+        LoadListener.FileStats stats = files.getFirst();
+        assertEquals(Locale.ENGLISH, stats.locale());
+        assertEquals(4, stats.bytesRead());
+        assertEquals(1, stats.loadedEntries());
+        assertEquals(2, stats.appendedEntries());
+        assertEquals(Files.size(directory.resolve("en.properties")) - 4, stats.appendedBytes());
+
+        assertEquals(1, totals.size());
+        assertEquals(1, totals.getFirst().files());
+        assertEquals(2, totals.getFirst().appendedEntries());
+    }
+
+    @Test
+    void testLoadListenerWithCacheAndFilter(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("en.properties"), "a=A\nremoved=x\n");
+        Path empty = Files.createDirectory(directory.resolve("empty"));
+
+        List<LoadListener.FileStats> files = new ArrayList<>();
+        List<LoadListener.Totals> totals = new ArrayList<>();
+        LoadListener listener = new LoadListener() {
+            @Override
+            public void onFileLoaded(LoadListener.FileStats stats) {
+                files.add(stats);
+            }
+
+            @Override
+            public void onLoadCompleted(LoadListener.Totals result) {
+                totals.add(result);
+            }
+        };
+
+        DirectorySource source = DirectorySource.propertiesFiles(directory)
+            .messagePipeline(MessagePipeline.create()
+                .filter((locale, key, value) -> !key.equals("removed"))
+                .processor(MessageProcessors.appendMissingMessagesToPropertiesFile(Map.of("b", "B"))))
+            .loadListener(listener)
+            .loadCache(LoadCache.create());
+
+        source.load(map -> {
+        });
+        assertEquals(1, files.getFirst().appendedEntries()); // not cancelled out by the removed entry
+        assertFalse(files.getFirst().cached());
+
+        source.load(map -> {
+        });
+        source.load(map -> {
+        });
+        LoadListener.FileStats cached = files.getLast();
+        assertTrue(cached.cached());
+        assertEquals(1, totals.getLast().files());
+        assertEquals(1, totals.getLast().cachedFiles());
+        assertEquals(files.size(), totals.stream().mapToInt(LoadListener.Totals::files).sum());
+
+        totals.clear();
+        DirectorySource.propertiesFiles(empty).loadListener(listener).load(map -> {
+        });
+        assertEquals(1, totals.size());
+        assertEquals(0, totals.getFirst().files());
+    }
+
+    @Test
+    void testLoadWithFootprint(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("en.properties"), "a=A\n");
+        Files.writeString(directory.resolve("ja.properties"), "a=あ\n");
+
+        AtomicInteger appendCalls = new AtomicInteger();
+        LoadedStore loaded = DirectorySource.propertiesFiles(directory)
+            .messageProcessor(MessageProcessors.appendMissingMessagesToPropertiesFile(locale -> {
+                appendCalls.incrementAndGet();
+                return Map.of("a", "A", "b", "B");
+            }))
+            .loadWithFootprint(KEY);
+
+        assertEquals(2, appendCalls.get()); // each file is loaded and processed once
+        assertTrue(loaded.store().contains("b", Locale.JAPANESE));
+        assertEquals(4, loaded.footprint().entries());
+        assertEquals(2, loaded.footprint().locales().get(Locale.JAPANESE).entries());
+    }
+
+    @Test
+    void testLoadAsInstrumentedTranslator(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("en.properties"), "a=A\nb=B\n");
+        Files.writeString(directory.resolve("ja.properties"), "a=あ\n");
+
+        InstrumentedTranslator translator = DirectorySource.propertiesFiles(directory)
+            .primaryLocale(Locale.ENGLISH)
+            .loadAsInstrumentedTranslator(KEY);
+
+        assertEquals(Component.text("B"), translator.translate(Component.translatable("b"), Locale.JAPANESE));
+
+        InstrumentedTranslator.Snapshot snapshot = translator.snapshot();
+        assertEquals(1, snapshot.locales().get(Locale.JAPANESE).fallbacks()); // counted for the locale of the file
+        assertEquals(0, snapshot.otherLocales().fallbacks());
+        assertEquals(Set.of("a"), snapshot.neverRenderedKeys());
+    }
+
+    @Test
+    void testLoadCache(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("en.properties"), "a=A\n");
+        Files.writeString(directory.resolve("ja.properties"), "a=あ\n");
+
+        AtomicInteger parsed = new AtomicInteger();
+        DirectorySource source = DirectorySource.forStringMessageMap(directory)
+            .fileExtension(PropertiesFile.FILE_EXTENSION)
+            .messageLoader(path -> {
+                parsed.incrementAndGet();
+                return PropertiesFile.DEFAULT_LOADER.load(path);
+            })
+            .messageProcessor(MessageProcessors.appendMissingMessagesToPropertiesFile(Map.of("a", "A")))
+            .loadCache(LoadCache.create());
+
+        Map<Locale, Map<String, String>> loaded = new HashMap<>();
+        source.load(map -> loaded.put(map.locale(), map.messageMap()));
+        assertEquals(2, parsed.get());
+
+        source.load(map -> loaded.put(map.locale(), map.messageMap()));
+        assertEquals(2, parsed.get());
+        assertEquals(Map.of("a", "あ"), loaded.get(Locale.JAPANESE));
+
+        Files.writeString(directory.resolve("ja.properties"), "a=ア\nb=B\n");
+        source.load(map -> loaded.put(map.locale(), map.messageMap()));
+        assertEquals(3, parsed.get());
+        assertEquals(Map.of("a", "ア", "b", "B"), loaded.get(Locale.JAPANESE));
+        assertEquals(Map.of("a", "A"), loaded.get(Locale.ENGLISH));
+    }
+
+    @Test
+    void testLoadCacheWithRebuiltSource(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("en.properties"), "a=A\n");
+
+        AtomicInteger parsed = new AtomicInteger();
+        LoadCache cache = LoadCache.create();
+        List<LoadListener.FileStats> files = new ArrayList<>();
+        BiFunction<Map<String, String>, Object, DirectorySource> rebuild = (defaults, version) -> {
+            DirectorySource source = DirectorySource.forStringMessageMap(directory)
+                .fileExtension(PropertiesFile.FILE_EXTENSION)
+                .messageLoader(path -> {
+                    parsed.incrementAndGet();
+                    return PropertiesFile.DEFAULT_LOADER.load(path);
+                })
+                .messageProcessor(MessageProcessors.appendMissingMessagesToPropertiesFile(defaults))
+                .loadListener(new LoadListener() {
+                    @Override
+                    public void onFileLoaded(LoadListener.FileStats stats) {
+                        files.add(stats);
+                    }
+                });
+            return version != null ? source.loadCache(cache, version) : source.loadCache(cache);
+        };
+
+        rebuild.apply(Map.of("a", "A"), null).load(map -> {
+        });
+        rebuild.apply(Map.of("a", "A"), null).load(map -> {
+        });
+        assertEquals(1, parsed.get());
+        assertTrue(files.getLast().cached());
+
+        // a new version loads the files again
+        Map<Locale, Map<String, String>> loaded = new HashMap<>();
+        rebuild.apply(Map.of("a", "A", "b", "B"), 2).load(map -> loaded.put(map.locale(), map.messageMap()));
+        assertEquals(2, parsed.get());
+        assertFalse(files.getLast().cached());
+        assertEquals(Map.of("a", "A", "b", "B"), loaded.get(Locale.ENGLISH));
+    }
+
+    @Test
+    void testLoadAsEvictingTranslator(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("en.properties"), "a=A\n");
+        Files.writeString(directory.resolve("ja.properties"), "a=あ\n");
+
+        EvictingTranslator translator = DirectorySource.propertiesFiles(directory)
+            .primaryLocale(Locale.ENGLISH)
+            .messageProcessor(MessageProcessors.appendMissingMessagesToPropertiesFile(Map.of("b", "B")))
+            .loadAsEvictingTranslator(KEY, 0, Duration.ofHours(1), Runnable::run);
+
+        assertEquals(List.of(Locale.ENGLISH), translator.residentLocales());
+
+        Files.writeString(directory.resolve("ja.properties"), "a=ア\n");
+        assertEquals(Component.text("ア"), translator.translate(Component.translatable("a"), Locale.JAPANESE));
+        assertEquals(Component.text("B"), translator.translate(Component.translatable("b"), Locale.JAPANESE));
+        assertEquals("a=ア\n", Files.readString(directory.resolve("ja.properties"))); // reloading does not write files
+        assertEquals(Component.text("A"), translator.translate(Component.translatable("a"), Locale.GERMAN));
+    }
+
+    @Test
+    void testLoadAsync(@TempDir Path directory) throws Exception {
+        Files.writeString(directory.resolve("en.properties"), "a=A\n");
+
+        DirectorySource source = DirectorySource.propertiesFiles(directory);
+        MiniMessageTranslationStore store = source.loadAsync(KEY, Runnable::run).get(1, TimeUnit.SECONDS);
+        assertTrue(store.contains("a", Locale.ENGLISH));
+
+        List<Runnable> tasks = new ArrayList<>();
+        CompletableFuture<MiniMessageTranslationStore> future = source.loadAsync(KEY, tasks::add);
+        assertTrue(future.cancel(false));
+        tasks.forEach(Runnable::run);
+        assertTrue(future.isCancelled());
+
+        List<Runnable> registerTasks = new ArrayList<>();
+        CompletableFuture<MiniMessageTranslationStore> registering = source.loadAndRegisterAsync(KEY, Runnable::run, registerTasks::add);
+        assertFalse(registering.isDone());
+        assertEquals(1, registerTasks.size());
+        registerTasks.getFirst().run();
+        assertTrue(GlobalTranslator.translator().removeSource(registering.get(1, TimeUnit.SECONDS)));
+    }
+
+    @Test
+    void testJfrEvents(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("en.properties"), "a=A\n");
+        Path recordingFile = directory.resolve("recording.jfr");
+
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("DirectoryScan", "FileParse", "ProcessStage", "Append", "MessageApply")) {
+                recording.enable("dev.siroshun.mcmsgdef." + name);
+            }
+            recording.start();
+
+            DirectorySource.propertiesFiles(directory)
+                .messageProcessor(MessageProcessors.appendMissingMessagesToPropertiesFile(Map.of("b", "B")))
+                .load(map -> {
+                });
+            MessageKey.<String>arg1("a", Component::text).apply("x");
+
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        Map<String, RecordedEvent> events = RecordingFile.readAllEvents(recordingFile).stream()
+            .filter(event -> event.getEventType().getName().startsWith("dev.siroshun.mcmsgdef."))
+            .collect(Collectors.toMap(event -> event.getEventType().getName(), event -> event, (a, b) -> a));
+
+        assertEquals(1, events.get("dev.siroshun.mcmsgdef.DirectoryScan").getInt("files"));
+        assertEquals(4, events.get("dev.siroshun.mcmsgdef.FileParse").getLong("bytes"));
+        assertEquals(1, events.get("dev.siroshun.mcmsgdef.FileParse").getInt("entries"));
+        assertEquals(2, events.get("dev.siroshun.mcmsgdef.ProcessStage").getInt("entriesAfter"));
+        assertEquals("appendMissingMessages", events.get("dev.siroshun.mcmsgdef.ProcessStage").getString("stage"));
+        assertEquals(1, events.get("dev.siroshun.mcmsgdef.Append").getInt("entries"));
+        assertEquals("en", events.get("dev.siroshun.mcmsgdef.Append").getString("locale"));
+        assertEquals("a", events.get("dev.siroshun.mcmsgdef.MessageApply").getString("key"));
+    }
+}
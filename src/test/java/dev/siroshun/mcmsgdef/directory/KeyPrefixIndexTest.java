@@ -0,0 +1,58 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyPrefixIndexTest {
+
+    @Test
+    void testKeysUnder() {
+        KeyPrefixIndex index = KeyPrefixIndex.create(List.of("shop.gui.title", "shop", "shop-x", "shopping.a", "shop.command.buy.success", "a", "shop.gui.title"));
+
+        assertEquals(6, index.size());
+        assertEquals(List.of("a", "shop", "shop-x", "shop.command.buy.success", "shop.gui.title", "shopping.a"), index.keys());
+        assertEquals(List.of("shop.command.buy.success", "shop.gui.title"), index.keysUnder("shop"));
+        assertEquals(List.of("shop.command.buy.success", "shop.gui.title"), index.keysUnder("shop."));
+        assertEquals(List.of("shop.gui.title"), index.keysUnder("shop.gui"));
+        assertEquals(List.of(), index.keysUnder("unknown"));
+        assertTrue(index.contains("shop-x"));
+        assertFalse(index.contains("shop.gui"));
+        assertThrows(IllegalArgumentException.class, () -> index.keysUnder(""));
+
+        assertEquals(Map.of("shop.gui.title", "T"), index.entriesUnder(Map.of("shop.gui.title", "T", "a", "A"), "shop"));
+
+        KeyPrefixIndex replaced = index.replace("shop", List.of("shop.new"));
+        assertEquals(List.of("a", "shop", "shop-x", "shop.new", "shopping.a"), replaced.keys());
+        assertThrows(IllegalArgumentException.class, () -> index.replace("shop", List.of("other")));
+    }
+
+    @Test
+    void testReloadNamespace(@TempDir Path directory) throws IOException {
+        Files.writeString(directory.resolve("en.properties"), "shop.title=Shop\nshop.old=Old\nother=Other\n");
+        Files.writeString(directory.resolve("ja.properties"), "shop.title=ショップ\n");
+
+        IndexedMessageStore indexed = DirectorySource.propertiesFiles(directory).loadAsIndexedMessageStore(Key.key("mcmsgdef", "test"));
+        assertEquals(List.of("other", "shop.old", "shop.title"), indexed.index().keys());
+
+        Files.writeString(directory.resolve("en.properties"), "shop.title=New Shop\nshop.new=New\nother=Changed\n");
+        assertEquals(3, indexed.reload("shop"));
+
+        assertEquals(List.of("other", "shop.new", "shop.title"), indexed.index().keys());
+        assertFalse(indexed.contains("shop.old", Locale.ENGLISH));
+        assertTrue(indexed.contains("shop.new", Locale.ENGLISH));
+        assertTrue(indexed.contains("shop.title", Locale.JAPANESE));
+        assertEquals(Component.text("New Shop"), indexed.translate(Component.translatable("shop.title"), Locale.ENGLISH));
+        assertEquals(Component.text("Other"), indexed.translate(Component.translatable("other"), Locale.ENGLISH));
+    }
+}
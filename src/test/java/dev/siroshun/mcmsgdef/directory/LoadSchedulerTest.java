@@ -0,0 +1,145 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslationStore;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadSchedulerTest {
+
+    @Test
+    void testSubmit(@TempDir Path directory) throws Exception {
+        Path first = Files.createDirectory(directory.resolve("first"));
+        Path second = Files.createDirectory(directory.resolve("second"));
+        for (int i = 0; i < 10; i++) {
+            Files.writeString(first.resolve(Locale.of("l" + i) + ".properties"), "a=first" + i + "\n");
+        }
+        Files.writeString(second.resolve("en.properties"), "a=second\n");
+
+        try (LoadScheduler scheduler = LoadScheduler.create(4)) {
+            List<Map<Locale, Map<String, String>>> loaded = new ArrayList<>();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (Path source : List.of(first, second, first)) {
+                Map<Locale, Map<String, String>> messages = new ConcurrentHashMap<>();
+                loaded.add(messages);
+                futures.add(scheduler.submit(DirectorySource.propertiesFiles(source), map -> messages.put(map.locale(), map.messageMap())));
+            }
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+            assertEquals(10, loaded.get(0).size());
+            assertEquals(Map.of("a", "first3"), loaded.get(0).get(Locale.of("l3")));
+            assertEquals(Map.of(Locale.ENGLISH, Map.of("a", "second")), loaded.get(1));
+            assertEquals(loaded.get(0), loaded.get(2));
+
+            LoadScheduler.Progress progress = scheduler.progress();
+            assertTrue(progress.isCompleted());
+            assertEquals(3, progress.submittedSources());
+            assertEquals(21, progress.totalFiles());
+            assertEquals(21, progress.loadedFiles());
+        }
+    }
+
+    @Test
+    void testLoadAsync(@TempDir Path directory) throws Exception {
+        Files.writeString(directory.resolve("en.properties"), "a=A\n");
+
+        try (LoadScheduler scheduler = LoadScheduler.create(1)) {
+            MiniMessageTranslationStore store = DirectorySource.propertiesFiles(directory)
+                .messageProcessor(MessageProcessors.appendMissingMessagesToPropertiesFile(Map.of("a", "A", "b", "B")))
+                .defaultLocale(Locale.JAPANESE)
+                .loadAsync(Key.key("mcmsgdef", "test"), scheduler)
+                .get(10, TimeUnit.SECONDS);
+
+            assertEquals(Component.text("B"), store.translate(Component.translatable("b"), Locale.ENGLISH));
+            assertEquals(Component.text("A"), store.translate(Component.translatable("a"), Locale.JAPANESE));
+        }
+    }
+
+    @Test
+    void testLoadListener(@TempDir Path directory) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Files.writeString(directory.resolve(Locale.of("l" + i) + ".properties"), "a=A\nb=B\n");
+        }
+
+        List<LoadListener.FileStats> files = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<LoadListener.Totals> totals = new CompletableFuture<>();
+        DirectorySource source = DirectorySource.propertiesFiles(directory).loadListener(new LoadListener() {
+            @Override
+            public void onFileLoaded(@NotNull FileStats stats) {
+                files.add(stats);
+            }
+
+            @Override
+            public void onLoadCompleted(@NotNull Totals result) {
+                totals.complete(result);
+            }
+        });
+
+        try (LoadScheduler scheduler = LoadScheduler.create(4)) {
+            scheduler.submit(source, map -> {
+            }).get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(5, files.size());
+        assertTrue(totals.isDone());
+        assertEquals(5, totals.get().files());
+        assertEquals(10, totals.get().loadedEntries());
+    }
+
+    @Test
+    void testClose(@TempDir Path directory) throws Exception {
+        Files.writeString(directory.resolve("en.properties"), "a=A\n");
+        CountDownLatch started = new CountDownLatch(1);
+        DirectorySource blocking = DirectorySource.propertiesFiles(directory).messageLoader(path -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+            return Map.of();
+        });
+
+        CompletableFuture<Void> running;
+        CompletableFuture<Void> queued;
+        try (LoadScheduler scheduler = LoadScheduler.create(1)) {
+            running = scheduler.submit(blocking, map -> {
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            queued = scheduler.submit(DirectorySource.propertiesFiles(directory), map -> {
+            });
+        }
+
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> queued.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+        assertThrows(ExecutionException.class, () -> running.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testMissingLoader() {
+        try (LoadScheduler scheduler = LoadScheduler.create(1)) {
+            assertThrows(IllegalStateException.class, () -> scheduler.submit(DirectorySource.create(Path.of("missing")), map -> {
+            }));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package dev.siroshun.mcmsgdef.directory;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessagePipelineTest {
+
+    private static final Path PATH = Path.of("en.properties");
+
+    private static final MessagePipeline PIPELINE = MessagePipeline.create()
+        .filter((locale, key, value) -> !key.startsWith("old."))
+        .transform((locale, key, value) -> value.replace("&a", "<green>"))
+        .validate((locale, key, value) -> {
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("empty message: " + key);
+            }
+        })
+        .processor(MessageProcessors.appendMissingMessages(Map.of("b", "B")));
+
+    @Test
+    void testInPlace() throws IOException {
+        Map<String, String> map = new HashMap<>(Map.of("a", "&aA", "old.a", "A", "c", "C"));
+        LoadedMessageMap loaded = new LoadedMessageMap(PATH, Locale.ENGLISH, map);
+
+        LoadedMessageMap processed = PIPELINE.process(loaded);
+
+        assertSame(loaded, processed);
+        assertEquals(Map.of("a", "<green>A", "b", "B", "c", "C"), map);
+    }
+
+    @Test
+    void testUnmodifiableMap() throws IOException {
+        Map<String, String> map = Map.of("a", "&aA", "c", "C");
+        LoadedMessageMap processed = MessagePipeline.create()
+            .transform((locale, key, value) -> value.replace("&a", "<green>"))
+            .process(new LoadedMessageMap(PATH, Locale.ENGLISH, map));
+
+        assertEquals(Map.of("a", "<green>A", "c", "C"), processed.messageMap());
+        assertEquals(Map.of("a", "&aA", "c", "C"), map);
+    }
+
+    @Test
+    void testValidator() {
+        LoadedMessageMap loaded = new LoadedMessageMap(PATH, Locale.ENGLISH, new HashMap<>(Map.of("a", "")));
+        assertThrows(IllegalArgumentException.class, () -> PIPELINE.process(loaded));
+    }
+}
@@ -0,0 +1,73 @@
+package dev.siroshun.mcmsgdef.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonFileTest {
+
+    @Test
+    void testLoad() throws IOException {
+        Map<String, String> map = JsonFile.load(new StringReader("\uFEFF" + """
+            {
+              "b": "B",
+              "a": "<red>\\"quoted\\"</red>\\n\\u3042",
+              "c": ""
+            }
+            """));
+
+        assertEquals(Map.of("a", "<red>\"quoted\"</red>\nあ", "b", "B", "c", ""), map);
+        assertEquals(List.of("b", "a", "c"), List.copyOf(map.keySet()));
+        assertEquals(Map.of(), JsonFile.load(new StringReader("")));
+        assertEquals(Map.of(), JsonFile.load(new StringReader(" {} ")));
+    }
+
+    @Test
+    void testLoadLongString() throws IOException {
+        String value = "a".repeat(20000) + "\\\"" + "b".repeat(20000);
+        Map<String, String> map = JsonFile.load(new StringReader("{\"key\":\"" + value + "\"}"));
+        assertEquals("a".repeat(20000) + "\"" + "b".repeat(20000), map.get("key"));
+    }
+
+    @Test
+    void testLoadInvalid() {
+        assertThrows(IOException.class, () -> JsonFile.load(new StringReader("[\"a\"]")));
+        assertThrows(IOException.class, () -> JsonFile.load(new StringReader("{\"a\": 1}")));
+        assertThrows(IOException.class, () -> JsonFile.load(new StringReader("{\"a\": {\"b\": \"c\"}}")));
+        assertThrows(IOException.class, () -> JsonFile.load(new StringReader("{\"a\": \"b\",}")));
+        assertThrows(IOException.class, () -> JsonFile.load(new StringReader("{\"a\": \"b\"")));
+        assertThrows(IOException.class, () -> JsonFile.load(new StringReader("{\"a\": \"b\"} x")));
+    }
+
+    @Test
+    void testAppend(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("en_us.json");
+
+        JsonFile.append(file, Map.of("a", "A"));
+        assertEquals(Map.of("a", "A"), JsonFile.load(file));
+
+        Map<String, String> map = new LinkedHashMap<>();
+        map.put("b", "B\t\"");
+        map.put("c", "C");
+        JsonFile.append(file, map);
+        assertEquals(Map.of("a", "A", "b", "B\t\"", "c", "C"), JsonFile.load(file));
+
+        Path empty = directory.resolve("ja_jp.json");
+        Files.writeString(empty, "{\n}\n");
+        JsonFile.append(empty, Map.of("a", "あ"));
+        assertEquals(Map.of("a", "あ"), JsonFile.load(empty));
+
+        Path broken = directory.resolve("de.json");
+        Files.writeString(broken, "[]");
+        assertThrows(IOException.class, () -> JsonFile.append(broken, Map.of("a", "A")));
+    }
+}
@@ -0,0 +1,133 @@
+package dev.siroshun.mcmsgdef.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindAppenderTest {
+
+    @Test
+    void testCoalesce(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("en.properties");
+        AtomicInteger writes = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+
+        WriteBehindAppender<Path> appender = WriteBehindAppender.create((target, map) -> {
+            writes.incrementAndGet();
+            PropertiesFile.append(target, map);
+        }, tasks::add);
+
+        appender.append(file, Map.of("a", "A"));
+        appender.append(file, Map.of("b", "B"));
+        appender.append(file, Map.of("a", "X"));
+
+        assertEquals(1, tasks.size());
+        assertTrue(appender.hasPendingMessages());
+        assertFalse(Files.exists(file));
+
+        tasks.forEach(Runnable::run);
+        assertEquals(1, writes.get());
+        assertFalse(appender.hasPendingMessages());
+        assertEquals(0, appender.queuedTargets()); // removed once drained
+        assertEquals(Map.of("a", "A", "b", "B"), PropertiesFile.load(file));
+
+        appender.append(file, Map.of("c", "C"));
+        appender.close();
+        assertEquals(2, writes.get());
+        assertEquals(Map.of("a", "A", "b", "B", "c", "C"), PropertiesFile.load(file));
+        assertThrows(IllegalStateException.class, () -> appender.append(file, Map.of("d", "D")));
+    }
+
+    @Test
+    void testFailure(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("en.properties");
+        AtomicInteger failures = new AtomicInteger(1);
+
+        WriteBehindAppender<Path> appender = WriteBehindAppender.create((target, map) -> {
+            if (0 <= failures.decrementAndGet()) {
+                throw new IOException("failed");
+            }
+            PropertiesFile.append(target, map);
+        }, Runnable::run);
+
+        appender.append(file, Map.of("a", "A"));
+        assertTrue(appender.hasPendingMessages());
+        assertThrows(IOException.class, appender::flush);
+        assertFalse(appender.hasPendingMessages());
+        assertEquals(Map.of("a", "A"), PropertiesFile.load(file));
+    }
+
+    @Test
+    void testRetry(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("en.properties");
+        AtomicInteger attempts = new AtomicInteger();
+
+        WriteBehindAppender<Path> appender = WriteBehindAppender.create((target, map) -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw new IOException("failed");
+            }
+            PropertiesFile.append(target, map);
+        }, Runnable::run, Duration.ofMillis(10));
+
+        appender.append(file, Map.of("a", "A"));
+        assertEquals(1, attempts.get());
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (appender.queuedTargets() != 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(3, attempts.get()); // retried twice with backoff
+        assertEquals(0, appender.queuedTargets());
+        assertEquals(Map.of("a", "A"), PropertiesFile.load(file));
+        appender.flush(); // the failures have been resolved by the retry
+    }
+
+    @Test
+    void testRuntimeFailure(@TempDir Path directory) {
+        WriteBehindAppender<Path> appender = WriteBehindAppender.create((target, map) -> {
+            throw new IllegalStateException("failed");
+        }, Runnable::run);
+
+        appender.append(directory.resolve("en.properties"), Map.of("a", "A"));
+        assertTrue(appender.hasPendingMessages());
+        IOException exception = assertThrows(IOException.class, appender::flush);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void testRejected(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("en.properties");
+        List<Runnable> tasks = new ArrayList<>();
+        AtomicBoolean shutdown = new AtomicBoolean(true);
+
+        WriteBehindAppender<Path> appender = WriteBehindAppender.create(PropertiesFile::append, task -> {
+            if (shutdown.get()) {
+                throw new RejectedExecutionException();
+            }
+            tasks.add(task);
+        });
+
+        appender.append(file, Map.of("a", "A"));
+        assertTrue(appender.hasPendingMessages());
+
+        shutdown.set(false);
+        appender.append(file, Map.of("b", "B"));
+        assertEquals(1, tasks.size()); // scheduled again after the rejection
+
+        appender.close();
+        assertEquals(Map.of("a", "A", "b", "B"), PropertiesFile.load(file));
+    }
+}
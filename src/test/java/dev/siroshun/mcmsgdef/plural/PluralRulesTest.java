@@ -0,0 +1,90 @@
+package dev.siroshun.mcmsgdef.plural;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PluralRulesTest {
+
+    @Test
+    void testEnglish() {
+        PluralRules rules = PluralRules.forLocale(Locale.US);
+        assertEquals(PluralCategory.OTHER, rules.select(0));
+        assertEquals(PluralCategory.ONE, rules.select(1));
+        assertEquals(PluralCategory.ONE, rules.select(-1));
+        assertEquals(PluralCategory.OTHER, rules.select(2));
+        assertEquals(PluralCategory.OTHER, rules.select(101));
+        assertEquals(PluralCategory.OTHER, rules.select(1.0));
+        assertEquals(PluralCategory.OTHER, rules.select(1.5));
+        assertEquals(PluralCategory.OTHER, rules.select(Double.NaN));
+        assertEquals(PluralCategory.ONE, PluralRules.forLocale(Locale.of("xx")).select(1));
+    }
+
+    @Test
+    void testRussian() {
+        PluralRules rules = PluralRules.forLocale(Locale.of("ru"));
+        assertEquals(PluralCategory.ONE, rules.select(1));
+        assertEquals(PluralCategory.ONE, rules.select(21));
+        assertEquals(PluralCategory.MANY, rules.select(11));
+        assertEquals(PluralCategory.FEW, rules.select(3));
+        assertEquals(PluralCategory.FEW, rules.select(1022));
+        assertEquals(PluralCategory.MANY, rules.select(12));
+        assertEquals(PluralCategory.MANY, rules.select(5));
+        assertEquals(PluralCategory.ONE, rules.select(Long.MAX_VALUE - 6)); // ...801
+        assertEquals(PluralCategory.MANY, rules.select(Long.MIN_VALUE)); // ...808
+        assertEquals(PluralCategory.FEW, rules.select(new BigInteger("100000000000000000000002")));
+        assertEquals(PluralCategory.OTHER, rules.select(new BigDecimal("1.5")));
+    }
+
+    @Test
+    void testOthers() {
+        assertEquals(PluralCategory.OTHER, PluralRules.forLocale(Locale.JAPANESE).select(1));
+        assertEquals(PluralCategory.ONE, PluralRules.forLocale(Locale.FRENCH).select(0));
+        assertEquals(PluralCategory.ONE, PluralRules.forLocale(Locale.FRENCH).select(1.5));
+        assertEquals(PluralCategory.ONE, PluralRules.forLocale(Locale.of("es")).select(1.0));
+        assertEquals(PluralCategory.MANY, PluralRules.forLocale(Locale.of("pl")).select(22 + 3));
+        assertEquals(PluralCategory.FEW, PluralRules.forLocale(Locale.of("pl")).select(22));
+        assertEquals(PluralCategory.MANY, PluralRules.forLocale(Locale.of("cs")).select(1.5));
+        assertEquals(PluralCategory.ZERO, PluralRules.forLocale(Locale.of("ar")).select(0));
+        assertEquals(PluralCategory.TWO, PluralRules.forLocale(Locale.of("ar")).select(2));
+        assertEquals(PluralCategory.FEW, PluralRules.forLocale(Locale.of("ar")).select(103));
+        assertEquals(PluralCategory.MANY, PluralRules.forLocale(Locale.of("ar")).select(111));
+        assertEquals(PluralCategory.OTHER, PluralRules.forLocale(Locale.of("ar")).select(100));
+    }
+
+    @Test
+    void testRegionalAndDecimalRules() {
+        for (String language : new String[]{"nb", "nn", "no"}) {
+            PluralRules rules = PluralRules.forLocale(Locale.of(language));
+            assertEquals(PluralCategory.ONE, rules.select(1));
+            assertEquals(PluralCategory.ONE, rules.select(new BigDecimal("1.0")));
+            assertEquals(PluralCategory.OTHER, rules.select(new BigDecimal("1.5")));
+        }
+
+        PluralRules danish = PluralRules.forLocale(Locale.of("da"));
+        assertEquals(PluralCategory.ONE, danish.select(1));
+        assertEquals(PluralCategory.ONE, danish.select(new BigDecimal("1.0")));
+        assertEquals(PluralCategory.ONE, danish.select(new BigDecimal("0.1")));
+        assertEquals(PluralCategory.ONE, danish.select(new BigDecimal("1.6")));
+        assertEquals(PluralCategory.OTHER, danish.select(0));
+        assertEquals(PluralCategory.OTHER, danish.select(new BigDecimal("0.0")));
+        assertEquals(PluralCategory.OTHER, danish.select(new BigDecimal("2.5")));
+
+        PluralRules belarusian = PluralRules.forLocale(Locale.of("be"));
+        assertEquals(PluralCategory.ONE, belarusian.select(new BigDecimal("1.0")));
+        assertEquals(PluralCategory.FEW, belarusian.select(new BigDecimal("22.00")));
+        assertEquals(PluralCategory.MANY, belarusian.select(11));
+        assertEquals(PluralCategory.OTHER, belarusian.select(new BigDecimal("1.5")));
+
+        assertEquals(PluralCategory.ONE, PluralRules.forLocale(Locale.of("pt", "BR")).select(0));
+        assertEquals(PluralCategory.ONE, PluralRules.forLocale(Locale.of("pt")).select(new BigDecimal("1.5")));
+        PluralRules portugal = PluralRules.forLocale(Locale.of("pt", "PT"));
+        assertEquals(PluralCategory.OTHER, portugal.select(0));
+        assertEquals(PluralCategory.ONE, portugal.select(1));
+        assertEquals(PluralCategory.OTHER, portugal.select(new BigDecimal("1.0")));
+    }
+}
@@ -0,0 +1,120 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.util.TriState;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarTranslatorTest {
+
+    private static final Key NAME = Key.key("mcmsgdef", "test");
+
+    @Test
+    void testLookup() {
+        ColumnarTranslator translator = ColumnarTranslator.builder(NAME)
+            .register(Locale.ENGLISH, Map.of("a", "A", "b", "B"))
+            .register(Locale.JAPANESE, Map.of("a", "あ"))
+            .build();
+
+        assertEquals(NAME, translator.name());
+        assertEquals(TriState.TRUE, translator.hasAnyTranslations());
+        assertEquals(List.of(Locale.ENGLISH, Locale.JAPANESE), translator.locales());
+        assertEquals(2, translator.keys().size());
+
+        assertEquals("A", translator.message("a", Locale.ENGLISH));
+        assertEquals("B", translator.message("b", Locale.ENGLISH));
+        assertEquals("あ", translator.message("a", Locale.JAPANESE));
+        assertNull(translator.message("b", Locale.JAPANESE));
+        assertNull(translator.message("c", Locale.ENGLISH));
+
+        assertEquals(Component.text("A"), translator.translate(Component.translatable("a"), Locale.ENGLISH));
+        assertNull(translator.translate(Component.translatable("c"), Locale.ENGLISH));
+    }
+
+    @Test
+    void testFallback() {
+        ColumnarTranslator translator = ColumnarTranslator.builder(NAME)
+            .register(Locale.ENGLISH, Map.of("a", "A", "b", "B"))
+            .register(Locale.JAPANESE, Map.of("a", "あ"))
+            .defaultLocale(Locale.ENGLISH)
+            .build();
+
+        assertEquals("あ", translator.message("a", Locale.JAPAN));
+        assertEquals("B", translator.message("b", Locale.JAPAN));
+        assertEquals("A", translator.message("a", Locale.GERMAN));
+        assertTrue(translator.canTranslate("b", Locale.JAPANESE));
+        assertFalse(translator.canTranslate("c", Locale.JAPANESE));
+    }
+
+    @Test
+    void testFallbackChain() {
+        Locale ptBR = Locale.of("pt", "BR");
+        Locale ptBRVariant = Locale.of("pt", "BR", "X");
+        ColumnarTranslator translator = ColumnarTranslator.builder(NAME)
+            .register(Locale.ENGLISH, Map.of("a", "A", "b", "B", "c", "C"))
+            .register(Locale.of("pt"), Map.of("a", "pt-A", "b", "pt-B"))
+            .register(ptBR, Map.of("a", "pt_BR-A"))
+            .defaultLocale(Locale.ENGLISH)
+            .build();
+
+        assertEquals("pt_BR-A", translator.message("a", ptBR));
+        assertEquals("pt-B", translator.message("b", ptBR));
+        assertEquals("C", translator.message("c", ptBR));
+
+        // not loaded locales
+        assertEquals("pt_BR-A", translator.message("a", ptBRVariant));
+        assertEquals("pt-B", translator.message("b", Locale.of("pt", "PT")));
+        assertEquals("C", translator.message("c", Locale.of("pt", "PT")));
+        assertEquals("A", translator.message("a", Locale.KOREAN));
+    }
+
+    @Test
+    void testUnknownLocaleWithoutDefault() {
+        ColumnarTranslator translator = ColumnarTranslator.builder(NAME)
+            .register(Locale.ENGLISH, Map.of("a", "A"))
+            .build();
+
+        assertNull(translator.message("a", Locale.KOREAN));
+        assertNull(translator.message("a", Locale.KOREAN));
+        assertEquals("A", translator.message("a", Locale.US));
+    }
+
+    @Test
+    void testManyUnknownLocales() {
+        ColumnarTranslator translator = ColumnarTranslator.builder(NAME)
+            .register(Locale.ENGLISH, Map.of("a", "A"))
+            .register(Locale.JAPANESE, Map.of("a", "あ"))
+            .defaultLocale(Locale.ENGLISH)
+            .build();
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("A", translator.message("a", Locale.of("x" + i)));
+            assertEquals("あ", translator.message("a", Locale.of("ja", "X" + i)));
+        }
+    }
+
+    @Test
+    void testMerge() {
+        ColumnarTranslator translator = ColumnarTranslator.builder(NAME)
+            .register(Locale.ENGLISH, Map.of("a", "A"))
+            .register(Locale.ENGLISH, Map.of("b", "B"))
+            .build();
+
+        assertEquals(List.of(Locale.ENGLISH), translator.locales());
+        assertEquals("A", translator.message("a", Locale.ENGLISH));
+        assertEquals("B", translator.message("b", Locale.ENGLISH));
+    }
+
+    @Test
+    void testEmpty() {
+        ColumnarTranslator translator = ColumnarTranslator.builder(NAME).build();
+        assertEquals(TriState.FALSE, translator.hasAnyTranslations());
+        assertNull(translator.message("a", Locale.ENGLISH));
+    }
+}
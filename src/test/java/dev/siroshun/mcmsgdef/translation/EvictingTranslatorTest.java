@@ -0,0 +1,167 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvictingTranslatorTest {
+
+    private static final Key NAME = Key.key("mcmsgdef", "test");
+    private static final Map<Locale, Map<String, String>> MESSAGES = Map.of(
+        Locale.ENGLISH, Map.of("a", "A", "b", "B"),
+        Locale.JAPANESE, Map.of("a", "あ"),
+        Locale.KOREAN, Map.of("a", "아")
+    );
+
+    @Test
+    void testIdleTimeout() {
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        EvictingTranslator translator = builder(loads)
+            .idleTimeout(Duration.ofNanos(100))
+            .clock(clock::get)
+            .build();
+
+        assertEquals(3, translator.residentLocales().size());
+
+        clock.set(50);
+        assertEquals(Component.text("あ"), translator.translate(Component.translatable("a"), Locale.JAPANESE));
+
+        clock.set(120);
+        translator.evict();
+        assertEquals(2, translator.residentLocales().size());
+        assertTrue(translator.residentLocales().contains(Locale.ENGLISH)); // pinned
+        assertFalse(translator.residentLocales().contains(Locale.KOREAN));
+
+        assertEquals(Component.text("아"), translator.translate(Component.translatable("a"), Locale.KOREAN));
+        assertEquals(1, loads.get());
+        assertTrue(translator.residentLocales().contains(Locale.KOREAN));
+
+        // falls back to the pinned locale
+        assertEquals(Component.text("B"), translator.translate(Component.translatable("b"), Locale.KOREAN));
+        assertNull(translator.translate(Component.translatable("c"), Locale.KOREAN));
+    }
+
+    @Test
+    void testMemoryBudget() {
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        EvictingTranslator translator = builder(loads)
+            .memoryBudget(0)
+            .clock(clock::get)
+            .build();
+
+        assertEquals(List.of(Locale.ENGLISH), translator.residentLocales());
+
+        clock.set(1);
+        assertEquals(Component.text("あ"), translator.translate(Component.translatable("a"), Locale.JAPANESE));
+        assertEquals(Component.text("あ"), translator.translate(Component.translatable("a"), Locale.JAPANESE));
+        assertEquals(1, loads.get()); // the loaded locale is kept even though it exceeds the budget
+        assertEquals(2, translator.residentLocales().size());
+
+        clock.set(2);
+        assertEquals(Component.text("아"), translator.translate(Component.translatable("a"), Locale.KOREAN));
+        assertEquals(2, loads.get());
+        assertFalse(translator.residentLocales().contains(Locale.JAPANESE));
+        assertTrue(translator.residentBytes() > 0);
+    }
+
+    @Test
+    void testFailedLoad() {
+        AtomicLong clock = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        EvictingTranslator translator = EvictingTranslator.builder(NAME, locale -> {
+                if (loads.incrementAndGet() == 1) {
+                    throw new IOException("failed");
+                }
+                return MESSAGES.get(locale);
+            })
+            .register(Locale.JAPANESE, MESSAGES.get(Locale.JAPANESE))
+            .idleTimeout(Duration.ofNanos(100))
+            .clock(clock::get)
+            .loadExecutor(Runnable::run)
+            .build();
+
+        clock.set(100);
+        translator.evict();
+
+        assertNull(translator.message("a", Locale.JAPANESE));
+        assertNull(translator.message("a", Locale.JAPANESE));
+        assertEquals(1, loads.get()); // not retried at once
+
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+        assertEquals("あ", translator.message("a", Locale.JAPANESE));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testAsyncReload() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            EvictingTranslator translator = EvictingTranslator.builder(NAME, locale -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    try {
+                        assertTrue(release.await(10, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                    return MESSAGES.get(locale);
+                })
+                .register(Locale.ENGLISH, MESSAGES.get(Locale.ENGLISH))
+                .register(Locale.JAPANESE, MESSAGES.get(Locale.JAPANESE))
+                .pinnedLocale(Locale.ENGLISH)
+                .idleTimeout(Duration.ofNanos(100))
+                .clock(clock::get)
+                .loadExecutor(executor)
+                .build();
+
+            clock.set(100);
+            translator.evict();
+            assertEquals(List.of(Locale.ENGLISH), translator.residentLocales());
+
+            // the render does not wait for the load, and falls back to the pinned locale
+            assertEquals(Component.text("A"), translator.translate(Component.translatable("a"), Locale.JAPANESE));
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+            assertEquals(Component.text("A"), translator.translate(Component.translatable("a"), Locale.JAPANESE));
+
+            release.countDown();
+            executor.submit(() -> {
+            }).get(10, TimeUnit.SECONDS); // waits for the load on the single thread
+
+            assertEquals(Component.text("あ"), translator.translate(Component.translatable("a"), Locale.JAPANESE));
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    private static EvictingTranslator.Builder builder(AtomicInteger loads) {
+        return EvictingTranslator.builder(NAME, locale -> {
+                loads.incrementAndGet();
+                return MESSAGES.get(locale);
+            })
+            .register(Locale.ENGLISH, MESSAGES.get(Locale.ENGLISH))
+            .register(Locale.JAPANESE, MESSAGES.get(Locale.JAPANESE))
+            .register(Locale.KOREAN, MESSAGES.get(Locale.KOREAN))
+            .pinnedLocale(Locale.ENGLISH)
+            .loadExecutor(Runnable::run);
+    }
+}
@@ -0,0 +1,91 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import dev.siroshun.mcmsgdef.MessageKey;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.flattener.ComponentFlattener;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslationStore;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormattingTranslatorTest {
+
+    private static final Key KEY = Key.key("mcmsgdef", "test");
+
+    @Test
+    void testFormat() {
+        MiniMessageTranslationStore store = MiniMessageTranslationStore.create(KEY);
+        store.registerAll(Locale.US, Map.of("a", "<arg:0>"));
+        store.registerAll(Locale.GERMANY, Map.of("a", "<arg:0>"));
+
+        FormattingTranslator translator = FormattingTranslator.instance();
+        GlobalTranslator.translator().addSource(store);
+        translator.register();
+
+        try {
+            MessageKey.Arg1<Number> number = MessageKey.arg1("a", FormattingTranslator.number());
+            assertEquals("1,234.5", render(number.apply(1234.5), Locale.US));
+            assertEquals("1.234,5", render(number.apply(1234.5), Locale.GERMANY));
+            assertEquals("1.234,5", render(number.apply(1234.5), Locale.GERMANY));
+
+            assertEquals("1,234.50", render(MessageKey.arg1("a", FormattingTranslator.number(2, 2)).apply(1234.5), Locale.US));
+            assertEquals("25%", render(MessageKey.arg1("a", FormattingTranslator.percent()).apply(0.25), Locale.US));
+            assertEquals("$1,234.50", render(MessageKey.arg1("a", FormattingTranslator.currency(Currency.getInstance("USD"))).apply(1234.5), Locale.US));
+            assertEquals("1:02:03", render(MessageKey.arg1("a", FormattingTranslator.duration()).apply(Duration.ofSeconds(3723)), Locale.US));
+            assertEquals("-0:00:05", render(MessageKey.arg1("a", FormattingTranslator.duration()).apply(Duration.ofSeconds(-5)), Locale.US));
+
+            Instant instant = Instant.ofEpochSecond(1_000_000_000);
+            assertEquals(
+                DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM).withLocale(Locale.GERMANY).withZone(ZoneOffset.UTC).format(instant),
+                render(MessageKey.arg1("a", FormattingTranslator.timestamp(FormatStyle.MEDIUM, ZoneOffset.UTC)).apply(instant), Locale.GERMANY)
+            );
+        } finally {
+            translator.unregister();
+            GlobalTranslator.translator().removeSource(store);
+        }
+    }
+
+    @Test
+    void testManyLocales() {
+        FormattingTranslator translator = FormattingTranslator.instance();
+        TranslatableComponent number = (TranslatableComponent) FormattingTranslator.number().apply(1234.5).asComponent();
+        TranslatableComponent timestamp = (TranslatableComponent) FormattingTranslator.timestamp(FormatStyle.SHORT, ZoneOffset.UTC).apply(Instant.EPOCH).asComponent();
+
+        // Formatting still works after the caches are full.
+        for (int i = 0; i < 300; i++) {
+            Locale locale = Locale.forLanguageTag("en-US-x-client" + i);
+            assertEquals(Component.text("1,234.5"), translator.translate(number, locale));
+            assertNotNull(translator.translate(timestamp, locale));
+        }
+    }
+
+    @Test
+    void testInvalidKey() {
+        FormattingTranslator translator = FormattingTranslator.instance();
+        assertTrue(translator.canTranslate("mcmsgdef.format.number", Locale.US));
+        assertFalse(translator.canTranslate("mcmsgdef.format.number:3:1", Locale.US));
+        assertFalse(translator.canTranslate("mcmsgdef.format.currency:XYZW", Locale.US));
+        assertFalse(translator.canTranslate("mcmsgdef.format.timestamp:SHORT:Invalid/Zone", Locale.US));
+        assertFalse(translator.canTranslate("a", Locale.US));
+        assertNull(translator.translate(Component.translatable("mcmsgdef.format.number", Component.text("a")), Locale.US));
+        assertThrows(IllegalArgumentException.class, () -> FormattingTranslator.number(2, 1));
+    }
+
+    private static String render(Component component, Locale locale) {
+        StringBuilder builder = new StringBuilder();
+        ComponentFlattener.basic().flatten(GlobalTranslator.render(component, locale), builder::append);
+        return builder.toString();
+    }
+}
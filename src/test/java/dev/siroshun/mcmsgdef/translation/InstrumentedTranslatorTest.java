@@ -0,0 +1,127 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslationStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedTranslatorTest {
+
+    @Test
+    void testCounters() {
+        MiniMessageTranslationStore store = MiniMessageTranslationStore.create(Key.key("mcmsgdef", "test"));
+        store.registerAll(Locale.ENGLISH, Map.of("a", "A", "b", "B", "c", "C"));
+        store.registerAll(Locale.JAPANESE, Map.of("a", "あ"));
+        store.defaultLocale(Locale.ENGLISH);
+
+        InstrumentedTranslator translator = InstrumentedTranslator.wrap(store, List.of("a", "b", "c", "d"), 8);
+
+        for (int i = 0; i < 3; i++) {
+            translator.translate(Component.translatable("a"), Locale.JAPANESE);
+        }
+        translator.translate(Component.translatable("b"), Locale.JAPANESE);
+        translator.translate(Component.translatable("d"), Locale.JAPANESE);
+        translator.translate(Component.translatable("unknown"), Locale.JAPANESE);
+
+        InstrumentedTranslator.Snapshot snapshot = translator.snapshot();
+        InstrumentedTranslator.LocaleStats stats = snapshot.locales().get(Locale.JAPANESE);
+        assertEquals(3, stats.hits());
+        assertEquals(1, stats.fallbacks());
+        assertEquals(1, stats.misses());
+        assertEquals(Set.of("d"), stats.missingKeys());
+
+        assertEquals("a", snapshot.hotKeys().getFirst().key());
+        assertEquals(3, snapshot.hotKeys().getFirst().count());
+        assertEquals(Set.of("c", "d"), snapshot.neverRenderedKeys());
+
+        translator.reset();
+        assertTrue(translator.snapshot().locales().isEmpty());
+        assertTrue(translator.snapshot().hotKeys().isEmpty());
+    }
+
+    @Test
+    void testUnknownLocales() {
+        MiniMessageTranslationStore store = MiniMessageTranslationStore.create(Key.key("mcmsgdef", "test"));
+        store.registerAll(Locale.ENGLISH, Map.of("a", "A"));
+        store.defaultLocale(Locale.ENGLISH);
+
+        InstrumentedTranslator translator = InstrumentedTranslator.wrap(store);
+        for (int i = 0; i < 100; i++) {
+            translator.translate(Component.translatable("a"), Locale.of("x" + i));
+            translator.translate(Component.translatable("other_plugin_" + i), Locale.of("x" + i));
+        }
+        translator.translate(Component.translatable("a"), Locale.ENGLISH);
+
+        InstrumentedTranslator.Snapshot snapshot = translator.snapshot();
+        assertEquals(Set.of(Locale.ENGLISH), snapshot.locales().keySet());
+        assertEquals(100, snapshot.otherLocales().fallbacks());
+        assertEquals(0, snapshot.otherLocales().misses());
+        assertTrue(snapshot.otherLocales().missingKeys().isEmpty());
+    }
+
+    @Test
+    void testKnownLocalesOfStore() {
+        MiniMessageTranslationStore store = MiniMessageTranslationStore.create(Key.key("mcmsgdef", "test"));
+        store.registerAll(Locale.ENGLISH, Map.of("a", "A", "b", "B"));
+        store.registerAll(Locale.JAPANESE, Map.of("a", "あ"));
+        store.defaultLocale(Locale.ENGLISH);
+
+        InstrumentedTranslator translator = InstrumentedTranslator.wrap(store, List.of("a", "b", "c"), List.of(Locale.ENGLISH, Locale.JAPANESE), 8);
+        translator.translate(Component.translatable("b"), Locale.JAPANESE); // a fallback before any hit
+        translator.translate(Component.translatable("c"), Locale.JAPANESE);
+        translator.translate(Component.translatable("a"), Locale.GERMAN);
+
+        InstrumentedTranslator.Snapshot snapshot = translator.snapshot();
+        InstrumentedTranslator.LocaleStats stats = snapshot.locales().get(Locale.JAPANESE);
+        assertEquals(0, stats.hits());
+        assertEquals(1, stats.fallbacks());
+        assertEquals(1, stats.misses());
+        assertEquals(Set.of("c"), stats.missingKeys());
+        assertEquals(1, snapshot.otherLocales().fallbacks());
+        assertEquals(0, snapshot.otherLocales().misses());
+    }
+
+    @Test
+    void testHotKeySketch() {
+        HotKeySketch sketch = new HotKeySketch(2);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("hot");
+        }
+        sketch.increment("a");
+        sketch.increment("b");
+
+        Map<String, long[]> result = HotKeySketch.merge(List.of(sketch.stripe()));
+        assertEquals(2, result.size());
+        assertEquals(10, result.get("hot")[0]);
+        assertEquals(2, result.get("b")[0]);
+        assertEquals(1, result.get("b")[1]);
+    }
+
+    @Test
+    void testMergeEvictedStripe() {
+        HotKeySketch evicted = new HotKeySketch(2);
+        for (int i = 0; i < 3; i++) {
+            evicted.increment("key");
+        }
+        for (int i = 0; i < 5; i++) {
+            evicted.increment("a");
+            evicted.increment("b");
+        }
+
+        HotKeySketch holding = new HotKeySketch(2);
+        for (int i = 0; i < 4; i++) {
+            holding.increment("key");
+        }
+
+        long[] merged = HotKeySketch.merge(List.of(evicted.stripe(), holding.stripe())).get("key");
+        assertTrue(merged[0] >= 7, "count must not underestimate the actual 7 renders");
+        assertTrue(merged[0] - merged[1] <= 7);
+    }
+}
@@ -0,0 +1,102 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTranslatorTest {
+
+    private static final Key KEY = Key.key("mcmsgdef", "test");
+
+    @Test
+    void testWriteAndOpen(@TempDir Path directory) throws IOException {
+        ColumnarTranslator source = ColumnarTranslator.builder(KEY)
+            .register(Locale.ENGLISH, Map.of("a", "A", "b", "<red>B"))
+            .register(Locale.JAPANESE, Map.of("a", "あ"))
+            .register(Locale.JAPAN, Map.of("c", "シー"))
+            .defaultLocale(Locale.ENGLISH)
+            .build();
+
+        Path file = directory.resolve("messages.bin");
+        MappedTranslator.write(source, file);
+
+        for (int cacheSize : new int[]{0, 1}) {
+            MappedTranslator translator = MappedTranslator.open(KEY, file, cacheSize, MiniMessage.miniMessage());
+
+            assertEquals(List.of(Locale.ENGLISH, Locale.JAPANESE, Locale.JAPAN), translator.locales());
+            assertEquals("あ", translator.message("a", Locale.JAPANESE));
+            assertEquals("<red>B", translator.message("b", Locale.JAPANESE));
+            assertEquals("あ", translator.message("a", Locale.JAPAN));
+            assertEquals("シー", translator.message("c", Locale.JAPAN));
+            assertNull(translator.message("c", Locale.JAPANESE));
+            assertEquals("A", translator.message("a", Locale.GERMAN));
+            assertEquals("A", translator.message("a", Locale.GERMAN)); // cached
+            assertNull(translator.message("unknown", Locale.ENGLISH));
+            assertEquals(Component.text("B", NamedTextColor.RED), translator.translate(Component.translatable("b"), Locale.ENGLISH));
+        }
+
+        MappedTranslator translator = MappedTranslator.open(KEY, file);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("A", translator.message("a", Locale.of("x" + i)));
+            assertEquals("シー", translator.message("c", Locale.of("ja", "JP", "v" + i)));
+        }
+    }
+
+    @Test
+    void testLocaleWithScript(@TempDir Path directory) throws IOException {
+        Locale traditionalChinese = new Locale.Builder().setLanguage("zh").setScript("Hant").setRegion("TW").build();
+        Locale variant = Locale.of("de", "DE", "v1");
+        ColumnarTranslator source = ColumnarTranslator.builder(KEY)
+            .register(traditionalChinese, Map.of("a", "甲"))
+            .register(variant, Map.of("a", "A"))
+            .build();
+
+        Path file = directory.resolve("messages.bin");
+        MappedTranslator.write(source, file);
+        MappedTranslator translator = MappedTranslator.open(KEY, file);
+
+        assertEquals(List.of(traditionalChinese, variant), translator.locales());
+        assertEquals("甲", translator.message("a", traditionalChinese));
+        assertEquals("A", translator.message("a", variant));
+    }
+
+    @Test
+    void testInvalidFile(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("broken.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        assertThrows(IOException.class, () -> MappedTranslator.open(KEY, file));
+    }
+
+    @Test
+    void testTruncatedFile(@TempDir Path directory) throws IOException {
+        ColumnarTranslator source = ColumnarTranslator.builder(KEY)
+            .register(Locale.ENGLISH, Map.of("a", "A", "b", "Bee"))
+            .register(Locale.JAPANESE, Map.of("a", "あ"))
+            .build();
+        Path file = directory.resolve("messages.bin");
+        MappedTranslator.write(source, file);
+        byte[] bytes = Files.readAllBytes(file);
+
+        Path truncated = directory.resolve("truncated.bin");
+        for (int length = 0; length < bytes.length; length++) {
+            Files.write(truncated, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> MappedTranslator.open(KEY, truncated), "length " + length);
+        }
+
+        Files.write(truncated, bytes);
+        assertEquals("Bee", MappedTranslator.open(KEY, truncated).message("b", Locale.ENGLISH));
+    }
+}
@@ -0,0 +1,57 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageFootprintTest {
+
+    @Test
+    void testEstimate() {
+        String shared = "shared value";
+        Map<Locale, Map<String, String>> messages = new LinkedHashMap<>();
+        messages.put(Locale.ENGLISH, Map.of("a", shared, "b", "B"));
+        messages.put(Locale.JAPANESE, Map.of("a", shared));
+
+        MessageFootprint footprint = MessageFootprint.estimate(messages);
+
+        assertEquals(3, footprint.entries());
+        assertEquals(2, footprint.locales().size());
+        assertEquals(2, footprint.locales().get(Locale.ENGLISH).entries());
+        assertTrue(footprint.locales().get(Locale.ENGLISH).valueBytes() > 0);
+        assertEquals(0, footprint.locales().get(Locale.JAPANESE).valueBytes()); // the same instance is counted once
+        assertTrue(footprint.sharedBytes() > 0);
+        assertEquals(
+            footprint.sharedBytes() + footprint.locales().get(Locale.ENGLISH).totalBytes() + footprint.locales().get(Locale.JAPANESE).totalBytes(),
+            footprint.totalBytes()
+        );
+    }
+
+    @Test
+    void testStringSize() {
+        MessageFootprint.Estimator estimator = new MessageFootprint.Estimator();
+        assertEquals(24 + 24, estimator.string("12345678"));
+        assertEquals(24 + 32, estimator.string("あいうえおかきく"));
+    }
+
+    @Test
+    void testColumnarTranslator() {
+        ColumnarTranslator translator = ColumnarTranslator.builder(Key.key("mcmsgdef", "test"))
+            .register(Locale.ENGLISH, Map.of("a", "A", "b", "B"))
+            .register(Locale.JAPANESE, Map.of("a", "あ"))
+            .build();
+
+        MessageFootprint footprint = translator.footprint();
+
+        assertEquals(3, footprint.entries());
+        assertEquals(2, footprint.locales().get(Locale.ENGLISH).entries());
+        assertEquals(1, footprint.locales().get(Locale.JAPANESE).entries());
+        assertTrue(footprint.locales().get(Locale.JAPANESE).structureBytes() > 0);
+        assertTrue(footprint.totalBytes() > footprint.sharedBytes());
+    }
+}
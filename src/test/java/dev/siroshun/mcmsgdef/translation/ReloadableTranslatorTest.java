@@ -0,0 +1,57 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslationStore;
+import net.kyori.adventure.translation.Translator;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReloadableTranslatorTest {
+
+    private static final Key KEY = Key.key("mcmsgdef", "test");
+
+    @Test
+    void testReload() throws Exception {
+        AtomicInteger version = new AtomicInteger();
+        ReloadableTranslator translator = ReloadableTranslator.create(KEY, key -> {
+            MiniMessageTranslationStore store = MiniMessageTranslationStore.create(key);
+            store.registerAll(Locale.ENGLISH, Map.of("a", "v" + version.incrementAndGet()));
+            return store;
+        });
+
+        assertNull(translator.current());
+        assertNull(translator.translate(Component.translatable("a"), Locale.ENGLISH));
+
+        translator.reload();
+        Translator first = translator.current();
+        assertEquals(Component.text("v1"), translator.translate(Component.translatable("a"), Locale.ENGLISH));
+
+        translator.reloadAsync(Runnable::run).get(1, TimeUnit.SECONDS);
+        assertNotSame(first, translator.current());
+        assertEquals(Component.text("v2"), translator.translate(Component.translatable("a"), Locale.ENGLISH));
+    }
+
+    @Test
+    void testFailedReloadKeepsCurrent() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        ReloadableTranslator translator = ReloadableTranslator.create(KEY, key -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IOException("broken");
+            }
+            return MiniMessageTranslationStore.create(key);
+        });
+
+        translator.reload();
+        Translator first = translator.current();
+        assertThrows(IOException.class, translator::reload);
+        assertSame(first, translator.current());
+    }
+}
@@ -0,0 +1,96 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import dev.siroshun.mcmsgdef.MessageKey;
+import dev.siroshun.mcmsgdef.PluralArgument;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.flattener.ComponentFlattener;
+import net.kyori.adventure.text.minimessage.translation.MiniMessageTranslationStore;
+import net.kyori.adventure.translation.GlobalTranslator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SerializedMessageCacheTest {
+
+    private static final Key KEY = Key.key("mcmsgdef", "test");
+
+    @Test
+    void testCache() throws Exception {
+        AtomicInteger version = new AtomicInteger();
+        ReloadableTranslator translator = ReloadableTranslator.create(KEY, key -> {
+            MiniMessageTranslationStore store = MiniMessageTranslationStore.create(key);
+            store.registerAll(Locale.ENGLISH, Map.of("a", "v" + version.incrementAndGet(), "b", "<arg:0>"));
+            return store;
+        });
+        translator.reload();
+        translator.register();
+
+        AtomicInteger serialized = new AtomicInteger();
+        Function<Component, String> serializer = component -> {
+            serialized.incrementAndGet();
+            StringBuilder builder = new StringBuilder();
+            ComponentFlattener.basic().flatten(component, builder::append);
+            return builder.toString();
+        };
+
+        SerializedMessageCache cache = SerializedMessageCache.create(serializer, 3);
+        translator.addReloadListener(cache::invalidateAll);
+
+        try {
+            MessageKey a = MessageKey.key("a");
+            MessageKey.Arg1<String> b = MessageKey.arg1("b", Component::text);
+
+            assertEquals("v1", cache.get(a, Locale.ENGLISH));
+            assertEquals("v1", cache.get(a, Locale.ENGLISH));
+            assertEquals("x", cache.get(b.apply("x"), Locale.ENGLISH));
+            assertEquals("x", cache.get(b.apply("x"), Locale.ENGLISH));
+            assertEquals("y", cache.get(b.apply("y"), Locale.ENGLISH));
+            assertEquals(3, serialized.get());
+            assertEquals(3, cache.size());
+
+            // full
+            assertEquals("z", cache.get(b.apply("z"), Locale.ENGLISH));
+            assertEquals(1, cache.size());
+
+            translator.reload();
+            assertEquals(0, cache.size());
+            assertEquals("v2", cache.get(a, Locale.ENGLISH));
+        } finally {
+            translator.unregister();
+        }
+    }
+
+    @Test
+    void testPluralArgument() {
+        MiniMessageTranslationStore store = MiniMessageTranslationStore.create(KEY);
+        store.register("items", Locale.ENGLISH, "<arg:0> <plural:0:one:'item':other:'items'>");
+        GlobalTranslator.translator().addSource(store);
+
+        AtomicInteger serialized = new AtomicInteger();
+        SerializedMessageCache cache = SerializedMessageCache.create(component -> {
+            serialized.incrementAndGet();
+            StringBuilder builder = new StringBuilder();
+            ComponentFlattener.basic().flatten(component, builder::append);
+            return builder.toString();
+        });
+
+        try {
+            MessageKey.Arg1<Integer> items = MessageKey.arg1("items", PluralArgument.count());
+            assertEquals(items.apply(3), items.apply(3));
+            assertEquals(items.apply(3).hashCode(), items.apply(3).hashCode());
+            assertNotEquals(items.apply(3), items.apply(1));
+
+            assertEquals("3 items", cache.get(items.apply(3), Locale.ENGLISH));
+            assertEquals("3 items", cache.get(items.apply(3), Locale.ENGLISH));
+            assertEquals(1, serialized.get());
+        } finally {
+            GlobalTranslator.translator().removeSource(store);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package dev.siroshun.mcmsgdef.translation;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.util.TriState;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranslatorRegistryTest {
+
+    private static final Key NAME = Key.key("mcmsgdef", "test");
+
+    @Test
+    void testDispatch() {
+        TranslatorRegistry registry = TranslatorRegistry.create(NAME);
+        assertEquals(TriState.FALSE, registry.hasAnyTranslations());
+
+        ColumnarTranslator first = columnar("first", Map.of("first.a", "A", "shared", "first"));
+        ColumnarTranslator second = columnar("second", Map.of("second.b", "B", "shared", "second"));
+        registry.register(first);
+        registry.register(second);
+
+        assertEquals(TriState.TRUE, registry.hasAnyTranslations());
+        assertEquals(List.of(first, second), registry.translators());
+        assertSame(first, registry.owner("first.a"));
+        assertSame(second, registry.owner("second.b"));
+        assertSame(first, registry.owner("shared"));
+        assertNull(registry.owner("unknown"));
+
+        assertEquals(Component.text("A"), registry.translate(Component.translatable("first.a"), Locale.ENGLISH));
+        assertEquals(Component.text("B"), registry.translate(Component.translatable("second.b"), Locale.ENGLISH));
+        assertEquals(Component.text("first"), registry.translate(Component.translatable("shared"), Locale.ENGLISH));
+        assertNull(registry.translate(Component.translatable("unknown"), Locale.ENGLISH));
+        assertTrue(registry.canTranslate("second.b", Locale.ENGLISH));
+        assertFalse(registry.canTranslate("unknown", Locale.ENGLISH));
+
+        assertTrue(registry.unregister(first));
+        assertFalse(registry.unregister(first));
+        assertNull(registry.owner("first.a"));
+        assertSame(second, registry.owner("shared"));
+        assertEquals(Component.text("second"), registry.translate(Component.translatable("shared"), Locale.ENGLISH));
+    }
+
+    @Test
+    void testReplaceKeys() {
+        TranslatorRegistry registry = TranslatorRegistry.create(NAME);
+        ColumnarTranslator translator = columnar("test", Map.of("a", "A", "b", "B"));
+
+        registry.register(translator, Set.of("a"));
+        assertSame(translator, registry.owner("a"));
+        assertNull(registry.owner("b"));
+
+        registry.register(translator, Set.of("b"));
+        assertEquals(List.of(translator), registry.translators());
+        assertNull(registry.owner("a"));
+        assertSame(translator, registry.owner("b"));
+
+        ColumnarTranslator other = columnar("other", Map.of("b", "other", "c", "C"));
+        registry.register(other);
+        assertSame(translator, registry.owner("b"));
+        assertSame(other, registry.owner("c"));
+
+        registry.register(translator, Set.of("a")); // the keys of the translator registered first are replaced
+        assertSame(translator, registry.owner("a"));
+        assertSame(other, registry.owner("b"));
+
+        registry.register(translator, Set.of("b", "c"));
+        assertEquals(List.of(translator, other), registry.translators());
+        assertNull(registry.owner("a"));
+        assertSame(translator, registry.owner("b"));
+        assertSame(translator, registry.owner("c"));
+
+        assertTrue(registry.unregister(translator));
+        assertSame(other, registry.owner("b"));
+        assertSame(other, registry.owner("c"));
+    }
+
+    private static ColumnarTranslator columnar(String name, Map<String, String> messages) {
+        return ColumnarTranslator.builder(Key.key("mcmsgdef", name)).register(Locale.ENGLISH, messages).build();
+    }
+}